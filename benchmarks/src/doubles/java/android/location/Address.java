@@ -0,0 +1,66 @@
+package android.location;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : Address
+ * Description    : Benchmark double of the Android Address. GeocodedAddress.from(Address) needs it to
+ *                  compile; no benchmark geocodes, so it describes an empty address.
+ *********************************************************************************************************/
+public class Address {
+
+    public boolean hasLatitude() {
+        return false;
+    }
+
+    public boolean hasLongitude() {
+        return false;
+    }
+
+    public double getLatitude() {
+        return 0;
+    }
+
+    public double getLongitude() {
+        return 0;
+    }
+
+    public int getMaxAddressLineIndex() {
+        return -1;
+    }
+
+    public String getAddressLine(int index) {
+        return null;
+    }
+
+    public String getFeatureName() {
+        return null;
+    }
+
+    public String getSubThoroughfare() {
+        return null;
+    }
+
+    public String getThoroughfare() {
+        return null;
+    }
+
+    public String getSubLocality() {
+        return null;
+    }
+
+    public String getLocality() {
+        return null;
+    }
+
+    public String getAdminArea() {
+        return null;
+    }
+
+    public String getCountryName() {
+        return null;
+    }
+
+    public String getPostalCode() {
+        return null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.google.firebase.firestore;
+
+import java.util.Collections;
+import java.util.Map;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : DocumentSnapshot
+ * Description    : Benchmark double of a Firestore document: an ID and a field map, read through the
+ *                  accessors OrderMapper.fromDocument() uses.
+ *********************************************************************************************************/
+public class DocumentSnapshot {
+
+    private final String id;
+    private final Map<String, Object> fields;
+
+    public DocumentSnapshot(String id, Map<String, Object> fields) {
+        this.id = id;
+        this.fields = fields != null ? fields : Collections.emptyMap();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Object get(String field) {
+        return fields.get(field);
+    }
+
+    public String getString(String field) {
+        Object value = fields.get(field);
+        return value instanceof String ? (String) value : null;
+    }
+
+    public GeoPoint getGeoPoint(String field) {
+        Object value = fields.get(field);
+        return value instanceof GeoPoint ? (GeoPoint) value : null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.google.firebase.firestore;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : Exclude
+ * Description    : Benchmark double of the Firestore @Exclude marker; it only has to be present at runtime.
+ *********************************************************************************************************/
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface Exclude {
+}
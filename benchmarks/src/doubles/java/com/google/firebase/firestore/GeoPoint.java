@@ -0,0 +1,31 @@
+package com.google.firebase.firestore;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : GeoPoint
+ * Description    : Benchmark double of the Firestore GeoPoint: an immutable latitude/longitude pair, so
+ *                  GeocodedAddress.getGeoPoint() and OrderMapper.toDocument() run on a plain JVM.
+ *********************************************************************************************************/
+public class GeoPoint {
+
+    private final double latitude;
+    private final double longitude;
+
+    public GeoPoint(double latitude, double longitude) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    @Override
+    public String toString() {
+        return "GeoPoint { latitude=" + latitude + ", longitude=" + longitude + " }";
+    }
+}
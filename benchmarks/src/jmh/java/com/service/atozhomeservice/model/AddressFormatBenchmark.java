@@ -0,0 +1,46 @@
+package com.service.atozhomeservice.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : AddressFormatBenchmark
+ * Description    : Measures the address strings assembled when LocationTracker.handleLocation receives an
+ *                  address (through applyAddress): the area line, the region line and the joined display
+ *                  address, for a fully populated address and for a sparse one.
+ * Usage Scope    : JMH; results are compared against benchmarks/baselines.
+ *********************************************************************************************************/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AddressFormatBenchmark {
+
+    private final GeocodedAddress full = new GeocodedAddress(12.9784, 77.6408,
+            "12, MG Road, Indiranagar, Bengaluru, Karnataka 560038, India", "Prestige Tower", "12", "MG Road",
+            "Indiranagar", "Bengaluru", "Karnataka", "India", "560038");
+    private final GeocodedAddress sparse = new GeocodedAddress(14.4426, 79.9865, null, null, null, null, null,
+            "Nellore", "Andhra Pradesh", "India", null);
+
+    @Benchmark
+    public String displayAddressFull() {
+        return full.getDisplayAddress();
+    }
+
+    @Benchmark
+    public String displayAddressSparse() {
+        return sparse.getDisplayAddress();
+    }
+}
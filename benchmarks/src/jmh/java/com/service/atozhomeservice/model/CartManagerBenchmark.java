@@ -0,0 +1,117 @@
+package com.service.atozhomeservice.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : CartManagerBenchmark
+ * Description    : Measures the cart operations behind the quantity pickers over carts of growing size:
+ *                  filling a cart line by line with addItem, the read-modify-write QuantityAdapter performs
+ *                  on every +/- tap, and reading the quote right after a change (as the bottom sheet and
+ *                  cart screens do). All three should stay flat as cartSize grows.
+ * Usage Scope    : JMH; results are compared against benchmarks/baselines.
+ *********************************************************************************************************/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CartManagerBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int cartSize;
+
+    private final CartManager cart = CartManager.getInstance();
+    private String[] itemIds;
+    private String[] itemTypes;
+    private String[] keys;
+    private Money[] prices;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void createLines() {
+        itemIds = new String[cartSize];
+        itemTypes = new String[cartSize];
+        keys = new String[cartSize];
+        prices = new Money[cartSize];
+        for (int i = 0; i < cartSize; i++) {
+            itemIds[i] = "carpenter.cupboards.item" + i;
+            itemTypes[i] = "Item " + i;
+            keys[i] = CartManager.keyOf("Carpenter", "Cupboards", itemTypes[i]);
+            prices[i] = Money.ofPaise(9_900 + i);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void fillCart() {
+        cart.clearCart();
+        for (int i = 0; i < cartSize; i++) {
+            cart.addItem(itemIds[i], "Carpenter", "Cupboards", 0, itemTypes[i], 1, prices[i]);
+        }
+        next = 0;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : addItemsToEmptyCart
+     * Description     : Clears the cart and adds cartSize distinct lines; the time covers the whole fill.
+     * Parameters      : None
+     * Return          : int – Units in the cart, returned so the work is not eliminated.
+     *********************************************************************************************************/
+    @Benchmark
+    public int addItemsToEmptyCart() {
+        cart.clearCart();
+        for (int i = 0; i < cartSize; i++) {
+            cart.addItem(itemIds[i], "Carpenter", "Cupboards", 0, itemTypes[i], 1, prices[i]);
+        }
+        return cart.getItemCount();
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : quantityTap
+     * Description     : One +1 tap on an existing line, exactly as QuantityAdapter.changeQuantity does it.
+     * Parameters      : None
+     * Return          : int – New quantity of the line.
+     *********************************************************************************************************/
+    @Benchmark
+    public int quantityTap() {
+        int line = nextLine();
+        int quantity = cart.getQuantity(keys[line]) + 1;
+        cart.setQuantity(keys[line], itemIds[line], "Carpenter", "Cupboards", 0, itemTypes[line], quantity, prices[line]);
+        return quantity;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : quoteAfterChange
+     * Description     : A quantity change followed by reading the payable total, which invalidates and
+     *                   rebuilds the cached quote every time.
+     * Parameters      : None
+     * Return          : long – Payable total in paise.
+     *********************************************************************************************************/
+    @Benchmark
+    public long quoteAfterChange() {
+        int line = nextLine();
+        cart.setQuantity(keys[line], itemIds[line], "Carpenter", "Cupboards", 0, itemTypes[line],
+                cart.getQuantity(keys[line]) + 1, prices[line]);
+        return cart.getQuote().getTotal().getPaise();
+    }
+
+    private int nextLine() {
+        int line = next;
+        next = line + 1 == cartSize ? 0 : line + 1;
+        return line;
+    }
+}
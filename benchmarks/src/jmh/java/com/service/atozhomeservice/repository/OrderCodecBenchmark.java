@@ -0,0 +1,92 @@
+package com.service.atozhomeservice.repository;
+
+import com.service.atozhomeservice.model.CartItem;
+import com.service.atozhomeservice.model.GeocodedAddress;
+import com.service.atozhomeservice.model.Money;
+import com.service.atozhomeservice.model.Order;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : OrderCodecBenchmark
+ * Description    : Measures (de)serialization of an Order and its CartItems: the binary record used by
+ *                  OrderCache and OrderOutbox in both directions, and the Firestore field map built by
+ *                  OrderMapper. Lives in the repository package because OrderCodec is package-private.
+ *                  Decoding Firestore documents is measured by OrderDocumentBenchmark.
+ * Usage Scope    : JMH; results are compared against benchmarks/baselines.
+ *********************************************************************************************************/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderCodecBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int itemCount;
+
+    private Order order;
+    private byte[] encoded;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(4096);
+
+    @Setup(Level.Trial)
+    public void createOrder() throws IOException {
+        List<CartItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new CartItem("carpenter.cupboards.item" + i, "Carpenter", "Cupboards", 0, "Item " + i,
+                    1 + i % 3, Money.ofPaise(9_900 + i)));
+        }
+        GeocodedAddress address = new GeocodedAddress(12.9784, 77.6408,
+                "12, MG Road, Indiranagar, Bengaluru, Karnataka 560038, India", "Prestige Tower", "12", "MG Road",
+                "Indiranagar", "Bengaluru", "Karnataka", "India", "560038");
+        order = new Order(items, Money.ofPaise(123_456), 1_700_000_000_000L, "Confirmed", "Cash on Service", address);
+        order.setOrderId("4f7a0c2e-5d1b-4c3e-9a8f-0b6d2e1c7a90");
+        encoded = write();
+    }
+
+    @Benchmark
+    public byte[] writeRecord() throws IOException {
+        return write();
+    }
+
+    @Benchmark
+    public Order readRecord() throws IOException {
+        return OrderCodec.readOrder(new DataInputStream(new ByteArrayInputStream(encoded)));
+    }
+
+    @Benchmark
+    public Map<String, Object> toDocument() {
+        return OrderMapper.toDocument(order);
+    }
+
+    private byte[] write() throws IOException {
+        buffer.reset();
+        DataOutputStream out = new DataOutputStream(buffer);
+        OrderCodec.writeOrder(out, order);
+        out.flush();
+        return buffer.toByteArray();
+    }
+}
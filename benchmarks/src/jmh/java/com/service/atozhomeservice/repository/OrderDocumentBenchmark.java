@@ -0,0 +1,78 @@
+package com.service.atozhomeservice.repository;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.service.atozhomeservice.model.CartItem;
+import com.service.atozhomeservice.model.GeocodedAddress;
+import com.service.atozhomeservice.model.Money;
+import com.service.atozhomeservice.model.Order;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : OrderDocumentBenchmark
+ * Description    : Measures OrderMapper.fromDocument on the two order schemas found in Firestore: compact
+ *                  documents (itemIds, quantities, unitPaise, totalPaise) as written by toDocument, and
+ *                  legacy documents carrying an "items" list of field maps and a rupee totalAmount.
+ * Usage Scope    : JMH; results are compared against benchmarks/baselines.
+ *********************************************************************************************************/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderDocumentBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int itemCount;
+
+    @Param({"legacy", "compact"})
+    public String schema;
+
+    private DocumentSnapshot document;
+
+    @Setup(Level.Trial)
+    public void createDocument() {
+        boolean compact = "compact".equals(schema);
+        List<CartItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            // Lines without an item ID are written in the legacy "items" form
+            items.add(new CartItem(compact ? "carpenter.cupboards.item" + i : null, "Carpenter", "Cupboards", 0,
+                    "Item " + i, 1 + i % 3, Money.ofPaise(9_900 + i)));
+        }
+        GeocodedAddress address = new GeocodedAddress(12.9784, 77.6408,
+                "12, MG Road, Indiranagar, Bengaluru, Karnataka 560038, India", "Prestige Tower", "12", "MG Road",
+                "Indiranagar", "Bengaluru", "Karnataka", "India", "560038");
+        Order order = new Order(items, Money.ofPaise(123_456), 1_700_000_000_000L, "Confirmed", "Cash on Service",
+                address);
+        Map<String, Object> fields = OrderMapper.toDocument(order);
+        if (!compact) {
+            fields.remove("schema");
+            fields.remove(OrderMapper.FIELD_TOTAL_PAISE);
+            fields.put("totalAmount", 1_234.56);
+        }
+        document = new DocumentSnapshot("4f7a0c2e-5d1b-4c3e-9a8f-0b6d2e1c7a90", fields);
+    }
+
+    @Benchmark
+    public Order fromDocument() {
+        return OrderMapper.fromDocument(document);
+    }
+}
@@ -25,7 +25,12 @@ import com.google.firebase.auth.GoogleAuthProvider;
 import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.service.atozhomeservice.databinding.ActivityMainBinding;
+import com.service.atozhomeservice.model.GeocodedAddress;
+import com.service.atozhomeservice.repository.AuthRepository;
+import com.service.atozhomeservice.repository.LocationStore;
+import com.service.atozhomeservice.view.BottomNavigationManager;
 import com.service.atozhomeservice.view.LocationTracker;
+import com.service.atozhomeservice.view.StartupTrace;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -52,6 +57,7 @@ public class MainActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        StartupTrace.mark("main-created");
         EdgeToEdge.enable(this);
 
 
@@ -199,6 +205,7 @@ public class MainActivity extends AppCompatActivity {
      *                 collection within Firestore. If the document exists and contains data, the user is
      *                 considered registered and redirected to the home screen. If not, the user is signed out
      *                 and redirected to the signup screen. Also handles Firestore query failures with a toast.
+     *                 Starts the background migration of a legacy serviceRequests array when one is present.
      * Called By     : firebaseAuthWithGoogle(String idToken)
      * Parameters    : @param user - The currently authenticated FirebaseUser
      * Return        : void
@@ -208,6 +215,9 @@ public class MainActivity extends AppCompatActivity {
                 .get()
                 .addOnSuccessListener(documentSnapshot -> {
                     if (documentSnapshot.exists() && documentSnapshot.getData() != null && !documentSnapshot.getData().isEmpty()) {
+                        // Older accounts still carry the serviceRequests array on the user document; for
+                        // the others this only records that there is nothing to migrate
+                        new AuthRepository(getApplication()).migrateServiceRequests(documentSnapshot);
                         navigateToHome();
                     } else {
                         // 🚀 Auto-register new user
@@ -258,13 +268,23 @@ public class MainActivity extends AppCompatActivity {
      * Description   : Creates an intent to navigate from the current activity to the HomeFragment. Sets intent
      *                 flags to clear the current task stack and start a new one, ensuring that the login screen
      *                 is removed from the back stack. Launches the new activity and finishes the current one.
+     *                 Fast start: when an address is remembered from a previous launch, the location screen is
+     *                 skipped and the address is refreshed in the background instead.
+     *                 Otherwise the location screen resolves the address before the home screen opens.
      * Called By     : checkUserExistsInFirestore(FirebaseUser user)
      * Parameters    : None
      * Return        : void
      *************************************************************************************************************/
 
     private void navigateToHome() {
-        Intent intent = new Intent(MainActivity.this, LocationTracker.class);
+        LocationStore locationStore = LocationStore.getInstance(this);
+        GeocodedAddress cachedAddress = locationStore.getCachedAddress();
+        Class<?> destination = LocationTracker.class;
+        if (cachedAddress != null) {
+            locationStore.refresh();
+            destination = BottomNavigationManager.class;
+        }
+        Intent intent = new Intent(MainActivity.this, destination);
         intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
         startActivity(intent);
         finish();
@@ -0,0 +1,69 @@
+package com.service.atozhomeservice.model;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : CartChange
+ * Description    : Immutable delta describing a single mutation of the cart. Published by CartManager to its
+ *                  registered listeners so observers can patch their views in place instead of re-reading
+ *                  and re-summing the whole cart.
+ * Usage Scope    : Emitted by CartManager, coalesced by CartLiveData and applied by cart adapters.
+ *********************************************************************************************************/
+public final class CartChange {
+
+    public enum Type { ADDED, QUANTITY_CHANGED, REMOVED, CLEARED }
+
+    private static final CartChange CLEARED = new CartChange(Type.CLEARED, null, null, 0);
+
+    private final Type type;
+    private final String key;       // CartManager.keyOf() value, null for CLEARED
+    private final CartItem item;    // affected cart line, null for CLEARED
+    private final int quantity;     // line quantity at the time the change was published
+
+    private CartChange(Type type, String key, CartItem item, int quantity) {
+        this.type = type;
+        this.key = key;
+        this.item = item;
+        this.quantity = quantity;
+    }
+
+    public static CartChange added(String key, CartItem item) {
+        return new CartChange(Type.ADDED, key, item, item.getQuantity());
+    }
+
+    public static CartChange quantityChanged(String key, CartItem item) {
+        return new CartChange(Type.QUANTITY_CHANGED, key, item, item.getQuantity());
+    }
+
+    public static CartChange removed(String key, CartItem item) {
+        return new CartChange(Type.REMOVED, key, item, 0);
+    }
+
+    public static CartChange cleared() {
+        return CLEARED;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public CartItem getItem() {
+        return item;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /*********************************************************************************************************
+     * Interface Name  : Listener
+     * Description     : Receives cart deltas synchronously on the thread that mutated the cart. Implementations
+     *                   must be quick and must not call back into CartManager mutators.
+     *********************************************************************************************************/
+    public interface Listener {
+        void onCartChanged(CartChange change);
+    }
+}
@@ -1,35 +1,49 @@
 package com.service.atozhomeservice.model;
 
+import com.google.firebase.firestore.Exclude;
+
 /*********************************************************************************************************
  * Author         : Gunnampalli Parameswara Reddy
  * Class Name     : CartItem
  * Description    : Model class representing a single item in the user's service cart. Encapsulates all
  *                  necessary properties including service category, icon, type, quantity, and unit price
- *                  for proper cart representation, UI display, and backend operations.
+ *                  for proper cart representation, UI display, and backend operations. The unit price is
+ *                  held as Money. Lines picked from the catalog carry the catalog item ID, which is what
+ *                  OrderMapper stores for them; the labels are kept for display and older orders.
  * Usage Scope    : Used across cart management, order review, and placement processes. Supports data
  *                  binding, serialization, and UI rendering via adapters.
  *********************************************************************************************************/
 
 public class CartItem {
 
+    private String itemId;
     private String mainService;
     private String subService;
     private  int icon;
     private String itemType;
     private int quantity;
 
-    private double itemPrice;
+    private Money unitPrice = Money.ZERO;
 
     public CartItem() {
     }
 
-    public CartItem(String mainService, String subService,int icon, String itemType, int quantity,double itemPrice) {
+    public CartItem(String itemId, String mainService, String subService,int icon, String itemType, int quantity,Money unitPrice) {
+        this.itemId = itemId;
         this.mainService = mainService;
         this.subService = subService;
         this.icon = icon;
         this.itemType = itemType;
         this.quantity = quantity;
-        this.itemPrice = itemPrice;
+        this.unitPrice = unitPrice;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(String itemId) {
+        this.itemId = itemId;
     }
 
     public String getMainService() {
@@ -72,11 +86,27 @@ public class CartItem {
         this.quantity = quantity;
     }
 
+    @Exclude
+    public Money getUnitPrice() {
+        return unitPrice;
+    }
+
+    @Exclude
+    public void setUnitPrice(Money unitPrice) {
+        this.unitPrice = unitPrice;
+    }
+
+    @Exclude
+    public Money getLineTotal() {
+        return PricingEngine.lineTotal(unitPrice, quantity);
+    }
+
+    // Firestore field, in rupees
     public double getItemPrice() {
-        return itemPrice;
+        return unitPrice.toRupees();
     }
 
     public void setItemPrice(double itemPrice) {
-        this.itemPrice = itemPrice;
+        this.unitPrice = Money.ofRupees(itemPrice);
     }
 }
@@ -1,47 +1,248 @@
 package com.service.atozhomeservice.model;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /*********************************************************************************************************
  * Author         : Gunnampalli Parameswara Reddy
  * Class Name     : CartManager
  * Description    : Singleton utility class responsible for managing the user's cart throughout the app
  *                  session. Supports adding new items, aggregating quantities of existing entries, and
- *                  clearing or retrieving the current cart contents. Designed for lightweight, in-memory
- *                  cart state management with persistent access across fragments.
+ *                  clearing or retrieving the current cart contents. Cart lines are indexed by a composite
+ *                  key (mainService/subService/itemType) so lookups and quantity changes are O(1), and the
+ *                  amounts (kept in exact paise by a PricingEngine) and item count are maintained on every
+ *                  mutation instead of re-summed.
+ *                  All public methods are synchronized, so the cart may be touched from background threads.
+ *                  Every mutation is published as a typed CartChange to registered listeners.
  * Usage Scope    : Centralized cart state controller used by adapters, bottom sheets, and order placement modules.
  *********************************************************************************************************/
 public class CartManager {
-    private static CartManager instance;
-    private final List<CartItem> cartItems = new ArrayList<>();
+    private static volatile CartManager instance;
+
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    // Insertion-ordered so the cart renders in the order items were first added
+    private final Map<String, CartItem> cartItems = new LinkedHashMap<>();
+    // Catalog prices are final today; discount and tax rates plug in here
+    private final PricingEngine pricing = new PricingEngine(0, 0);
+    private int itemCount;
+
+    private final List<CartChange.Listener> listeners = new CopyOnWriteArrayList<>();
 
     private CartManager() {}
 
     public static CartManager getInstance() {
         if (instance == null) {
-            instance = new CartManager();
+            synchronized (CartManager.class) {
+                if (instance == null) {
+                    instance = new CartManager();
+                }
+            }
         }
         return instance;
     }
 
-    public void addItem(String mainService, String subService,int icon, String itemType, int quantity,double price) {
-        for (CartItem item : cartItems) {
-            if (item.getMainService().equals(mainService) &&
-                    item.getSubService().equals(subService) && (item.getItemType().equals(itemType)))
-            {
-                item.setQuantity(item.getQuantity() + quantity);
-                return;
+    /*********************************************************************************************************
+     * Method Name     : keyOf
+     * Description     : Builds the composite index key for a cart line. Callers that repeatedly touch the same
+     *                   line (e.g. quantity pickers) should compute the key once and reuse it.
+     * Parameters      : String mainService – Parent service category.
+     *                   String subService  – Sub-service title.
+     *                   String itemType    – Item label within the sub-service.
+     * Return          : String – Composite key identifying the cart line.
+     *********************************************************************************************************/
+    public static String keyOf(String mainService, String subService, String itemType) {
+        return mainService + KEY_SEPARATOR + subService + KEY_SEPARATOR + itemType;
+    }
+
+    public synchronized void addItem(String itemId, String mainService, String subService,int icon, String itemType, int quantity,Money price) {
+        String key = keyOf(mainService, subService, itemType);
+        CartItem item = cartItems.get(key);
+        if (item != null) {
+            setLineQuantity(key, item, item.getQuantity() + quantity);
+            return;
+        }
+        if (quantity > 0) {
+            insertLine(key, new CartItem(itemId, mainService, subService, icon, itemType, quantity, price));
+        }
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : setQuantity
+     * Description     : Sets the absolute quantity of a cart line identified by a precomputed key. Creates the
+     *                   line if missing and removes it when the quantity drops to zero. Updating an existing
+     *                   line does not allocate.
+     * Parameters      : String key         – Composite key from keyOf().
+     *                   String itemId      – Catalog ID of the item, null if it is not from the catalog.
+     *                   String mainService – Parent service category.
+     *                   String subService  – Sub-service title.
+     *                   int icon           – Drawable resource ID of the item.
+     *                   String itemType    – Item label.
+     *                   int quantity       – New absolute quantity.
+     *                   Money price        – Unit price of the item.
+     * Return          : void
+     *********************************************************************************************************/
+    public synchronized void setQuantity(String key, String itemId, String mainService, String subService, int icon,
+                                         String itemType, int quantity, Money price) {
+        CartItem item = cartItems.get(key);
+        if (item != null) {
+            setLineQuantity(key, item, quantity);
+        } else if (quantity > 0) {
+            insertLine(key, new CartItem(itemId, mainService, subService, icon, itemType, quantity, price));
+        }
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : getQuantity
+     * Description     : Returns the quantity currently held for the given cart line.
+     * Parameters      : String key – Composite key from keyOf().
+     * Return          : int – Quantity in the cart, or 0 if the line is absent.
+     *********************************************************************************************************/
+    public synchronized int getQuantity(String key) {
+        CartItem item = cartItems.get(key);
+        return item == null ? 0 : item.getQuantity();
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : restoreItems
+     * Description     : Merges previously persisted cart lines into the cart. Lines the user has already touched
+     *                   in this session take precedence and are left unchanged.
+     * Parameters      : List<CartItem> items – Lines loaded from the local cart store.
+     * Return          : void
+     *********************************************************************************************************/
+    public synchronized void restoreItems(List<CartItem> items) {
+        for (CartItem item : items) {
+            String key = keyOf(item.getMainService(), item.getSubService(), item.getItemType());
+            if (!cartItems.containsKey(key) && item.getQuantity() > 0) {
+                insertLine(key, item);
             }
         }
-        cartItems.add(new CartItem(mainService, subService,icon, itemType, quantity,price));
     }
 
-    public List<CartItem> getItems() {
-        return cartItems;
+    /*********************************************************************************************************
+     * Method Name     : removeItem
+     * Description     : Removes a cart line and subtracts it from the running totals.
+     * Parameters      : String key – Composite key from keyOf().
+     * Return          : void
+     *********************************************************************************************************/
+    public synchronized void removeItem(String key) {
+        CartItem item = cartItems.get(key);
+        if (item != null) {
+            setLineQuantity(key, item, 0);
+        }
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : getItems
+     * Description     : Returns a snapshot of the cart lines in insertion order. The returned list is owned by
+     *                   the caller; structural changes to it do not affect the cart.
+     * Parameters      : None
+     * Return          : List<CartItem> – Copy of the current cart lines.
+     *********************************************************************************************************/
+    public synchronized List<CartItem> getItems() {
+        return new ArrayList<>(cartItems.values());
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : copyItems
+     * Description     : Returns detached copies of the cart lines, taken under the cart lock, for readers on
+     *                   other threads that must not see quantities change underneath them.
+     * Parameters      : None
+     * Return          : List<CartItem> – Copies of the current cart lines in insertion order.
+     *********************************************************************************************************/
+    public synchronized List<CartItem> copyItems() {
+        List<CartItem> copies = new ArrayList<>(cartItems.size());
+        for (CartItem item : cartItems.values()) {
+            copies.add(new CartItem(item.getItemId(), item.getMainService(), item.getSubService(), item.getIcon(),
+                    item.getItemType(), item.getQuantity(), item.getUnitPrice()));
+        }
+        return copies;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : getQuote
+     * Description     : Returns the current amounts of the cart: subtotal (unit price × quantity summed over all
+     *                   lines), discount, tax and payable total.
+     * Parameters      : None
+     * Return          : PricingEngine.Quote – Immutable breakdown; reused until the cart changes.
+     *********************************************************************************************************/
+    public synchronized PricingEngine.Quote getQuote() {
+        return pricing.quote();
+    }
+
+    public synchronized Money getTotal() {
+        return pricing.quote().getTotal();
     }
 
-    public void clearCart() {
+    /*********************************************************************************************************
+     * Method Name     : getItemCount
+     * Description     : Returns the total number of units across all cart lines.
+     * Parameters      : None
+     * Return          : int – Sum of quantities in the cart.
+     *********************************************************************************************************/
+    public synchronized int getItemCount() {
+        return itemCount;
+    }
+
+    public synchronized boolean isEmpty() {
+        return cartItems.isEmpty();
+    }
+
+    public synchronized void clearCart() {
         cartItems.clear();
+        pricing.reset();
+        itemCount = 0;
+        publish(CartChange.cleared());
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : addListener / removeListener
+     * Description     : Registers or unregisters a listener for cart deltas. Listeners are invoked on the thread
+     *                   performing the mutation, while the cart lock is held.
+     * Parameters      : CartChange.Listener listener – Listener to add or remove.
+     * Return          : void
+     *********************************************************************************************************/
+    public void addListener(CartChange.Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(CartChange.Listener listener) {
+        listeners.remove(listener);
+    }
+
+    private void insertLine(String key, CartItem item) {
+        cartItems.put(key, item);
+        pricing.adjust(item.getUnitPrice(), item.getQuantity());
+        itemCount += item.getQuantity();
+        if (!listeners.isEmpty()) {
+            publish(CartChange.added(key, item));
+        }
+    }
+
+    private void setLineQuantity(String key, CartItem item, int quantity) {
+        int newQuantity = Math.max(quantity, 0);
+        int delta = newQuantity - item.getQuantity();
+        pricing.adjust(item.getUnitPrice(), delta);
+        itemCount += delta;
+        if (newQuantity == 0) {
+            cartItems.remove(key);
+            if (!listeners.isEmpty()) {
+                publish(CartChange.removed(key, item));
+            }
+        } else if (delta != 0) {
+            item.setQuantity(newQuantity);
+            if (!listeners.isEmpty()) {
+                publish(CartChange.quantityChanged(key, item));
+            }
+        }
+    }
+
+    private void publish(CartChange change) {
+        for (CartChange.Listener listener : listeners) {
+            listener.onCartChanged(change);
+        }
     }
 }
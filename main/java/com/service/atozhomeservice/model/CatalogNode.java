@@ -0,0 +1,149 @@
+package com.service.atozhomeservice.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : CatalogNode
+ * Description    : Immutable node of the service catalog tree: the catalog index (whose children are the
+ *                  categories), a category (whose children are its sub-services) or a sub-service (whose
+ *                  children are the priced items). IDs are dotted paths, e.g. "carpenter.cupboards.locks",
+ *                  so the first segment always names the category a node belongs to.
+ *                  The grid tiles of the children are built once with the node, so screens can show the
+ *                  same node repeatedly without rebuilding any list.
+ * Usage Scope    : Built by CatalogRepository; read by the category grids and BottomSheetSubservices.
+ *********************************************************************************************************/
+public final class CatalogNode {
+
+    private final String id;
+    private final String label;
+    private final int icon;
+    private final Money price;
+    private final long version;
+    private final List<CatalogNode> children;
+    private final List<ServiceTile> childTiles;
+    private final Map<String, CatalogNode> descendants;
+
+    /*********************************************************************************************************
+     * Constructor     : CatalogNode
+     * Description     : Creates a node that is not a lookup root; find() on it returns null.
+     * Parameters      : String id – Dotted catalog ID.
+     *                   String label – Display label.
+     *                   int icon – Drawable resource ID, 0 if none.
+     *                   Money price – Unit price for items, Money.ZERO otherwise.
+     *                   long version – Content version (catalog and category roots), 0 otherwise.
+     *                   List<CatalogNode> children – Child nodes in display order.
+     * Return          : None
+     *********************************************************************************************************/
+    public CatalogNode(String id, String label, int icon, Money price, long version, List<CatalogNode> children) {
+        this(id, label, icon, price, version, children, Collections.emptyMap());
+    }
+
+    private CatalogNode(String id, String label, int icon, Money price, long version,
+                        List<CatalogNode> children, Map<String, CatalogNode> descendants) {
+        this.id = id;
+        this.label = label;
+        this.icon = icon;
+        this.price = price;
+        this.version = version;
+        this.children = Collections.unmodifiableList(new ArrayList<>(children));
+        this.descendants = descendants;
+
+        List<ServiceTile> tiles = new ArrayList<>(children.size());
+        for (CatalogNode child : children) {
+            tiles.add(new ServiceTile(child.id, child.label, child.icon, child.price));
+        }
+        this.childTiles = Collections.unmodifiableList(tiles);
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : root
+     * Description     : Creates a lookup root that indexes every node below it by ID, so find() is a single
+     *                   hash lookup regardless of depth.
+     * Parameters      : Same as the constructor, without price.
+     * Return          : CatalogNode – The indexed root.
+     *********************************************************************************************************/
+    public static CatalogNode root(String id, String label, int icon, long version, List<CatalogNode> children) {
+        return root(id, label, icon, version, children, Collections.emptyList());
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : root
+     * Description     : Creates a lookup root that also resolves retired nodes: entries that are no longer
+     *                   offered and are not among the children, but whose IDs past orders still refer to.
+     * Parameters      : Same as the constructor, without price, plus:
+     *                   List<CatalogNode> retired – Withdrawn nodes, found by find() but never listed.
+     * Return          : CatalogNode – The indexed root.
+     *********************************************************************************************************/
+    public static CatalogNode root(String id, String label, int icon, long version, List<CatalogNode> children,
+                                   List<CatalogNode> retired) {
+        Map<String, CatalogNode> descendants = new HashMap<>();
+        for (CatalogNode node : retired) {
+            descendants.put(node.id, node);
+        }
+        List<CatalogNode> pending = new ArrayList<>(children);
+        while (!pending.isEmpty()) {
+            CatalogNode node = pending.remove(pending.size() - 1);
+            descendants.put(node.id, node);
+            pending.addAll(node.children);
+        }
+        return new CatalogNode(id, label, icon, Money.ZERO, version, children, Collections.unmodifiableMap(descendants));
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : categoryIdOf
+     * Description     : Returns the ID of the category a catalog ID belongs to.
+     * Parameters      : String id – Any catalog ID.
+     * Return          : String – Its first path segment.
+     *********************************************************************************************************/
+    public static String categoryIdOf(String id) {
+        int dot = id.indexOf('.');
+        return dot < 0 ? id : id.substring(0, dot);
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : find
+     * Description     : Looks up a node below this root by ID in constant time.
+     * Parameters      : String id – Catalog ID.
+     * Return          : CatalogNode – The node, or null if it is not below this root.
+     *********************************************************************************************************/
+    public CatalogNode find(String id) {
+        return descendants.get(id);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int getIcon() {
+        return icon;
+    }
+
+    public Money getPrice() {
+        return price;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<CatalogNode> getChildren() {
+        return children;
+    }
+
+    public boolean hasChildren() {
+        return !children.isEmpty();
+    }
+
+    public List<ServiceTile> getChildTiles() {
+        return childTiles;
+    }
+}
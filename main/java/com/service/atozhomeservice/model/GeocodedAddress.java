@@ -0,0 +1,191 @@
+package com.service.atozhomeservice.model;
+
+import android.location.Address;
+
+import com.google.firebase.firestore.GeoPoint;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : GeocodedAddress
+ * Description    : Immutable, structured location of the user: the coordinate, its geohash and the parts of
+ *                  an android.location.Address the app displays. Unlike Address it is cheap to cache and to
+ *                  persist, and it owns the formatting of the two header lines shown on the home screen.
+ *                  Code that needs the coordinate (distance, serviceability, dispatch) reads it from here
+ *                  rather than geocoding again or parsing a display string.
+ * Usage Scope    : Produced by GeocodingService, held by LocationStore and stored with each Order.
+ *********************************************************************************************************/
+public final class GeocodedAddress {
+
+    private final double latitude;
+    private final double longitude;
+    private final String addressLine;
+    private final String featureName;
+    private final String subThoroughfare;
+    private final String thoroughfare;
+    private final String subLocality;
+    private final String locality;
+    private final String adminArea;
+    private final String countryName;
+    private final String postalCode;
+    private String geohash; // lazily computed, immutable once set
+
+    public GeocodedAddress(double latitude, double longitude, String addressLine, String featureName,
+                           String subThoroughfare, String thoroughfare, String subLocality, String locality,
+                           String adminArea, String countryName, String postalCode) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.addressLine = addressLine;
+        this.featureName = featureName;
+        this.subThoroughfare = subThoroughfare;
+        this.thoroughfare = thoroughfare;
+        this.subLocality = subLocality;
+        this.locality = locality;
+        this.adminArea = adminArea;
+        this.countryName = countryName;
+        this.postalCode = postalCode;
+    }
+
+    public static GeocodedAddress from(Address address) {
+        return new GeocodedAddress(
+                address.hasLatitude() ? address.getLatitude() : 0,
+                address.hasLongitude() ? address.getLongitude() : 0,
+                address.getMaxAddressLineIndex() >= 0 ? address.getAddressLine(0) : null,
+                address.getFeatureName(),
+                address.getSubThoroughfare(),
+                address.getThoroughfare(),
+                address.getSubLocality(),
+                address.getLocality(),
+                address.getAdminArea(),
+                address.getCountryName(),
+                address.getPostalCode());
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : withCoordinates
+     * Description     : Returns this address pinned to an exact coordinate. Geocoder results are cached per
+     *                   geohash cell, so their coordinate can be a neighbouring point of the same cell; the
+     *                   fix or tap the user made is the one worth keeping.
+     * Parameters      : double latitude – Latitude in degrees.
+     *                   double longitude – Longitude in degrees.
+     * Return          : GeocodedAddress – Address with the given coordinate, this instance if unchanged.
+     *********************************************************************************************************/
+    public GeocodedAddress withCoordinates(double latitude, double longitude) {
+        if (latitude == this.latitude && longitude == this.longitude) {
+            return this;
+        }
+        return new GeocodedAddress(latitude, longitude, addressLine, featureName, subThoroughfare, thoroughfare,
+                subLocality, locality, adminArea, countryName, postalCode);
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : getAreaLine
+     * Description     : Builds the first header line: building, street and neighbourhood.
+     * Parameters      : None
+     * Return          : String – Area line, possibly empty.
+     *********************************************************************************************************/
+    public String getAreaLine() {
+        String areaLine = "";
+        if (featureName != null && !featureName.equals(thoroughfare)) {
+            areaLine += featureName + " ";
+        }
+        if (subThoroughfare != null) {
+            areaLine += subThoroughfare + " ";
+        }
+        if (thoroughfare != null) {
+            areaLine += thoroughfare;
+        }
+        if (subLocality != null) {
+            areaLine += ", " + subLocality;
+        }
+        return areaLine;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : getRegionLine
+     * Description     : Builds the second header line: city, state, country and postal code.
+     * Parameters      : None
+     * Return          : String – Region line, possibly empty.
+     *********************************************************************************************************/
+    public String getRegionLine() {
+        String regionLine = "";
+        if (locality != null) regionLine += locality + ", ";
+        if (adminArea != null) regionLine += adminArea + ", ";
+        if (countryName != null) regionLine += countryName + ", ";
+        if (postalCode != null) regionLine += postalCode;
+        return regionLine;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : getDisplayAddress
+     * Description     : Joins the area and region lines into the single-line address used across the app.
+     * Parameters      : None
+     * Return          : String – Full display address.
+     *********************************************************************************************************/
+    public String getDisplayAddress() {
+        return getAreaLine() + ", " + getRegionLine();
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public GeoPoint getGeoPoint() {
+        return new GeoPoint(latitude, longitude);
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : getGeohash
+     * Description     : Returns the geohash of the coordinate at Geohash.LOCATION_PRECISION. Shorter prefixes
+     *                   of it name the enclosing, coarser cells, which is what area queries match on.
+     * Parameters      : None
+     * Return          : String – Geohash of the coordinate.
+     *********************************************************************************************************/
+    public String getGeohash() {
+        String result = geohash;
+        if (result == null) {
+            result = Geohash.encode(latitude, longitude, Geohash.LOCATION_PRECISION);
+            geohash = result;
+        }
+        return result;
+    }
+
+    public String getAddressLine() {
+        return addressLine;
+    }
+
+    public String getFeatureName() {
+        return featureName;
+    }
+
+    public String getSubThoroughfare() {
+        return subThoroughfare;
+    }
+
+    public String getThoroughfare() {
+        return thoroughfare;
+    }
+
+    public String getSubLocality() {
+        return subLocality;
+    }
+
+    public String getLocality() {
+        return locality;
+    }
+
+    public String getAdminArea() {
+        return adminArea;
+    }
+
+    public String getCountryName() {
+        return countryName;
+    }
+
+    public String getPostalCode() {
+        return postalCode;
+    }
+}
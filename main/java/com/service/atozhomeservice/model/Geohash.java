@@ -0,0 +1,69 @@
+package com.service.atozhomeservice.model;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : Geohash
+ * Description    : Encodes coordinates into base-32 geohash strings. Nearby points share a prefix, so a
+ *                  geohash of fixed precision identifies a grid cell and is used as a cache key for
+ *                  location lookups.
+ * Usage Scope    : GeocodingService cache keys, the geohash stored with the user's location and orders.
+ *********************************************************************************************************/
+public final class Geohash {
+
+    // Cell of roughly 38 m x 19 m, about the size of a building plot
+    public static final int ADDRESS_PRECISION = 8;
+
+    // Cell of roughly 1.2 m x 0.6 m; any coarser cell is a prefix of it
+    public static final int LOCATION_PRECISION = 10;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private Geohash() {}
+
+    /*********************************************************************************************************
+     * Method Name     : encode
+     * Description     : Computes the geohash of a coordinate by alternately bisecting the longitude and
+     *                   latitude ranges, five bits per output character.
+     * Parameters      : double latitude – Latitude in degrees.
+     *                   double longitude – Longitude in degrees.
+     *                   int precision – Number of characters to produce.
+     * Return          : String – Geohash of the cell containing the coordinate.
+     *********************************************************************************************************/
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLng = -180, maxLng = 180;
+        char[] hash = new char[precision];
+        boolean evenBit = true;
+        int bit = 0;
+        int index = 0;
+        int length = 0;
+        while (length < precision) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (longitude >= mid) {
+                    index = (index << 1) | 1;
+                    minLng = mid;
+                } else {
+                    index <<= 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    index = (index << 1) | 1;
+                    minLat = mid;
+                } else {
+                    index <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash[length++] = BASE32[index];
+                bit = 0;
+                index = 0;
+            }
+        }
+        return new String(hash);
+    }
+}
@@ -0,0 +1,141 @@
+package com.service.atozhomeservice.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : Money
+ * Description    : Immutable rupee amount held as a whole number of paise, so sums, products and
+ *                  percentages are exact and never drift the way double totals did. Conversions from and
+ *                  to double exist only at the edges (catalog JSON, Firestore fields, legacy local files)
+ *                  and round to the nearest paisa. The display string is built by hand on first use and
+ *                  kept on the instance, so rebinding the same price does not format it again.
+ * Usage Scope    : Prices of catalog items and cart lines, cart and order totals, PricingEngine.
+ *********************************************************************************************************/
+public final class Money implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    private static final String SYMBOL = "₹ ";
+
+    private final long paise;
+    private String formatted; // lazily built, immutable once set
+
+    private Money(long paise) {
+        this.paise = paise;
+    }
+
+    public static Money ofPaise(long paise) {
+        return paise == 0 ? ZERO : new Money(paise);
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : ofRupees
+     * Description     : Converts a decimal rupee amount, rounding half up to the nearest paisa. The double is
+     *                   read through its shortest decimal form, so 72.1 becomes exactly 7210 paise.
+     * Parameters      : double rupees – Amount in rupees.
+     * Return          : Money – The amount.
+     *********************************************************************************************************/
+    public static Money ofRupees(double rupees) {
+        if (Double.isNaN(rupees) || Double.isInfinite(rupees)) {
+            throw new IllegalArgumentException("Not an amount: " + rupees);
+        }
+        return ofPaise(BigDecimal.valueOf(rupees).movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact());
+    }
+
+    public long getPaise() {
+        return paise;
+    }
+
+    public double toRupees() {
+        return paise / 100.0;
+    }
+
+    public boolean isZero() {
+        return paise == 0;
+    }
+
+    public Money plus(Money other) {
+        return other.paise == 0 ? this : ofPaise(Math.addExact(paise, other.paise));
+    }
+
+    public Money minus(Money other) {
+        return other.paise == 0 ? this : ofPaise(Math.subtractExact(paise, other.paise));
+    }
+
+    public Money times(int quantity) {
+        return quantity == 1 ? this : ofPaise(Math.multiplyExact(paise, (long) quantity));
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : percent
+     * Description     : Returns a share of the amount, rounded half up to the nearest paisa.
+     * Parameters      : int basisPoints – Share in hundredths of a percent (1800 = 18%).
+     * Return          : Money – The share.
+     *********************************************************************************************************/
+    public Money percent(int basisPoints) {
+        long scaled = Math.multiplyExact(paise, (long) basisPoints);
+        long rounded = scaled >= 0 ? (scaled + 5_000) / 10_000 : -((-scaled + 5_000) / 10_000);
+        return ofPaise(rounded);
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : toPlainString
+     * Description     : Returns the amount with exactly two decimals and no symbol, e.g. "1234.50", as
+     *                   expected by payment URIs.
+     * Parameters      : None
+     * Return          : String – The amount.
+     *********************************************************************************************************/
+    public String toPlainString() {
+        return appendPlain(new StringBuilder(12)).toString();
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : format
+     * Description     : Returns the display form, e.g. "₹ 1234.50". Built once per instance.
+     * Parameters      : None
+     * Return          : String – The amount with the rupee symbol.
+     *********************************************************************************************************/
+    public String format() {
+        String result = formatted;
+        if (result == null) {
+            result = appendPlain(new StringBuilder(14).append(SYMBOL)).toString();
+            formatted = result;
+        }
+        return result;
+    }
+
+    private StringBuilder appendPlain(StringBuilder builder) {
+        long absolute = Math.abs(paise);
+        if (paise < 0) {
+            builder.append('-');
+        }
+        long fraction = absolute % 100;
+        builder.append(absolute / 100).append('.');
+        if (fraction < 10) {
+            builder.append('0');
+        }
+        return builder.append(fraction);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(paise, other.paise);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Money && ((Money) other).paise == paise;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(paise);
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
@@ -1,5 +1,8 @@
 package com.service.atozhomeservice.model;
 
+import com.google.firebase.firestore.DocumentId;
+import com.google.firebase.firestore.Exclude;
+
 import java.util.List;
 
 /*********************************************************************************************************
@@ -8,31 +11,46 @@ import java.util.List;
  * Description    : Data model representing a user’s complete service order. Encapsulates ordered items,
  *                  total amount, timestamp, payment method, service status, and user-selected location.
  *                  Designed for Firestore compatibility and seamless integration with cart, order history,
- *                  and payment workflows.
+ *                  and payment workflows. The total is held as Money and the service location as a
+ *                  GeocodedAddress, so coordinates are read directly; location is its display form and the
+ *                  only location of orders placed before addresses were structured. Firestore documents are
+ *                  read and written through OrderMapper.
  * Usage Scope    : Used across order placement, order detail views, adapter population, Firestore operations,
  *                  and ViewModel LiveData binding.
  *********************************************************************************************************/
 public class Order {
 
+    @DocumentId
+    private String orderId; // populated from the Firestore document ID, never written as a field
     private List<CartItem> items;
-    private double totalAmount;
+    private Money total = Money.ZERO;
     private long timestamp;
     private String status;
     private String paymentType;
     private String location;
+    private GeocodedAddress address;
 
-    public Order(List<CartItem> items, double totalAmount, long timestamp, String status, String paymentType, String location) {
+    public Order(List<CartItem> items, Money total, long timestamp, String status, String paymentType, GeocodedAddress address) {
         this.items = items;
-        this.totalAmount = totalAmount;
+        this.total = total;
         this.timestamp = timestamp;
         this.status = status;
         this.paymentType = paymentType;
-        this.location = location;
+        this.address = address;
+        this.location = address == null ? null : address.getDisplayAddress();
     }
 
     public Order() {} // Firestore needs this
 
     // Getters and setters...
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
     public List<CartItem> getItems() {
         return items;
     }
@@ -41,12 +59,23 @@ public class Order {
         this.items = items;
     }
 
+    @Exclude
+    public Money getTotal() {
+        return total;
+    }
+
+    @Exclude
+    public void setTotal(Money total) {
+        this.total = total;
+    }
+
+    // Firestore field, in rupees
     public double getTotalAmount() {
-        return totalAmount;
+        return total.toRupees();
     }
 
     public void setTotalAmount(double totalAmount) {
-        this.totalAmount = totalAmount;
+        this.total = Money.ofRupees(totalAmount);
     }
 
     public long getTimestamp() {
@@ -81,4 +110,14 @@ public class Order {
         this.location = location;
     }
 
+    @Exclude
+    public GeocodedAddress getAddress() {
+        return address;
+    }
+
+    @Exclude
+    public void setAddress(GeocodedAddress address) {
+        this.address = address;
+    }
+
 }
@@ -0,0 +1,105 @@
+package com.service.atozhomeservice.model;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : PricingEngine
+ * Description    : Single place where cart amounts are computed. Line totals are unit price × quantity;
+ *                  the subtotal is kept incrementally as lines change, so a quantity tap costs one addition
+ *                  instead of a re-sum. The quote applies the discount to the subtotal, then the tax to the
+ *                  discounted amount, each rounded to the paisa once. All arithmetic is in whole paise.
+ *                  The quote is cached until the next change.
+ * Threading      : Not synchronized; CartManager guards it with the cart lock.
+ * Usage Scope    : Owned by CartManager; its quotes feed BottomSheetSubservices, ViewCart and PlaceOrder.
+ *********************************************************************************************************/
+public final class PricingEngine {
+
+    private final int discountBasisPoints;
+    private final int taxBasisPoints;
+    private long subtotalPaise;
+    private Quote quote;
+
+    /*********************************************************************************************************
+     * Constructor     : PricingEngine
+     * Description     : Creates an engine with an empty cart.
+     * Parameters      : int discountBasisPoints – Discount on the subtotal in hundredths of a percent.
+     *                   int taxBasisPoints – Tax on the discounted subtotal in hundredths of a percent.
+     * Return          : None
+     *********************************************************************************************************/
+    public PricingEngine(int discountBasisPoints, int taxBasisPoints) {
+        this.discountBasisPoints = discountBasisPoints;
+        this.taxBasisPoints = taxBasisPoints;
+    }
+
+    public static Money lineTotal(Money unitPrice, int quantity) {
+        return unitPrice.times(quantity);
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : adjust
+     * Description     : Applies a change of quantity of one line to the subtotal.
+     * Parameters      : Money unitPrice – Unit price of the line.
+     *                   int quantityDelta – Units added (positive) or removed (negative).
+     * Return          : void
+     *********************************************************************************************************/
+    public void adjust(Money unitPrice, int quantityDelta) {
+        if (quantityDelta != 0 && !unitPrice.isZero()) {
+            subtotalPaise = Math.addExact(subtotalPaise, Math.multiplyExact(unitPrice.getPaise(), (long) quantityDelta));
+            quote = null;
+        }
+    }
+
+    public void reset() {
+        subtotalPaise = 0;
+        quote = null;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : quote
+     * Description     : Returns the subtotal, discount, tax and payable total of the current lines.
+     * Parameters      : None
+     * Return          : Quote – Amounts of the cart; the same instance until the next change.
+     *********************************************************************************************************/
+    public Quote quote() {
+        if (quote == null) {
+            Money subtotal = Money.ofPaise(subtotalPaise);
+            Money discount = subtotal.percent(discountBasisPoints);
+            Money tax = subtotal.minus(discount).percent(taxBasisPoints);
+            quote = new Quote(subtotal, discount, tax, subtotal.minus(discount).plus(tax));
+        }
+        return quote;
+    }
+
+    /*********************************************************************************************************
+     * Inner Class     : Quote
+     * Description     : Immutable breakdown of the cart amounts.
+     *********************************************************************************************************/
+    public static final class Quote {
+        private final Money subtotal;
+        private final Money discount;
+        private final Money tax;
+        private final Money total;
+
+        Quote(Money subtotal, Money discount, Money tax, Money total) {
+            this.subtotal = subtotal;
+            this.discount = discount;
+            this.tax = tax;
+            this.total = total;
+        }
+
+        public Money getSubtotal() {
+            return subtotal;
+        }
+
+        public Money getDiscount() {
+            return discount;
+        }
+
+        public Money getTax() {
+            return tax;
+        }
+
+        public Money getTotal() {
+            return total;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.service.atozhomeservice.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : ServiceSearchIndex
+ * Description    : Immutable, typo-tolerant search index over the labels of every category, sub-service and
+ *                  item of the catalog. Built once per catalog version; a query then touches only the
+ *                  index, never the catalog tree:
+ *                    - labels are split into lowercase word tokens, kept in a sorted vocabulary with the
+ *                      entries each token occurs in;
+ *                    - a query word matches vocabulary words it equals or is a prefix of, found by binary
+ *                      search, so results follow the user as they type;
+ *                    - words of three letters or more also match fuzzily through shared trigrams (Dice
+ *                      similarity), so "cuboard" or "wardrob" still find their services.
+ *                  An entry must match every query word. Results are ranked by match quality, then by the
+ *                  popularity counts passed to search(), then by shorter label.
+ * Usage Scope    : Plain Java without Android dependencies. Built by CatalogRepository, queried by the
+ *                  home screen search box.
+ *********************************************************************************************************/
+public final class ServiceSearchIndex {
+
+    private static final float EXACT_SCORE = 1f;
+    private static final float PREFIX_SCORE = 0.75f;
+    private static final float FUZZY_WEIGHT = 0.6f;
+    private static final float MIN_SIMILARITY = 0.45f;
+    private static final float POPULARITY_WEIGHT = 0.05f;
+    private static final int MIN_FUZZY_LENGTH = 3;
+
+    private final ServiceTile[] tiles;
+    private final String[] vocabulary;          // sorted
+    private final int[][] postings;             // vocabulary word -> entries containing it
+    private final int[] trigramCounts;          // vocabulary word -> number of trigrams
+    private final Map<String, int[]> trigrams;  // trigram -> vocabulary words containing it
+
+    private ServiceSearchIndex(ServiceTile[] tiles, String[] vocabulary, int[][] postings,
+                               int[] trigramCounts, Map<String, int[]> trigrams) {
+        this.tiles = tiles;
+        this.vocabulary = vocabulary;
+        this.postings = postings;
+        this.trigramCounts = trigramCounts;
+        this.trigrams = trigrams;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : build
+     * Description     : Indexes the given categories and every node below them.
+     * Parameters      : List<CatalogNode> categories – Category nodes with their sub-services and items.
+     * Return          : ServiceSearchIndex – The index.
+     *********************************************************************************************************/
+    public static ServiceSearchIndex build(List<CatalogNode> categories) {
+        List<ServiceTile> tiles = new ArrayList<>();
+        TreeMap<String, List<Integer>> words = new TreeMap<>();
+        List<CatalogNode> pending = new ArrayList<>(categories);
+        Collections.reverse(pending);
+        while (!pending.isEmpty()) {
+            CatalogNode node = pending.remove(pending.size() - 1);
+            int entry = tiles.size();
+            tiles.add(new ServiceTile(node.getId(), node.getLabel(), node.getIcon(), node.getPrice()));
+            for (String word : tokenize(node.getLabel())) {
+                List<Integer> entries = words.get(word);
+                if (entries == null) {
+                    entries = new ArrayList<>();
+                    words.put(word, entries);
+                }
+                if (entries.isEmpty() || entries.get(entries.size() - 1) != entry) {
+                    entries.add(entry);
+                }
+            }
+            for (int i = node.getChildren().size() - 1; i >= 0; i--) {
+                pending.add(node.getChildren().get(i)); // depth first, in display order
+            }
+        }
+
+        String[] vocabulary = words.keySet().toArray(new String[0]);
+        int[][] postings = new int[vocabulary.length][];
+        int[] trigramCounts = new int[vocabulary.length];
+        Map<String, List<Integer>> trigramLists = new HashMap<>();
+        for (int v = 0; v < vocabulary.length; v++) {
+            List<Integer> entries = words.get(vocabulary[v]);
+            postings[v] = new int[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                postings[v][i] = entries.get(i);
+            }
+            List<String> wordTrigrams = trigramsOf(vocabulary[v]);
+            trigramCounts[v] = wordTrigrams.size();
+            for (String trigram : wordTrigrams) {
+                List<Integer> list = trigramLists.get(trigram);
+                if (list == null) {
+                    list = new ArrayList<>();
+                    trigramLists.put(trigram, list);
+                }
+                if (list.isEmpty() || list.get(list.size() - 1) != v) {
+                    list.add(v);
+                }
+            }
+        }
+        Map<String, int[]> trigrams = new HashMap<>(trigramLists.size() * 2);
+        for (Map.Entry<String, List<Integer>> entry : trigramLists.entrySet()) {
+            int[] list = new int[entry.getValue().size()];
+            for (int i = 0; i < list.length; i++) {
+                list[i] = entry.getValue().get(i);
+            }
+            trigrams.put(entry.getKey(), list);
+        }
+        return new ServiceSearchIndex(tiles.toArray(new ServiceTile[0]), vocabulary, postings, trigramCounts, trigrams);
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : search
+     * Description     : Finds the entries matching every word of the query, best first.
+     * Parameters      : String query – Text typed by the user; the last word may be incomplete.
+     *                   int limit – Maximum number of results.
+     *                   Map<String, Integer> popularity – Selection counts by catalog ID, may be empty.
+     * Return          : List<ServiceTile> – Matching entries, empty for a blank query.
+     *********************************************************************************************************/
+    public List<ServiceTile> search(String query, int limit, Map<String, Integer> popularity) {
+        List<String> queryWords = tokenize(query);
+        if (queryWords.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        float[] total = new float[tiles.length];
+        int[] matchedWords = new int[tiles.length];
+        float[] best = new float[tiles.length];
+        int[] shared = new int[vocabulary.length];
+
+        for (String word : queryWords) {
+            Arrays.fill(best, 0f);
+            for (int v = lowerBound(word); v < vocabulary.length && vocabulary[v].startsWith(word); v++) {
+                score(v, vocabulary[v].length() == word.length() ? EXACT_SCORE : PREFIX_SCORE, best);
+            }
+            if (word.length() >= MIN_FUZZY_LENGTH) {
+                matchFuzzy(word, shared, best);
+            }
+            for (int e = 0; e < tiles.length; e++) {
+                if (best[e] > 0) {
+                    total[e] += best[e];
+                    matchedWords[e]++;
+                }
+            }
+        }
+
+        List<Integer> matches = new ArrayList<>();
+        float[] ranking = new float[tiles.length];
+        for (int e = 0; e < tiles.length; e++) {
+            if (matchedWords[e] == queryWords.size()) {
+                Integer count = popularity.get(tiles[e].getId());
+                ranking[e] = total[e] / queryWords.size()
+                        + (count == null ? 0 : POPULARITY_WEIGHT * (float) Math.log1p(count));
+                matches.add(e);
+            }
+        }
+        Collections.sort(matches, (a, b) -> {
+            int byScore = Float.compare(ranking[b], ranking[a]);
+            if (byScore != 0) {
+                return byScore;
+            }
+            int byLength = Integer.compare(tiles[a].getLabel().length(), tiles[b].getLabel().length());
+            return byLength != 0 ? byLength : Integer.compare(a, b);
+        });
+
+        List<ServiceTile> results = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = 0; i < matches.size() && i < limit; i++) {
+            results.add(tiles[matches.get(i)]);
+        }
+        return results;
+    }
+
+    public int size() {
+        return tiles.length;
+    }
+
+    private void matchFuzzy(String word, int[] shared, float[] best) {
+        Arrays.fill(shared, 0);
+        List<String> wordTrigrams = trigramsOf(word);
+        for (String trigram : wordTrigrams) {
+            int[] words = trigrams.get(trigram);
+            if (words != null) {
+                for (int v : words) {
+                    shared[v]++;
+                }
+            }
+        }
+        for (int v = 0; v < vocabulary.length; v++) {
+            if (shared[v] > 0) {
+                float similarity = 2f * shared[v] / (wordTrigrams.size() + trigramCounts[v]);
+                if (similarity >= MIN_SIMILARITY) {
+                    score(v, FUZZY_WEIGHT * similarity, best);
+                }
+            }
+        }
+    }
+
+    private void score(int word, float score, float[] best) {
+        for (int entry : postings[word]) {
+            if (score > best[entry]) {
+                best[entry] = score;
+            }
+        }
+    }
+
+    private int lowerBound(String word) {
+        int low = 0;
+        int high = vocabulary.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (vocabulary[middle].compareTo(word) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // Lowercase runs of letters and digits; "Tile & Flooring" -> [tile, flooring]
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    // Trigrams of the word padded with word boundaries, so first and last letters weigh in
+    static List<String> trigramsOf(String word) {
+        String padded = "$" + word + "$";
+        List<String> result = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,61 @@
+package com.service.atozhomeservice.model;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : ServiceTile
+ * Description    : Immutable entry of a service grid or price list: catalog ID, label, drawable and unit
+ *                  price (zero for categories). The ID identifies the tile within its list, so it also yields
+ *                  the stable RecyclerView ID and drives DiffUtil.
+ * Usage Scope    : Built by CatalogNode for its children; shown by CustomAdapter (category grids) and
+ *                  QuantityAdapter (priced sub-services).
+ *********************************************************************************************************/
+public final class ServiceTile {
+
+    private final String id;
+    private final String label;
+    private final int icon;
+    private final Money price;
+    private final long stableId;
+
+    public ServiceTile(String id, String label, int icon, Money price) {
+        this.id = id;
+        this.label = label;
+        this.icon = icon;
+        this.price = price;
+        this.stableId = stableIdOf(id);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int getIcon() {
+        return icon;
+    }
+
+    public Money getPrice() {
+        return price;
+    }
+
+    public long getStableId() {
+        return stableId;
+    }
+
+    public boolean hasSameContent(ServiceTile other) {
+        return id.equals(other.id) && label.equals(other.label) && icon == other.icon && price.equals(other.price);
+    }
+
+    // 64-bit FNV-1a of the ID; String.hashCode() alone collides too easily for stable IDs
+    private static long stableIdOf(String id) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            hash ^= id.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,306 @@
+package com.service.atozhomeservice.repository;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.AtomicFile;
+import android.util.Log;
+
+import com.service.atozhomeservice.model.GeocodedAddress;
+import com.service.atozhomeservice.model.Geohash;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*************************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : AddressHistory
+ * Description    : Local history of the addresses the user has picked, used to rank address suggestions.
+ *                  rank() merges the history with the Geocoder's matches for a query:
+ *                    - remembered addresses whose words start with every word of the query come first,
+ *                      ordered by how often and how recently they were used;
+ *                    - Geocoder matches follow in the Geocoder's order, and one that falls in the same
+ *                      geohash cell as a remembered address gets that address's boost and is shown once.
+ *                  With an empty query the most used and most recent addresses are suggested.
+ * Threading      : Public methods must be called on the main thread. The history file is read and written
+ *                  on a background thread.
+ * File Format    : int version, int count, then per entry: int useCount, long lastUsedMillis, double latitude,
+ *                  double longitude and nine address components (UTF, "" for null).
+ *************************************************************************************************************/
+public class AddressHistory {
+
+    private static final String FILE_NAME = "address_history.bin";
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAX_ENTRIES = 20;
+    private static final double DAY_MS = 24 * 60 * 60 * 1000.0;
+
+    private static volatile AddressHistory instance;
+
+    private final AtomicFile file;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "address-history");
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    // Main thread only; entries holds only what was recorded until the file has been read and merged
+    private List<Entry> entries = new ArrayList<>();
+    private boolean loadMerged;
+
+    private AddressHistory(Context context) {
+        file = new AtomicFile(new File(context.getApplicationContext().getFilesDir(), FILE_NAME));
+        executor.execute(() -> {
+            List<Entry> loaded = load();
+            mainHandler.post(() -> {
+                // Keep anything recorded while the file was being read, then write what record() held back
+                for (Entry entry : entries) {
+                    merge(loaded, entry.address, entry.useCount, entry.lastUsedMillis);
+                }
+                boolean recordedMeanwhile = !entries.isEmpty();
+                entries = loaded;
+                loadMerged = true;
+                if (recordedMeanwhile) {
+                    storeSnapshot();
+                }
+            });
+        });
+    }
+
+    public static AddressHistory getInstance(Context context) {
+        if (instance == null) {
+            synchronized (AddressHistory.class) {
+                if (instance == null) {
+                    instance = new AddressHistory(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : record
+     * Description     : Counts a use of an address. Addresses in the same geohash cell count as one; the
+     *                   least valuable older entry is dropped once the history is full. Until the file has
+     *                   been read the use is only kept in memory, so the file is never overwritten by a
+     *                   history missing the stored entries; it is written once the load has merged it.
+     * Parameters      : GeocodedAddress address – Address the user picked.
+     * Return          : void
+     *********************************************************************************************************/
+    public void record(GeocodedAddress address) {
+        merge(entries, address, 1, System.currentTimeMillis());
+        if (loadMerged) {
+            storeSnapshot();
+        }
+    }
+
+    private void storeSnapshot() {
+        List<Entry> snapshot = new ArrayList<>(entries);
+        executor.execute(() -> store(snapshot));
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : rank
+     * Description     : Orders the suggestions for a query: matching history entries first, then the
+     *                   Geocoder's matches, without showing the same place twice.
+     * Parameters      : String query – Text typed so far, may be empty.
+     *                   List<GeocodedAddress> remote – Geocoder matches for the query, best first; may be empty.
+     *                   int limit – Maximum number of suggestions.
+     * Return          : List<GeocodedAddress> – Suggestions, best first.
+     *********************************************************************************************************/
+    public List<GeocodedAddress> rank(String query, List<GeocodedAddress> remote, int limit) {
+        String[] queryWords = wordsOf(query);
+        long now = System.currentTimeMillis();
+        Map<String, Entry> historyByCell = new HashMap<>();
+        for (Entry entry : entries) {
+            historyByCell.put(entry.cell, entry);
+        }
+
+        Map<String, Suggestion> byCell = new HashMap<>();
+        for (Entry entry : entries) {
+            if (matches(queryWords, entry.address)) {
+                byCell.put(entry.cell, new Suggestion(entry.address, 2 + entry.boost(now)));
+            }
+        }
+        for (int i = 0; i < remote.size(); i++) {
+            GeocodedAddress address = remote.get(i);
+            String cell = cellOf(address);
+            // Keeps the Geocoder's order, always below a matching history entry
+            double score = 1 + 0.5 * (remote.size() - i) / (remote.size() + 1.0);
+            Entry known = historyByCell.get(cell);
+            if (known != null) {
+                score += 1 + known.boost(now);
+            }
+            Suggestion existing = byCell.get(cell);
+            if (existing == null || existing.score < score) {
+                byCell.put(cell, new Suggestion(address, score));
+            }
+        }
+
+        List<Suggestion> ranked = new ArrayList<>(byCell.values());
+        Collections.sort(ranked, (a, b) -> Double.compare(b.score, a.score));
+        List<GeocodedAddress> result = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            result.add(ranked.get(i).address);
+        }
+        return result;
+    }
+
+    private static boolean matches(String[] queryWords, GeocodedAddress address) {
+        if (queryWords.length == 0) {
+            return true;
+        }
+        String[] addressWords = wordsOf(address.getDisplayAddress() + ' '
+                + (address.getAddressLine() == null ? "" : address.getAddressLine()));
+        for (String queryWord : queryWords) {
+            boolean found = false;
+            for (String addressWord : addressWords) {
+                if (addressWord.startsWith(queryWord)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String[] wordsOf(String text) {
+        String trimmed = text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{Nd}]+", " ").trim();
+        return trimmed.isEmpty() ? new String[0] : trimmed.split(" ");
+    }
+
+    private static String cellOf(GeocodedAddress address) {
+        return Geohash.encode(address.getLatitude(), address.getLongitude(), Geohash.ADDRESS_PRECISION);
+    }
+
+    private static void merge(List<Entry> target, GeocodedAddress address, int uses, long lastUsedMillis) {
+        String cell = cellOf(address);
+        for (int i = 0; i < target.size(); i++) {
+            Entry entry = target.get(i);
+            if (entry.cell.equals(cell)) {
+                target.set(i, new Entry(address, entry.useCount + uses, Math.max(entry.lastUsedMillis, lastUsedMillis)));
+                return;
+            }
+        }
+        target.add(new Entry(address, uses, lastUsedMillis));
+        if (target.size() > MAX_ENTRIES) {
+            long now = System.currentTimeMillis();
+            int weakest = 0;
+            // The entry just added is never the one evicted, however low its boost
+            for (int i = 1; i < target.size() - 1; i++) {
+                if (target.get(i).boost(now) < target.get(weakest).boost(now)) {
+                    weakest = i;
+                }
+            }
+            target.remove(weakest);
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+    // Disk access, only ever called on the executor thread
+    // ---------------------------------------------------------------------------------------------------
+
+    private List<Entry> load() {
+        List<Entry> loaded = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(file.openRead()))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return loaded;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                int useCount = in.readInt();
+                long lastUsedMillis = in.readLong();
+                GeocodedAddress address = new GeocodedAddress(in.readDouble(), in.readDouble(),
+                        OrderCodec.readNullable(in), OrderCodec.readNullable(in), OrderCodec.readNullable(in),
+                        OrderCodec.readNullable(in), OrderCodec.readNullable(in), OrderCodec.readNullable(in),
+                        OrderCodec.readNullable(in), OrderCodec.readNullable(in), OrderCodec.readNullable(in));
+                loaded.add(new Entry(address, useCount, lastUsedMillis));
+            }
+        } catch (FileNotFoundException e) {
+            // No history yet
+        } catch (IOException e) {
+            Log.e("AddressHistory", "Failed to read address history", e);
+        }
+        return loaded;
+    }
+
+    private void store(List<Entry> snapshot) {
+        FileOutputStream stream = null;
+        try {
+            stream = file.startWrite();
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(snapshot.size());
+            for (Entry entry : snapshot) {
+                GeocodedAddress address = entry.address;
+                out.writeInt(entry.useCount);
+                out.writeLong(entry.lastUsedMillis);
+                out.writeDouble(address.getLatitude());
+                out.writeDouble(address.getLongitude());
+                OrderCodec.writeNullable(out, address.getAddressLine());
+                OrderCodec.writeNullable(out, address.getFeatureName());
+                OrderCodec.writeNullable(out, address.getSubThoroughfare());
+                OrderCodec.writeNullable(out, address.getThoroughfare());
+                OrderCodec.writeNullable(out, address.getSubLocality());
+                OrderCodec.writeNullable(out, address.getLocality());
+                OrderCodec.writeNullable(out, address.getAdminArea());
+                OrderCodec.writeNullable(out, address.getCountryName());
+                OrderCodec.writeNullable(out, address.getPostalCode());
+            }
+            out.flush();
+            file.finishWrite(stream);
+        } catch (IOException e) {
+            Log.e("AddressHistory", "Failed to persist address history", e);
+            if (stream != null) {
+                file.failWrite(stream);
+            }
+        }
+    }
+
+    private static final class Entry {
+        final GeocodedAddress address;
+        final String cell;
+        final int useCount;
+        final long lastUsedMillis;
+
+        Entry(GeocodedAddress address, int useCount, long lastUsedMillis) {
+            this.address = address;
+            this.cell = cellOf(address);
+            this.useCount = useCount;
+            this.lastUsedMillis = lastUsedMillis;
+        }
+
+        // Grows slowly with use and fades with days since the last use
+        double boost(long now) {
+            double ageDays = Math.max(0, now - lastUsedMillis) / DAY_MS;
+            return 0.5 * Math.log1p(useCount) + 1 / (1 + ageDays);
+        }
+    }
+
+    private static final class Suggestion {
+        final GeocodedAddress address;
+        final double score;
+
+        Suggestion(GeocodedAddress address, double score) {
+            this.address = address;
+            this.score = score;
+        }
+    }
+}
@@ -1,27 +1,37 @@
 package com.service.atozhomeservice.repository;
 
 import android.app.Application;
+import android.content.Context;
+import android.content.SharedPreferences;
 import android.util.Log;
 
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
 import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentChange;
 import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.WriteBatch;
 import com.service.atozhomeservice.model.CartItem;
 import com.service.atozhomeservice.model.CustomerData;
 import com.service.atozhomeservice.model.Order;
 import com.google.firebase.firestore.Query;
 
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
 
 /*************************************************************************************************************
  * Author         : Gunnampalli Parameswara Reddy
@@ -29,11 +39,22 @@ import java.util.Map;
  * Description    : Repository layer responsible for interfacing with Firebase Authentication and Firestore.
  *                  Handles the persistence of customer data using Firestore's document-based structure.
  *************************************************************************************************************/
-public class AuthRepository {
+public class AuthRepository implements OrderReconciler.Source<DocumentSnapshot> {
+
+    // Firestore allows 500 writes per batch; one slot is kept for removing the migrated array entries
+    private static final int MIGRATION_BATCH_SIZE = 499;
+
+    private static final String LEGACY_REQUESTS_FIELD = "serviceRequests";
+    private static final String MIGRATION_PREFERENCES = "ServiceRequestMigration"; // user ID -> migrated
+
+    // Users whose serviceRequests migration already ran in this process; main thread only
+    private static final Set<String> startedMigrations = new HashSet<>();
 
     // Instance Variables
     private final FirebaseAuth auth;
     private final FirebaseFirestore database;
+    private final OrderOutbox orderOutbox;
+    private final SharedPreferences migrationPreferences;
 
     private final MutableLiveData<List<Order>> ordersLiveData = new MutableLiveData<>();
 
@@ -50,14 +71,16 @@ public class AuthRepository {
     public AuthRepository(Application application) {
         auth = FirebaseAuth.getInstance();
         database = FirebaseFirestore.getInstance();
+        orderOutbox = OrderOutbox.getInstance(application);
+        migrationPreferences = application.getSharedPreferences(MIGRATION_PREFERENCES, Context.MODE_PRIVATE);
     }
 
     /*************************************************************************************************************
      * Author         : Gunnampalli Parameswara Reddy
      * Function Name  : saveUserDetails
-     * Description    : Appends a new service request to the "serviceRequests" array in the Firestore document
-     *                  identified by the customerId. Uses FieldValue.arrayUnion() to avoid overwriting existing
-     *                  services and merge strategy to preserve user data.
+     * Description    : Stores a new service request as its own document in the "serviceRequests" subcollection
+     *                  of the user identified by the customerId. The user document itself is not touched, so it
+     *                  stays small and requests from several screens never contend on one hot document.
      * Called By      : Any form submission logic that collects and stores customer service information
      * Parameters     : CustomerData customerData – the object containing all necessary customer service details
      * Return         : LiveData<Boolean> – true if save is successful, false otherwise
@@ -70,10 +93,6 @@ public class AuthRepository {
             return result;
         }
 
-        DocumentReference documentRef = database
-                .collection("users")
-                .document(customerData.getCustomerId());
-
         // Create a map for the new service request
         Map<String, Object> serviceEntry = new HashMap<>();
         serviceEntry.put("customerName", customerData.getCustomerName());
@@ -85,18 +104,15 @@ public class AuthRepository {
         serviceEntry.put("customerStateName", customerData.getStateName());
         serviceEntry.put("customerCountryName", customerData.getCountryName());
         serviceEntry.put("customerPinCode", customerData.getPinCode());
+        serviceEntry.put("createdAt", FieldValue.serverTimestamp());
 
-        // Use FieldValue.arrayUnion() to append the service entry
-        Map<String, Object> updateMap = new HashMap<>();
-        updateMap.put("customerId", customerData.getCustomerId()); // to ensure ID is retained
-        updateMap.put("serviceRequests", FieldValue.arrayUnion(serviceEntry));
-
-        documentRef.set(updateMap, SetOptions.merge())
+        serviceRequests(customerData.getCustomerId())
+                .add(serviceEntry)
                 .addOnCompleteListener(task -> {
                     if (task.isSuccessful()) {
                         result.setValue(true);
                     } else {
-                        Log.e("FirestoreError", "Failed to append service request", task.getException());
+                        Log.e("FirestoreError", "Failed to save service request", task.getException());
                         result.setValue(false);
                     }
                 });
@@ -104,6 +120,136 @@ public class AuthRepository {
         return result;
     }
 
+    /*************************************************************************************************************
+     * Author         : Gunnampalli Parameswara Reddy
+     * Function Name  : migrateServiceRequests
+     * Description    : Reads the user document and migrates its legacy "serviceRequests" array, if it still has
+     *                  one. Used on the signed-in path, where no copy of the user document has been read yet.
+     *                  Once a migration has completed for the user it is recorded locally, and later calls do
+     *                  not read the user document again.
+     * Called By      : BottomNavigationManager.onCreate for a signed-in user
+     * Parameters     : String userId – ID of the signed-in user.
+     * Return         : void
+     *************************************************************************************************************/
+    public void migrateServiceRequests(String userId) {
+        if (startedMigrations.contains(userId) || migrationPreferences.getBoolean(userId, false)) {
+            return;
+        }
+        database.collection("users").document(userId).get()
+                .addOnSuccessListener(this::migrateServiceRequests)
+                .addOnFailureListener(e -> Log.e("FirestoreError", "Could not read user document for migration", e));
+    }
+
+    /*************************************************************************************************************
+     * Author         : Gunnampalli Parameswara Reddy
+     * Function Name  : migrateServiceRequests
+     * Description    : Moves the legacy "serviceRequests" array of a user document into the subcollection. The
+     *                  entries are written in sequential WriteBatches of MIGRATION_BATCH_SIZE; each entry gets
+     *                  a deterministic ID derived from its content, so a migration interrupted half way can
+     *                  simply be run again without creating duplicates. The last batch removes only the entries
+     *                  read here from the array with arrayRemove, so entries an older app version appends while
+     *                  the migration runs stay in place. A transaction then deletes the field if the array is
+     *                  empty; otherwise the appended entries are moved by the next run. Entries that are not
+     *                  maps cannot be migrated and are only removed. Runs at most once per user and process.
+     * Called By      : MainActivity.checkUserExistsInFirestore when the user document still has the array, and
+     *                  migrateServiceRequests(String)
+     * Parameters     : DocumentSnapshot userDocument – The user document already read by the caller.
+     * Return         : void
+     *************************************************************************************************************/
+    public void migrateServiceRequests(DocumentSnapshot userDocument) {
+        String userId = userDocument.getId();
+        Object legacy = userDocument.get(LEGACY_REQUESTS_FIELD);
+        if (!(legacy instanceof List)) {
+            markServiceRequestsMigrated(userId); // Nothing (left) to move
+            return;
+        }
+        if (!startedMigrations.add(userId)) {
+            return;
+        }
+        List<?> read = (List<?>) legacy;
+        List<Map<?, ?>> entries = new ArrayList<>();
+        for (Object entry : read) {
+            if (entry instanceof Map) {
+                entries.add((Map<?, ?>) entry);
+            }
+        }
+        if (read.isEmpty()) {
+            finishServiceRequestMigration(userDocument.getReference());
+        } else {
+            migrateServiceRequestBatch(userDocument.getReference(), read, entries, 0);
+        }
+    }
+
+    private void migrateServiceRequestBatch(DocumentReference userRef, List<?> read, List<Map<?, ?>> entries,
+                                            int from) {
+        int to = Math.min(from + MIGRATION_BATCH_SIZE, entries.size());
+        WriteBatch batch = database.batch();
+        for (int i = from; i < to; i++) {
+            Map<String, Object> entry = new HashMap<>();
+            for (Map.Entry<?, ?> field : entries.get(i).entrySet()) {
+                entry.put(String.valueOf(field.getKey()), field.getValue());
+            }
+            entry.put("legacyIndex", i);
+            batch.set(userRef.collection("serviceRequests").document(legacyRequestId(entries.get(i))), entry);
+        }
+        boolean last = to == entries.size();
+        if (last) {
+            batch.update(userRef, LEGACY_REQUESTS_FIELD, FieldValue.arrayRemove(read.toArray()));
+        }
+        batch.commit()
+                .addOnSuccessListener(unused -> {
+                    if (last) {
+                        finishServiceRequestMigration(userRef);
+                    } else {
+                        migrateServiceRequestBatch(userRef, read, entries, to);
+                    }
+                })
+                .addOnFailureListener(e -> {
+                    startedMigrations.remove(userRef.getId()); // the next launch runs it again
+                    Log.e("FirestoreError", "Service request migration stopped at " + from, e);
+                });
+    }
+
+    // Deletes the emptied array; if entries were appended since the read, it stays for the next run
+    private void finishServiceRequestMigration(DocumentReference userRef) {
+        database.runTransaction(transaction -> {
+            Object remaining = transaction.get(userRef).get(LEGACY_REQUESTS_FIELD);
+            boolean empty = remaining instanceof List && ((List<?>) remaining).isEmpty();
+            if (empty) {
+                transaction.update(userRef, LEGACY_REQUESTS_FIELD, FieldValue.delete());
+            }
+            return empty || remaining == null;
+        }).addOnSuccessListener(done -> {
+            if (done) {
+                markServiceRequestsMigrated(userRef.getId());
+            } else {
+                startedMigrations.remove(userRef.getId());
+            }
+        }).addOnFailureListener(e -> {
+            startedMigrations.remove(userRef.getId());
+            Log.e("FirestoreError", "Could not remove the migrated serviceRequests field", e);
+        });
+    }
+
+    private void markServiceRequestsMigrated(String userId) {
+        migrationPreferences.edit().putBoolean(userId, true).apply();
+    }
+
+    // Same ID for the same entry on every run, whatever its position in the array
+    private static String legacyRequestId(Map<?, ?> entry) {
+        Map<String, String> fields = new TreeMap<>();
+        for (Map.Entry<?, ?> field : entry.entrySet()) {
+            fields.put(String.valueOf(field.getKey()), String.valueOf(field.getValue()));
+        }
+        return "legacy-" + UUID.nameUUIDFromBytes(fields.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private CollectionReference serviceRequests(String customerId) {
+        return database.collection("users")
+                .document(customerId)
+                .collection("serviceRequests");
+    }
+
     /*********************************************************************************************************
      * Interface Name  : OrderCallback
      * Description     : Callback interface for asynchronous order operations. Invoked when an order creation
@@ -128,25 +274,23 @@ public class AuthRepository {
 
     /*********************************************************************************************************
      * Method Name     : placeOrder
-     * Description     : Saves a new order to Firestore under the current user's document. Invokes the
-     *                   OrderCallback methods to indicate success or failure.
+     * Description     : Saves a new order under the current user's document through the OrderOutbox. The order
+     *                   ID doubles as idempotency key: the document is written with set() at that ID, so a
+     *                   retried or repeated submission never creates a duplicate order. An ID is generated if
+     *                   the order does not carry one. Invokes the OrderCallback once the write is acknowledged.
      * Parameters      : String userId – ID of the user placing the order.
      *                   Order order – Order object to be added.
      *                   OrderCallback callback – Listener to handle response.
      * Return          : void
      *********************************************************************************************************/
     public void placeOrder(String userId, Order order, OrderCallback callback) {
-        database.collection("users")
-                .document(userId)
-                .collection("orders")
-                .add(order)
-                .addOnSuccessListener(documentReference -> callback.onSuccess())
-                .addOnFailureListener(e -> callback.onFailure(e.getMessage()));
+        orderOutbox.enqueuePlace(userId, order, callback);
     }
     /*********************************************************************************************************
      * Method Name     : updateOrder
-     * Description     : Updates an existing order document with new field values in Firestore. Notifies via
-     *                   OrderCallback about result of the operation.
+     * Description     : Updates an existing order document with new field values through the OrderOutbox, which
+     *                   batches it with other pending order writes and retries it on transient failures.
+     *                   Notifies via OrderCallback about result of the operation.
      * Parameters      : String userId – User ID owning the order.
      *                   String orderId – ID of the order to update.
      *                   Map<String, Object> updatedFields – Fields to modify in the order.
@@ -154,13 +298,7 @@ public class AuthRepository {
      * Return          : void
      *********************************************************************************************************/
     public void updateOrder(String userId, String orderId, Map<String, Object> updatedFields, OrderCallback callback) {
-        database.collection("users")
-                .document(userId)
-                .collection("orders")
-                .document(orderId)
-                .update(updatedFields)
-                .addOnSuccessListener(unused -> callback.onSuccess())
-                .addOnFailureListener(e -> callback.onFailure(e.getMessage()));
+        orderOutbox.enqueueUpdate(userId, orderId, updatedFields, callback);
     }
 
     /*********************************************************************************************************
@@ -174,26 +312,72 @@ public class AuthRepository {
     }
 
     /*********************************************************************************************************
-     * Method Name     : fetchOrders
-     * Description     : Retrieves orders from Firestore in descending timestamp order and updates the
-     *                   observer via callback.
+     * Method Name     : fetchOrdersPage
+     * Description     : Retrieves one page of orders from Firestore in descending timestamp order, starting
+     *                   after the given cursor document. Only pageSize documents are read and deserialized,
+     *                   so the first screen renders after a single small round trip.
      * Parameters      : String userId – ID of the user whose orders should be fetched.
-     *                   OrderListCallback callback – Listener for success or failure.
+     *                   int pageSize – Maximum number of orders to return.
+     *                   DocumentSnapshot startAfter – Last document of the previous page, or null for the first.
+     *                   OrderPageCallback callback – Listener for success or failure.
      * Return          : void
      *********************************************************************************************************/
-    public void fetchOrders(String userId, OrderListCallback callback) {
-        database.collection("users")
+    public void fetchOrdersPage(String userId, int pageSize, DocumentSnapshot startAfter, OrderPageCallback callback) {
+        Query query = database.collection("users")
                 .document(userId)
                 .collection("orders")
                 .orderBy("timestamp", Query.Direction.DESCENDING)
-                .get()
+                .limit(pageSize);
+        if (startAfter != null) {
+            query = query.startAfter(startAfter);
+        }
+        query.get()
+                .addOnSuccessListener(querySnapshot -> {
+                    List<DocumentSnapshot> documents = querySnapshot.getDocuments();
+                    List<Order> orders = new ArrayList<>(documents.size());
+                    for (DocumentSnapshot doc : documents) {
+                        orders.add(OrderMapper.fromDocument(doc));
+                    }
+                    DocumentSnapshot last = documents.isEmpty() ? startAfter : documents.get(documents.size() - 1);
+                    callback.onSuccess(orders, last, documents.size() == pageSize);
+                })
+                .addOnFailureListener(e -> {
+                    callback.onFailure(e.getMessage());
+                });
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : fetchOrdersSince
+     * Description     : Retrieves one page of orders created after the given timestamp, oldest first. Used by
+     *                   the order cache reconciler to pull only documents it has not seen yet.
+     * Parameters      : String userId – ID of the user whose orders should be fetched.
+     *                   long sinceTimestamp – Only orders with a strictly greater timestamp are returned.
+     *                   int pageSize – Maximum number of orders to return.
+     *                   DocumentSnapshot startAfter – Last document of the previous page, or null for the first.
+     *                   OrderReconciler.PageCallback<DocumentSnapshot> callback – Receives the page or the failure.
+     * Return          : void
+     *********************************************************************************************************/
+    @Override
+    public void fetchOrdersSince(String userId, long sinceTimestamp, int pageSize, DocumentSnapshot startAfter,
+                                 OrderReconciler.PageCallback<DocumentSnapshot> callback) {
+        Query query = database.collection("users")
+                .document(userId)
+                .collection("orders")
+                .whereGreaterThan("timestamp", sinceTimestamp)
+                .orderBy("timestamp", Query.Direction.ASCENDING)
+                .limit(pageSize);
+        if (startAfter != null) {
+            query = query.startAfter(startAfter);
+        }
+        query.get()
                 .addOnSuccessListener(querySnapshot -> {
-                    List<Order> orders = new ArrayList<>();
-                    for (DocumentSnapshot doc : querySnapshot.getDocuments()) {
-                        Order order = doc.toObject(Order.class);
-                        orders.add(order);
+                    List<DocumentSnapshot> documents = querySnapshot.getDocuments();
+                    List<Order> orders = new ArrayList<>(documents.size());
+                    for (DocumentSnapshot doc : documents) {
+                        orders.add(OrderMapper.fromDocument(doc));
                     }
-                    callback.onSuccess(orders);
+                    DocumentSnapshot last = documents.isEmpty() ? startAfter : documents.get(documents.size() - 1);
+                    callback.onPage(orders, last, documents.size() == pageSize);
                 })
                 .addOnFailureListener(e -> {
                     callback.onFailure(e.getMessage());
@@ -201,20 +385,79 @@ public class AuthRepository {
     }
 
     /*********************************************************************************************************
-     * Interface Name  : OrderListCallback
-     * Description     : Callback interface to return a list of fetched orders or an error message.
+     * Interface Name  : OrderPageCallback
+     * Description     : Callback interface to return one page of fetched orders together with the cursor for
+     *                   the next page, or an error message.
      *********************************************************************************************************/
-    public interface OrderListCallback {
+    public interface OrderPageCallback {
         /*********************************************************************************************************
          * Method Name     : onSuccess
-         * Description     : Called when the list of orders is successfully retrieved.
-         * Parameters      : List<Order> orders – The list of fetched orders.
+         * Description     : Called when a page of orders is successfully retrieved.
+         * Parameters      : List<Order> orders – The orders of this page.
+         *                   DocumentSnapshot lastDocument – Cursor to pass as startAfter for the next page.
+         *                   boolean hasMore – False once the end of the order history has been reached.
+         * Return          : void
+         *********************************************************************************************************/
+        void onSuccess(List<Order> orders, DocumentSnapshot lastDocument, boolean hasMore);
+        /*********************************************************************************************************
+         * Method Name     : onFailure
+         * Description     : Called when page retrieval fails.
+         * Parameters      : String errorMessage – Description of the failure reason.
+         * Return          : void
+         *********************************************************************************************************/
+        void onFailure(String errorMessage);
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : listenToOrders
+     * Description     : Attaches a snapshot listener to the newest orders of the user, limited to the given
+     *                   window, and forwards only the DocumentChange deltas of each snapshot together with the
+     *                   last document, which older pages are read after. The caller owns the returned
+     *                   registration and must remove it when it no longer needs updates.
+     * Parameters      : String userId – ID of the user whose orders should be synced.
+     *                   int limit – Number of newest orders to keep in sync.
+     *                   OrderChangeListener listener – Receives deltas or the failure reason.
+     * Return          : ListenerRegistration – Handle used to detach the listener.
+     *********************************************************************************************************/
+    public ListenerRegistration listenToOrders(String userId, int limit, OrderChangeListener listener) {
+        return database.collection("users")
+                .document(userId)
+                .collection("orders")
+                .orderBy("timestamp", Query.Direction.DESCENDING)
+                .limit(limit)
+                .addSnapshotListener((querySnapshot, e) -> {
+                    if (e != null) {
+                        Log.e("FirestoreError", "Orders listener failed", e);
+                        listener.onFailure(e.getMessage());
+                        return;
+                    }
+                    if (querySnapshot != null) {
+                        List<DocumentSnapshot> documents = querySnapshot.getDocuments();
+                        listener.onOrderChanges(querySnapshot.getDocumentChanges(), documents.size(),
+                                documents.isEmpty() ? null : documents.get(documents.size() - 1));
+                    }
+                });
+    }
+
+    /*********************************************************************************************************
+     * Interface Name  : OrderChangeListener
+     * Description     : Callback interface for real-time order sync. Receives the per-snapshot deltas in the
+     *                   order Firestore reports them, or an error message.
+     *********************************************************************************************************/
+    public interface OrderChangeListener {
+        /*********************************************************************************************************
+         * Method Name     : onOrderChanges
+         * Description     : Called for every snapshot of the synced window. The first snapshot reports every
+         *                   document as ADDED.
+         * Parameters      : List<DocumentChange> changes – Deltas since the previous snapshot.
+         *                   int resultSize – Number of documents currently in the window.
+         *                   DocumentSnapshot lastDocument – Oldest document in the window, null if it is empty.
          * Return          : void
          *********************************************************************************************************/
-        void onSuccess(List<Order> orders);
+        void onOrderChanges(List<DocumentChange> changes, int resultSize, DocumentSnapshot lastDocument);
         /*********************************************************************************************************
          * Method Name     : onFailure
-         * Description     : Called when order retrieval fails.
+         * Description     : Called when the listener fails and stops delivering updates.
          * Parameters      : String errorMessage – Description of the failure reason.
          * Return          : void
          *********************************************************************************************************/
@@ -0,0 +1,239 @@
+package com.service.atozhomeservice.repository;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.util.AtomicFile;
+import android.util.Log;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.service.atozhomeservice.model.CartChange;
+import com.service.atozhomeservice.model.CartItem;
+import com.service.atozhomeservice.model.CartManager;
+import com.service.atozhomeservice.model.Money;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*************************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : CartStore
+ * Description    : Local, crash-safe persistence for the CartManager. Listens to cart deltas and writes the
+ *                  cart behind the UI: all changes arriving within WRITE_BEHIND_DELAY_MS are folded into a
+ *                  single snapshot written on a dedicated background thread through an AtomicFile, so a
+ *                  burst of quantity taps costs one fsync and a crash mid-write never corrupts the stored
+ *                  cart. On cold start the stored cart is read on the same thread and merged into the
+ *                  CartManager without blocking the UI.
+ *                  Carts are stored per signed-in user, like OrderCache. When the user changes, the previous
+ *                  user's cart is saved to their file and cleared from memory, and the new user's cart is
+ *                  loaded; while nobody is signed in the cart is neither loaded nor saved.
+ * Threading      : start() and the user switch run on the main thread; files are read and written on the
+ *                  store's own thread from copies of the cart taken under the CartManager lock.
+ * File Format    : int version, int count, then per line: mainService, subService, icon resource entry name,
+ *                  itemType (UTF strings), int quantity, double itemPrice and the catalog item ID (UTF, ""
+ *                  if none). Icons are stored by entry name because resource IDs are not stable across
+ *                  builds. Files of any other version are ignored.
+ *************************************************************************************************************/
+public class CartStore implements CartChange.Listener {
+
+    private static final String DIRECTORY = "carts";
+    private static final String LEGACY_FILE_NAME = "cart.bin"; // single, unkeyed cart of older versions
+    private static final int FORMAT_VERSION = 2;
+    private static final long WRITE_BEHIND_DELAY_MS = 500;
+
+    private static volatile CartStore instance;
+
+    private final Resources resources;
+    private final String packageName;
+    private final File directory;
+    private final File legacyFile;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cart-store");
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+    private final AtomicBoolean writeScheduled = new AtomicBoolean(false);
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    // Written on the main thread, read by writes on the store's thread
+    private volatile String userId;
+
+    private CartStore(Context context) {
+        Context appContext = context.getApplicationContext();
+        resources = appContext.getResources();
+        packageName = appContext.getPackageName();
+        directory = new File(appContext.getFilesDir(), DIRECTORY);
+        legacyFile = new File(appContext.getFilesDir(), LEGACY_FILE_NAME);
+    }
+
+    public static CartStore getInstance(Context context) {
+        if (instance == null) {
+            synchronized (CartStore.class) {
+                if (instance == null) {
+                    instance = new CartStore(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : start
+     * Description     : Attaches the store to the CartManager and follows the signed-in user, loading their
+     *                   persisted cart in the background. Safe to call repeatedly; only the first call has an
+     *                   effect.
+     * Called By       : BottomNavigationManager.onCreate
+     * Parameters      : None
+     * Return          : void
+     *********************************************************************************************************/
+    public void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        // The old cart file cannot be attributed to any user, so it is dropped rather than inherited
+        executor.execute(legacyFile::delete);
+        CartManager.getInstance().addListener(this);
+        // Called back on the main thread with the current user, then on every sign-in and sign-out
+        FirebaseAuth.getInstance().addAuthStateListener(auth -> {
+            FirebaseUser user = auth.getCurrentUser();
+            switchUser(user != null ? user.getUid() : null);
+        });
+    }
+
+    private void switchUser(String newUserId) {
+        String previous = userId;
+        if (Objects.equals(previous, newUserId)) {
+            return;
+        }
+        if (previous != null) {
+            List<CartItem> snapshot = CartManager.getInstance().copyItems();
+            writeScheduled.set(false);
+            executor.execute(() -> write(previous, snapshot));
+        }
+        userId = newUserId;
+        // Published after the switch, so the write it schedules belongs to the new user; that write is
+        // queued behind the load below and therefore saves the restored cart, not an empty one
+        CartManager.getInstance().clearCart();
+        if (newUserId != null) {
+            executor.execute(() -> load(newUserId));
+        }
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : flush
+     * Description     : Writes any pending change immediately instead of waiting for the write-behind delay.
+     * Called By       : BottomNavigationManager.onStop, before the process may be killed
+     * Parameters      : None
+     * Return          : void
+     *********************************************************************************************************/
+    public void flush() {
+        if (writeScheduled.compareAndSet(true, false)) {
+            executor.execute(this::writeCurrent);
+        }
+    }
+
+    @Override
+    public void onCartChanged(CartChange change) {
+        if (writeScheduled.compareAndSet(false, true)) {
+            executor.schedule(() -> {
+                if (writeScheduled.compareAndSet(true, false)) {
+                    writeCurrent();
+                }
+            }, WRITE_BEHIND_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void load(String owner) {
+        List<CartItem> items = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(fileFor(owner).openRead()))) {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String mainService = in.readUTF();
+                String subService = in.readUTF();
+                String iconName = in.readUTF();
+                String itemType = in.readUTF();
+                int quantity = in.readInt();
+                double price = in.readDouble();
+                String itemId = OrderCodec.readNullable(in);
+                int icon = iconName.isEmpty() ? 0 : resources.getIdentifier(iconName, "drawable", packageName);
+                items.add(new CartItem(itemId, mainService, subService, icon, itemType, quantity, Money.ofRupees(price)));
+            }
+        } catch (FileNotFoundException e) {
+            return; // Nothing stored yet
+        } catch (IOException e) {
+            Log.e("CartStore", "Failed to read stored cart", e);
+            return;
+        }
+        if (owner.equals(userId)) { // Not if the user signed out while the file was read
+            CartManager.getInstance().restoreItems(items);
+        }
+    }
+
+    private void writeCurrent() {
+        String owner = userId;
+        if (owner != null) {
+            write(owner, CartManager.getInstance().copyItems());
+        }
+    }
+
+    private void write(String owner, List<CartItem> items) {
+        AtomicFile file = fileFor(owner);
+        FileOutputStream stream = null;
+        try {
+            stream = file.startWrite();
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(items.size());
+            for (CartItem item : items) {
+                out.writeUTF(item.getMainService());
+                out.writeUTF(item.getSubService());
+                out.writeUTF(iconName(item.getIcon()));
+                out.writeUTF(item.getItemType());
+                out.writeInt(item.getQuantity());
+                out.writeDouble(item.getItemPrice());
+                OrderCodec.writeNullable(out, item.getItemId());
+            }
+            out.flush();
+            file.finishWrite(stream); // fsyncs and atomically replaces the previous snapshot
+        } catch (IOException e) {
+            Log.e("CartStore", "Failed to persist cart", e);
+            if (stream != null) {
+                file.failWrite(stream);
+            }
+        }
+    }
+
+    private AtomicFile fileFor(String owner) {
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+        return new AtomicFile(new File(directory, owner + ".bin"));
+    }
+
+    private String iconName(int icon) {
+        if (icon == 0) {
+            return "";
+        }
+        try {
+            return resources.getResourceEntryName(icon);
+        } catch (Resources.NotFoundException e) {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,463 @@
+package com.service.atozhomeservice.repository;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.AtomicFile;
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.service.atozhomeservice.model.CatalogNode;
+import com.service.atozhomeservice.model.Money;
+import com.service.atozhomeservice.model.ServiceSearchIndex;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*************************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : CatalogRepository
+ * Description    : Source of the service catalog, replacing the label and price arrays that were hard-coded in
+ *                  the fragments. The catalog is split into a small index (the categories with their content
+ *                  versions) and one document per category (its sub-services and priced items):
+ *                    - the index is loaded on first use, a category only when a screen asks for it;
+ *                    - each document comes from the copy bundled in assets/catalog or from the copy downloaded
+ *                      to files/catalog, whichever carries the higher version;
+ *                    - refresh() reads the remote index from Firestore and downloads only the categories whose
+ *                      version changed, much like an ETag check; observers then receive the new tree.
+ *                  Parsed documents become immutable CatalogNode trees, so find() resolves any ID in constant
+ *                  time and screens reuse the same lists however often they are opened. Adding or repricing
+ *                  services only requires publishing new catalog documents.
+ *                  getAllCategories() and getSearchIndex() load every category; the full list and the
+ *                  ServiceSearchIndex built from it are republished whenever a category changes.
+ *                  Selections recorded through recordSelection() are kept in SharedPreferences and rank
+ *                  popular services first.
+ * Threading      : getCatalog(), getCategory(), getAllCategories(), getSearchIndex() and refresh() must be
+ *                  called on the main thread; find() is safe on any thread. Loading and parsing run on a
+ *                  single background thread.
+ * File Format    : JSON. Index: {"version", "categories": [{"id", "label", "icon", "version"}]}, where a
+ *                  category version of 0 means it has no services yet. Category: {"id", "label", "icon",
+ *                  "version", "services": [{"id", "label", "icon", "items": [{"id", "label", "icon",
+ *                  "price"}]}], "retired": [{"id", "label"}]}. Icons are drawable resource names.
+ *                  Orders store item IDs only, so an item ID is never reused and its label never changes: a
+ *                  renamed item is published under a new ID, and a withdrawn item moves to "retired", where
+ *                  find() still resolves it but no screen lists it. Remote copies are the Firestore documents
+ *                  catalog/index and catalog/{categoryId}, holding the fields version (number) and json (string).
+ *************************************************************************************************************/
+public class CatalogRepository {
+
+    private static final String INDEX_ID = "index";
+    private static final String ASSET_DIR = "catalog/";
+    private static final String COLLECTION = "catalog";
+    // Child list keys of the index, a category and a sub-service
+    private static final String[] CHILD_KEYS = {"categories", "services", "items"};
+
+    private static volatile CatalogRepository instance;
+
+    private final Context appContext;
+    private final File cacheDir;
+    private final FirebaseFirestore database = FirebaseFirestore.getInstance();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog");
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+
+    private final MutableLiveData<CatalogNode> catalog = new MutableLiveData<>();
+    private final MutableLiveData<List<CatalogNode>> allCategories = new MutableLiveData<>();
+    private final MutableLiveData<ServiceSearchIndex> searchIndex = new MutableLiveData<>();
+    private final Map<String, MutableLiveData<CatalogNode>> categories = new ConcurrentHashMap<>();
+    private final Map<String, CatalogNode> loadedCategories = new ConcurrentHashMap<>();
+    private final Map<String, Integer> popularity = new ConcurrentHashMap<>();
+    private final SharedPreferences popularityPreferences;
+    private volatile CatalogNode index;
+
+    // Main thread only
+    private boolean indexRequested;
+    private boolean allRequested;
+
+    // Executor only
+    private final Map<String, Integer> iconIds = new HashMap<>();
+    private boolean allLoaded;
+
+    private CatalogRepository(Context context) {
+        appContext = context.getApplicationContext();
+        cacheDir = new File(appContext.getFilesDir(), "catalog");
+        popularityPreferences = appContext.getSharedPreferences("CatalogPopularity", Context.MODE_PRIVATE);
+        executor.execute(() -> {
+            for (Map.Entry<String, ?> entry : popularityPreferences.getAll().entrySet()) {
+                if (entry.getValue() instanceof Integer) {
+                    popularity.merge(entry.getKey(), (Integer) entry.getValue(), Integer::sum);
+                }
+            }
+        });
+    }
+
+    public static CatalogRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (CatalogRepository.class) {
+                if (instance == null) {
+                    instance = new CatalogRepository(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : getCatalog
+     * Description     : Returns the catalog index, loading it on first use. Its children are the categories,
+     *                   without their services.
+     * Parameters      : None
+     * Return          : LiveData<CatalogNode> – Current index; updated after a refresh.
+     *********************************************************************************************************/
+    public LiveData<CatalogNode> getCatalog() {
+        if (!indexRequested) {
+            indexRequested = true;
+            executor.execute(this::ensureIndex);
+        }
+        return catalog;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : getCategory
+     * Description     : Returns one category with its sub-services and items, loading it on first use.
+     * Parameters      : String categoryId – ID of the category.
+     * Return          : LiveData<CatalogNode> – Category tree, indexed for find(); updated after a refresh.
+     *********************************************************************************************************/
+    public LiveData<CatalogNode> getCategory(String categoryId) {
+        MutableLiveData<CatalogNode> data = categories.get(categoryId);
+        if (data == null) {
+            data = new MutableLiveData<>();
+            categories.put(categoryId, data);
+            executor.execute(() -> loadCategory(categoryId));
+        }
+        return data;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : find
+     * Description     : Resolves a catalog ID in constant time, from the index for category IDs and from the
+     *                   loaded category otherwise.
+     * Parameters      : String id – Catalog ID.
+     * Return          : CatalogNode – The node, or null if it is unknown or its category is not loaded yet.
+     *********************************************************************************************************/
+    public CatalogNode find(String id) {
+        String categoryId = CatalogNode.categoryIdOf(id);
+        if (categoryId.equals(id)) {
+            CatalogNode current = index;
+            return current == null ? null : current.find(id);
+        }
+        CatalogNode category = loadedCategories.get(categoryId);
+        return category == null ? null : category.find(id);
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : getAllCategories
+     * Description     : Returns every category with its sub-services and items. The first call loads all
+     *                   categories in the background, after which find() resolves any catalog ID.
+     * Parameters      : None
+     * Return          : LiveData<List<CatalogNode>> – Categories in index order; updated when one changes.
+     *********************************************************************************************************/
+    public LiveData<List<CatalogNode>> getAllCategories() {
+        loadAllCategories();
+        return allCategories;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : getSearchIndex
+     * Description     : Returns a search index over every category, sub-service and item. The first call loads
+     *                   all categories in the background; the index is rebuilt when one of them changes.
+     * Parameters      : None
+     * Return          : LiveData<ServiceSearchIndex> – Current search index.
+     *********************************************************************************************************/
+    public LiveData<ServiceSearchIndex> getSearchIndex() {
+        loadAllCategories();
+        return searchIndex;
+    }
+
+    private void loadAllCategories() {
+        if (!allRequested) {
+            allRequested = true;
+            executor.execute(() -> {
+                for (CatalogNode category : ensureIndex().getChildren()) {
+                    if (!loadedCategories.containsKey(category.getId())) {
+                        loadCategory(category.getId());
+                    }
+                }
+                allLoaded = true;
+                publishAllCategories();
+            });
+        }
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : recordSelection
+     * Description     : Counts a user selection of a catalog entry towards its search ranking.
+     * Parameters      : String id – Catalog ID of the selected entry.
+     * Return          : void
+     *********************************************************************************************************/
+    public void recordSelection(String id) {
+        int count = popularity.merge(id, 1, Integer::sum);
+        popularityPreferences.edit().putInt(id, count).apply();
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : getPopularity
+     * Description     : Returns the selection counts by catalog ID, for ranking search results.
+     * Parameters      : None
+     * Return          : Map<String, Integer> – Live, read-only view of the counts.
+     *********************************************************************************************************/
+    public Map<String, Integer> getPopularity() {
+        return Collections.unmodifiableMap(popularity);
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : refresh
+     * Description     : Checks the remote catalog version and, if it is newer, stores and publishes the new
+     *                   index. Categories whose version changed are downloaded again when next shown.
+     * Parameters      : None
+     * Return          : void
+     *********************************************************************************************************/
+    public void refresh() {
+        database.collection(COLLECTION).document(INDEX_ID).get()
+                .addOnSuccessListener(document -> {
+                    Long version = document.getLong("version");
+                    String json = document.getString("json");
+                    if (version == null || json == null) {
+                        return;
+                    }
+                    executor.execute(() -> {
+                        if (version > ensureIndex().getVersion()) {
+                            CatalogNode remote = parse(json, 0);
+                            if (remote != null) {
+                                write(INDEX_ID, json);
+                                publishIndex(remote);
+                            }
+                        }
+                    });
+                })
+                .addOnFailureListener(e -> Log.w("CatalogRepository", "Catalog refresh failed", e));
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+    // Loading, only ever run on the executor
+    // ---------------------------------------------------------------------------------------------------
+
+    private CatalogNode ensureIndex() {
+        if (index == null) {
+            CatalogNode loaded = newest(INDEX_ID, 0);
+            publishIndex(loaded != null ? loaded : CatalogNode.root(INDEX_ID, "", 0, 0, new ArrayList<>()));
+        }
+        return index;
+    }
+
+    private void publishIndex(CatalogNode newIndex) {
+        index = newIndex;
+        catalog.postValue(newIndex);
+        // Reload the categories that are loaded but no longer current
+        for (Map.Entry<String, CatalogNode> entry : loadedCategories.entrySet()) {
+            CatalogNode listed = newIndex.find(entry.getKey());
+            if (listed == null || listed.getVersion() != entry.getValue().getVersion()) {
+                String categoryId = entry.getKey();
+                executor.execute(() -> loadCategory(categoryId));
+            }
+        }
+    }
+
+    private void loadCategory(String categoryId) {
+        CatalogNode listed = ensureIndex().find(categoryId);
+        long expected = listed != null ? listed.getVersion() : 0;
+        CatalogNode category = newest(categoryId, 1);
+        if (category == null ? expected > 0 : category.getVersion() < expected) {
+            fetchCategory(categoryId, expected);
+        }
+        if (category == null) {
+            // Nothing local yet: show the category itself until its services arrive
+            category = listed != null
+                    ? CatalogNode.root(categoryId, listed.getLabel(), listed.getIcon(), 0, new ArrayList<>())
+                    : CatalogNode.root(categoryId, "", 0, 0, new ArrayList<>());
+        }
+        publishCategory(category);
+    }
+
+    private void publishCategory(CatalogNode category) {
+        loadedCategories.put(category.getId(), category);
+        MutableLiveData<CatalogNode> data = categories.get(category.getId());
+        if (data != null) {
+            data.postValue(category);
+        }
+        if (allLoaded) {
+            publishAllCategories();
+        }
+    }
+
+    private void publishAllCategories() {
+        List<CatalogNode> all = new ArrayList<>();
+        for (CatalogNode listed : ensureIndex().getChildren()) {
+            CatalogNode category = loadedCategories.get(listed.getId());
+            all.add(category != null ? category : listed);
+        }
+        allCategories.postValue(Collections.unmodifiableList(all));
+        searchIndex.postValue(ServiceSearchIndex.build(all));
+    }
+
+    private void fetchCategory(String categoryId, long expected) {
+        database.collection(COLLECTION).document(categoryId).get()
+                .addOnSuccessListener(document -> {
+                    Long version = document.getLong("version");
+                    String json = document.getString("json");
+                    if (version == null || json == null || version < expected) {
+                        return;
+                    }
+                    executor.execute(() -> {
+                        CatalogNode remote = parse(json, 1);
+                        if (remote != null) {
+                            write(categoryId, json);
+                            publishCategory(remote);
+                        }
+                    });
+                })
+                .addOnFailureListener(e -> Log.w("CatalogRepository", "Failed to download category " + categoryId, e));
+    }
+
+    // Bundled or downloaded copy of a document, whichever is newer
+    private CatalogNode newest(String documentId, int level) {
+        CatalogNode bundled = parse(readAsset(documentId), level);
+        CatalogNode downloaded = parse(read(documentId), level);
+        if (bundled == null) {
+            return downloaded;
+        }
+        return downloaded != null && downloaded.getVersion() > bundled.getVersion() ? downloaded : bundled;
+    }
+
+    private CatalogNode parse(String json, int level) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            JSONObject object = new JSONObject(json);
+            return CatalogNode.root(object.optString("id", INDEX_ID), object.optString("label"),
+                    iconOf(object.optString("icon")), object.optLong("version"), parseChildren(object, level),
+                    parseRetired(object));
+        } catch (JSONException e) {
+            Log.e("CatalogRepository", "Malformed catalog document", e);
+            return null;
+        }
+    }
+
+    // Withdrawn items of a category, kept so that orders referring to them keep their labels
+    private List<CatalogNode> parseRetired(JSONObject category) throws JSONException {
+        JSONArray array = category.optJSONArray("retired");
+        List<CatalogNode> retired = new ArrayList<>(array == null ? 0 : array.length());
+        for (int i = 0; array != null && i < array.length(); i++) {
+            JSONObject object = array.getJSONObject(i);
+            retired.add(new CatalogNode(object.getString("id"), object.getString("label"), 0, Money.ZERO, 0,
+                    new ArrayList<>()));
+        }
+        return retired;
+    }
+
+    private List<CatalogNode> parseChildren(JSONObject parent, int level) throws JSONException {
+        JSONArray array = level < CHILD_KEYS.length ? parent.optJSONArray(CHILD_KEYS[level]) : null;
+        List<CatalogNode> children = new ArrayList<>(array == null ? 0 : array.length());
+        for (int i = 0; array != null && i < array.length(); i++) {
+            JSONObject object = array.getJSONObject(i);
+            // The index lists categories without descending into them
+            List<CatalogNode> grandChildren = level == 0 ? new ArrayList<>() : parseChildren(object, level + 1);
+            children.add(new CatalogNode(object.getString("id"), object.getString("label"),
+                    iconOf(object.optString("icon")), Money.ofRupees(object.optDouble("price", 0)),
+                    object.optLong("version"), grandChildren));
+        }
+        return children;
+    }
+
+    private int iconOf(String name) {
+        if (name.isEmpty()) {
+            return 0;
+        }
+        Integer id = iconIds.get(name);
+        if (id == null) {
+            id = appContext.getResources().getIdentifier(name, "drawable", appContext.getPackageName());
+            if (id == 0) {
+                Log.w("CatalogRepository", "Unknown catalog icon " + name);
+            }
+            iconIds.put(name, id);
+        }
+        return id;
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+    // Storage
+    // ---------------------------------------------------------------------------------------------------
+
+    private String readAsset(String documentId) {
+        try (InputStream in = appContext.getAssets().open(ASSET_DIR + documentId + ".json")) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                bytes.write(buffer, 0, count);
+            }
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        } catch (FileNotFoundException e) {
+            return null; // Category without bundled services
+        } catch (IOException e) {
+            Log.e("CatalogRepository", "Failed to read bundled " + documentId, e);
+            return null;
+        }
+    }
+
+    private String read(String documentId) {
+        try {
+            return new String(fileOf(documentId).readFully(), StandardCharsets.UTF_8);
+        } catch (FileNotFoundException e) {
+            return null; // Never downloaded
+        } catch (IOException e) {
+            Log.e("CatalogRepository", "Failed to read downloaded " + documentId, e);
+            return null;
+        }
+    }
+
+    private void write(String documentId, String json) {
+        if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+            Log.e("CatalogRepository", "Failed to create " + cacheDir);
+            return;
+        }
+        AtomicFile file = fileOf(documentId);
+        FileOutputStream stream = null;
+        try {
+            stream = file.startWrite();
+            stream.write(json.getBytes(StandardCharsets.UTF_8));
+            file.finishWrite(stream);
+        } catch (IOException e) {
+            Log.e("CatalogRepository", "Failed to store " + documentId, e);
+            if (stream != null) {
+                file.failWrite(stream);
+            }
+        }
+    }
+
+    private AtomicFile fileOf(String documentId) {
+        return new AtomicFile(new File(cacheDir, documentId + ".json"));
+    }
+}
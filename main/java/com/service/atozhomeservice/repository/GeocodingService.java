@@ -0,0 +1,359 @@
+package com.service.atozhomeservice.repository;
+
+import android.content.Context;
+import android.location.Address;
+import android.location.Geocoder;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.AtomicFile;
+import android.util.Log;
+import android.util.LruCache;
+
+import com.service.atozhomeservice.model.GeocodedAddress;
+import com.service.atozhomeservice.model.Geohash;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*************************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : GeocodingService
+ * Description    : Asynchronous, cached front for the platform Geocoder, which blocks on network I/O and must
+ *                  never run on the main thread. Lookups go through three tiers:
+ *                    1. an in-memory LruCache, answered synchronously on the main thread;
+ *                    2. a persistent cache on disk, so repeat launches from the same place cost no lookup;
+ *                    3. the Geocoder itself, on a small background pool.
+ *                  Reverse lookups are keyed on the geohash cell of the coordinate, so taps a few metres
+ *                  apart share one result. Concurrent requests for the same key are deduplicated: only one
+ *                  Geocoder call is made and every waiting callback receives its result.
+ *                  suggest() serves search-as-you-type: several matches per query, kept in memory only, and
+ *                  cancellable, so a lookup for text the user has already typed past is dropped before it
+ *                  reaches the Geocoder or, if already running, before its result is delivered.
+ * Threading      : Public methods and callbacks run on the main thread.
+ * File Format    : int version, int count, then per entry: key (UTF) followed by double latitude,
+ *                  double longitude and nine address components (UTF, "" for null).
+ *************************************************************************************************************/
+public class GeocodingService {
+
+    private static final String FILE_NAME = "geocode_cache.bin";
+    private static final int FORMAT_VERSION = 1;
+    private static final int MEMORY_CACHE_SIZE = 64;
+    private static final int SUGGESTION_CACHE_SIZE = 32;
+    private static final int DISK_CACHE_SIZE = 256;
+    private static final long WRITE_BEHIND_DELAY_MS = 1000;
+
+    private static volatile GeocodingService instance;
+
+    private final Geocoder geocoder;
+    private final AtomicFile file;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final LruCache<String, GeocodedAddress> memoryCache = new LruCache<>(MEMORY_CACHE_SIZE);
+    private final LruCache<String, List<GeocodedAddress>> suggestionCache = new LruCache<>(SUGGESTION_CACHE_SIZE);
+    private final ExecutorService lookupExecutor = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "geocoder");
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+    private final ScheduledExecutorService diskExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "geocode-cache");
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    // Main thread only
+    private final Map<String, List<AddressCallback>> waiters = new HashMap<>();
+
+    // Disk executor only
+    private LinkedHashMap<String, GeocodedAddress> diskCache;
+    private boolean writeScheduled;
+
+    /*********************************************************************************************************
+     * Interface Name  : AddressCallback
+     * Description     : Receives the result of a lookup on the main thread.
+     *********************************************************************************************************/
+    public interface AddressCallback {
+        void onSuccess(GeocodedAddress address);
+        void onFailure(String errorMessage);
+    }
+
+    /*********************************************************************************************************
+     * Interface Name  : SuggestionsCallback
+     * Description     : Receives the matches of a suggest() query on the main thread, unless it was cancelled.
+     *********************************************************************************************************/
+    public interface SuggestionsCallback {
+        void onSuggestions(String query, List<GeocodedAddress> suggestions);
+    }
+
+    /*********************************************************************************************************
+     * Inner Class     : SuggestionRequest
+     * Description     : Handle of a running suggest() query.
+     *********************************************************************************************************/
+    public static final class SuggestionRequest {
+        private volatile boolean cancelled;
+        private Future<?> future;
+
+        public void cancel() {
+            cancelled = true;
+            if (future != null) {
+                // Not interrupted: a Geocoder call already in flight is left to finish, its result dropped
+                future.cancel(false);
+            }
+        }
+    }
+
+    private interface Lookup {
+        List<Address> run() throws IOException;
+    }
+
+    private GeocodingService(Context context) {
+        Context appContext = context.getApplicationContext();
+        geocoder = new Geocoder(appContext, Locale.getDefault());
+        file = new AtomicFile(new File(appContext.getFilesDir(), FILE_NAME));
+    }
+
+    public static GeocodingService getInstance(Context context) {
+        if (instance == null) {
+            synchronized (GeocodingService.class) {
+                if (instance == null) {
+                    instance = new GeocodingService(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : reverseGeocode
+     * Description     : Resolves the address of a coordinate. Answered from the cache when the coordinate's
+     *                   geohash cell has been resolved before; a memory hit calls back synchronously.
+     * Parameters      : double latitude – Latitude in degrees.
+     *                   double longitude – Longitude in degrees.
+     *                   AddressCallback callback – Receives the address on the main thread.
+     * Return          : void
+     *********************************************************************************************************/
+    public void reverseGeocode(double latitude, double longitude, AddressCallback callback) {
+        String key = "r:" + Geohash.encode(latitude, longitude, Geohash.ADDRESS_PRECISION);
+        resolve(key, callback, () -> geocoder.getFromLocation(latitude, longitude, 1));
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : forwardGeocode
+     * Description     : Resolves a free-text place query to its best matching address. Queries are cached
+     *                   case- and whitespace-insensitively.
+     * Parameters      : String query – Place name or address typed by the user.
+     *                   AddressCallback callback – Receives the address on the main thread.
+     * Return          : void
+     *********************************************************************************************************/
+    public void forwardGeocode(String query, AddressCallback callback) {
+        String normalized = query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        resolve("q:" + normalized, callback, () -> geocoder.getFromLocationName(query, 1));
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : suggest
+     * Description     : Looks up the best matches of a partial address query on the lookup pool. Results are
+     *                   cached in memory per normalized query, and a cache hit calls back synchronously.
+     * Parameters      : String query – Text typed so far.
+     *                   int limit – Maximum number of matches.
+     *                   SuggestionsCallback callback – Receives the matches, possibly none, on the main thread.
+     * Return          : SuggestionRequest – Handle to cancel the lookup once the query is stale.
+     *********************************************************************************************************/
+    public SuggestionRequest suggest(String query, int limit, SuggestionsCallback callback) {
+        SuggestionRequest request = new SuggestionRequest();
+        String key = query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT) + '|' + limit;
+        List<GeocodedAddress> cached = suggestionCache.get(key);
+        if (cached != null) {
+            callback.onSuggestions(query, cached);
+            return request;
+        }
+        request.future = lookupExecutor.submit(() -> {
+            List<GeocodedAddress> suggestions = new ArrayList<>();
+            try {
+                List<Address> addresses = Geocoder.isPresent() ? geocoder.getFromLocationName(query, limit) : null;
+                if (addresses != null) {
+                    for (Address address : addresses) {
+                        suggestions.add(GeocodedAddress.from(address));
+                    }
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                Log.e("GeocodingService", "Suggestion lookup failed", e);
+                return; // Not cached, so the next keystroke retries
+            }
+            mainHandler.post(() -> {
+                suggestionCache.put(key, suggestions);
+                if (!request.cancelled) {
+                    callback.onSuggestions(query, suggestions);
+                }
+            });
+        });
+        return request;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : peek
+     * Description     : Returns the cached address of a coordinate's cell from memory without any lookup.
+     * Parameters      : double latitude – Latitude in degrees.
+     *                   double longitude – Longitude in degrees.
+     * Return          : GeocodedAddress – Cached address, or null if the cell is not in memory.
+     *********************************************************************************************************/
+    public GeocodedAddress peek(double latitude, double longitude) {
+        return memoryCache.get("r:" + Geohash.encode(latitude, longitude, Geohash.ADDRESS_PRECISION));
+    }
+
+    private void resolve(String key, AddressCallback callback, Lookup lookup) {
+        GeocodedAddress cached = memoryCache.get(key);
+        if (cached != null) {
+            callback.onSuccess(cached);
+            return;
+        }
+        List<AddressCallback> pending = waiters.get(key);
+        if (pending != null) {
+            pending.add(callback); // Same lookup already running
+            return;
+        }
+        pending = new ArrayList<>();
+        pending.add(callback);
+        waiters.put(key, pending);
+
+        diskExecutor.execute(() -> {
+            GeocodedAddress stored = diskCache().get(key);
+            if (stored != null) {
+                mainHandler.post(() -> deliver(key, stored, null));
+                return;
+            }
+            lookupExecutor.execute(() -> {
+                try {
+                    List<Address> addresses = Geocoder.isPresent() ? lookup.run() : null;
+                    if (addresses == null || addresses.isEmpty()) {
+                        mainHandler.post(() -> deliver(key, null, "No address found"));
+                        return;
+                    }
+                    GeocodedAddress address = GeocodedAddress.from(addresses.get(0));
+                    diskExecutor.execute(() -> {
+                        diskCache().put(key, address);
+                        scheduleWrite();
+                    });
+                    mainHandler.post(() -> deliver(key, address, null));
+                } catch (IOException | IllegalArgumentException e) {
+                    Log.e("GeocodingService", "Geocoder lookup failed", e);
+                    mainHandler.post(() -> deliver(key, null, e.getMessage()));
+                }
+            });
+        });
+    }
+
+    private void deliver(String key, GeocodedAddress address, String error) {
+        if (address != null) {
+            memoryCache.put(key, address);
+        }
+        List<AddressCallback> callbacks = waiters.remove(key);
+        if (callbacks == null) {
+            return;
+        }
+        for (AddressCallback callback : callbacks) {
+            if (address != null) {
+                callback.onSuccess(address);
+            } else {
+                callback.onFailure(error);
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+    // Persistent tier, only ever touched on the disk executor
+    // ---------------------------------------------------------------------------------------------------
+
+    private LinkedHashMap<String, GeocodedAddress> diskCache() {
+        if (diskCache == null) {
+            diskCache = new LinkedHashMap<String, GeocodedAddress>(DISK_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, GeocodedAddress> eldest) {
+                    return size() > DISK_CACHE_SIZE;
+                }
+            };
+            load(diskCache);
+        }
+        return diskCache;
+    }
+
+    private void scheduleWrite() {
+        if (!writeScheduled) {
+            writeScheduled = true;
+            diskExecutor.schedule(() -> {
+                writeScheduled = false;
+                store(diskCache);
+            }, WRITE_BEHIND_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void load(Map<String, GeocodedAddress> target) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(file.openRead()))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                double latitude = in.readDouble();
+                double longitude = in.readDouble();
+                target.put(key, new GeocodedAddress(latitude, longitude,
+                        OrderCodec.readNullable(in), OrderCodec.readNullable(in), OrderCodec.readNullable(in),
+                        OrderCodec.readNullable(in), OrderCodec.readNullable(in), OrderCodec.readNullable(in),
+                        OrderCodec.readNullable(in), OrderCodec.readNullable(in), OrderCodec.readNullable(in)));
+            }
+        } catch (FileNotFoundException e) {
+            // Nothing cached yet
+        } catch (IOException e) {
+            Log.e("GeocodingService", "Failed to read geocode cache", e);
+        }
+    }
+
+    private void store(Map<String, GeocodedAddress> entries) {
+        FileOutputStream stream = null;
+        try {
+            stream = file.startWrite();
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, GeocodedAddress> entry : entries.entrySet()) {
+                GeocodedAddress address = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeDouble(address.getLatitude());
+                out.writeDouble(address.getLongitude());
+                OrderCodec.writeNullable(out, address.getAddressLine());
+                OrderCodec.writeNullable(out, address.getFeatureName());
+                OrderCodec.writeNullable(out, address.getSubThoroughfare());
+                OrderCodec.writeNullable(out, address.getThoroughfare());
+                OrderCodec.writeNullable(out, address.getSubLocality());
+                OrderCodec.writeNullable(out, address.getLocality());
+                OrderCodec.writeNullable(out, address.getAdminArea());
+                OrderCodec.writeNullable(out, address.getCountryName());
+                OrderCodec.writeNullable(out, address.getPostalCode());
+            }
+            out.flush();
+            file.finishWrite(stream);
+        } catch (IOException e) {
+            Log.e("GeocodingService", "Failed to write geocode cache", e);
+            if (stream != null) {
+                file.failWrite(stream);
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.service.atozhomeservice.repository;
+
+import android.Manifest;
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.content.pm.PackageManager;
+import android.location.Location;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.core.content.ContextCompat;
+
+import com.google.android.gms.location.FusedLocationProviderClient;
+import com.google.android.gms.location.LocationServices;
+import com.google.android.gms.location.Priority;
+import com.google.android.gms.tasks.CancellationTokenSource;
+
+/*************************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : LocationAcquirer
+ * Description    : Obtains one location fix quickly and cheaply, for startup on devices where GPS is slow
+ *                  indoors. Three sources race under one overall deadline:
+ *                    - the fix this class last delivered, remembered across launches (CACHED);
+ *                    - the fused provider's last known location (LAST_KNOWN);
+ *                    - a balanced-power getCurrentLocation, which uses Wi-Fi and cell rather than GPS (CURRENT).
+ *                  The first fix that is both fresh and accurate enough wins at once. Otherwise the best fix
+ *                  seen is delivered when every source has answered or the deadline passes, whichever comes
+ *                  first. Finishing, timing out or cancelling always cancels the pending current-location
+ *                  request; no continuous location updates are ever registered, so none can leak.
+ *                  Time-to-fix, accuracy and the winning source are logged and kept as metrics.
+ * Threading      : Public methods and callbacks run on the main thread.
+ *************************************************************************************************************/
+public class LocationAcquirer {
+
+    private static final String TAG = "LocationAcquirer";
+    private static final String PREFERENCES = "LocationFix";
+
+    private static final long DEADLINE_MS = 8000;
+    private static final long FRESH_FIX_AGE_MS = 2 * 60 * 1000;
+    private static final long MAX_FIX_AGE_MS = 6 * 60 * 60 * 1000;
+    private static final float GOOD_ACCURACY_M = 100;
+
+    /*********************************************************************************************************
+     * Enum Name       : Source
+     * Description     : Where a delivered fix came from.
+     *********************************************************************************************************/
+    public enum Source { CACHED, LAST_KNOWN, CURRENT }
+
+    /*********************************************************************************************************
+     * Interface Name  : FixCallback
+     * Description     : Receives the outcome of an acquisition on the main thread, exactly once, unless the
+     *                   acquisition is cancelled first.
+     *********************************************************************************************************/
+    public interface FixCallback {
+        void onFix(Location location, Source source);
+        void onFailure(String errorMessage);
+    }
+
+    private static volatile LocationAcquirer instance;
+
+    private final Context appContext;
+    private final FusedLocationProviderClient client;
+    private final SharedPreferences preferences;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Metrics, main thread only
+    private final int[] winCounts = new int[Source.values().length];
+    private int timeoutCount;
+    private int failureCount;
+    private long lastTimeToFixMs = -1;
+    private float lastAccuracyM = -1;
+
+    private LocationAcquirer(Context context) {
+        appContext = context.getApplicationContext();
+        client = LocationServices.getFusedLocationProviderClient(appContext);
+        preferences = appContext.getSharedPreferences(PREFERENCES, Context.MODE_PRIVATE);
+    }
+
+    public static LocationAcquirer getInstance(Context context) {
+        if (instance == null) {
+            synchronized (LocationAcquirer.class) {
+                if (instance == null) {
+                    instance = new LocationAcquirer(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    public static boolean hasLocationPermission(Context context) {
+        return ContextCompat.checkSelfPermission(context, Manifest.permission.ACCESS_FINE_LOCATION) == PackageManager.PERMISSION_GRANTED
+                || ContextCompat.checkSelfPermission(context, Manifest.permission.ACCESS_COARSE_LOCATION) == PackageManager.PERMISSION_GRANTED;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : acquire
+     * Description     : Starts racing the location sources. Fails at once when location permission has not
+     *                   been granted.
+     * Parameters      : FixCallback callback – Receives the winning fix or the failure.
+     * Return          : Acquisition – Handle to cancel the acquisition, e.g. when the screen goes away.
+     *********************************************************************************************************/
+    public Acquisition acquire(FixCallback callback) {
+        Acquisition acquisition = new Acquisition(callback);
+        if (hasLocationPermission(appContext)) {
+            acquisition.start();
+        } else {
+            acquisition.fail("Location permission not granted");
+        }
+        return acquisition;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : getWinCount / getTimeoutCount / getFailureCount / getLastTimeToFixMs / getLastAccuracyM
+     * Description     : Acquisition metrics for this process. Time-to-fix is measured from acquire() to the
+     *                   callback; accuracy is the radius reported with the delivered fix.
+     * Parameters      : Source source – Source whose wins to count (getWinCount only).
+     * Return          : int / long / float – Metric value; -1 for the last values before the first fix.
+     *********************************************************************************************************/
+    public int getWinCount(Source source) {
+        return winCounts[source.ordinal()];
+    }
+
+    public int getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    public long getLastTimeToFixMs() {
+        return lastTimeToFixMs;
+    }
+
+    public float getLastAccuracyM() {
+        return lastAccuracyM;
+    }
+
+    private static long ageMs(Location location) {
+        return System.currentTimeMillis() - location.getTime();
+    }
+
+    private static float accuracyOf(Location location) {
+        return location.hasAccuracy() ? location.getAccuracy() : Float.MAX_VALUE;
+    }
+
+    private static boolean isGoodEnough(Location location) {
+        return ageMs(location) <= FRESH_FIX_AGE_MS && accuracyOf(location) <= GOOD_ACCURACY_M;
+    }
+
+    private static boolean isBetter(Location candidate, Location current) {
+        boolean candidateFresh = ageMs(candidate) <= FRESH_FIX_AGE_MS;
+        boolean currentFresh = ageMs(current) <= FRESH_FIX_AGE_MS;
+        if (candidateFresh != currentFresh) {
+            return candidateFresh;
+        }
+        return accuracyOf(candidate) < accuracyOf(current);
+    }
+
+    private Location readCachedFix() {
+        if (!preferences.contains("time")) {
+            return null;
+        }
+        Location location = new Location("cached");
+        location.setLatitude(Double.longBitsToDouble(preferences.getLong("latitude", 0)));
+        location.setLongitude(Double.longBitsToDouble(preferences.getLong("longitude", 0)));
+        location.setTime(preferences.getLong("time", 0));
+        if (preferences.contains("accuracy")) {
+            location.setAccuracy(preferences.getFloat("accuracy", 0));
+        }
+        return location;
+    }
+
+    private void storeFix(Location location) {
+        SharedPreferences.Editor editor = preferences.edit()
+                .putLong("latitude", Double.doubleToRawLongBits(location.getLatitude()))
+                .putLong("longitude", Double.doubleToRawLongBits(location.getLongitude()))
+                .putLong("time", location.getTime());
+        if (location.hasAccuracy()) {
+            editor.putFloat("accuracy", location.getAccuracy());
+        } else {
+            editor.remove("accuracy");
+        }
+        editor.apply();
+    }
+
+    /*********************************************************************************************************
+     * Inner Class     : Acquisition
+     * Description     : One race between the location sources. Late answers from losing sources are ignored.
+     *********************************************************************************************************/
+    public final class Acquisition {
+
+        private final FixCallback callback;
+        private final long startElapsedMs = SystemClock.elapsedRealtime();
+        private final CancellationTokenSource currentRequest = new CancellationTokenSource();
+        private final Runnable deadline = this::onDeadline;
+        private int pendingSources;
+        private Location best;
+        private Source bestSource;
+        private boolean finished;
+
+        private Acquisition(FixCallback callback) {
+            this.callback = callback;
+        }
+
+        /*****************************************************************************************************
+         * Method Name     : cancel
+         * Description     : Stops the acquisition without calling back and releases the pending request.
+         * Parameters      : None
+         * Return          : void
+         *****************************************************************************************************/
+        public void cancel() {
+            if (!finished) {
+                finished = true;
+                release();
+            }
+        }
+
+        @SuppressLint("MissingPermission")
+        private void start() {
+            mainHandler.postDelayed(deadline, DEADLINE_MS);
+            pendingSources = 2;
+            offer(readCachedFix(), Source.CACHED);
+            if (finished) {
+                return; // A fresh cached fix needs no provider at all
+            }
+            client.getLastLocation().addOnCompleteListener(task ->
+                    onSourceDone(task.isSuccessful() ? task.getResult() : null, Source.LAST_KNOWN));
+            client.getCurrentLocation(Priority.PRIORITY_BALANCED_POWER_ACCURACY, currentRequest.getToken())
+                    .addOnCompleteListener(task ->
+                            onSourceDone(task.isSuccessful() ? task.getResult() : null, Source.CURRENT));
+        }
+
+        private void onSourceDone(Location location, Source source) {
+            pendingSources--;
+            offer(location, source);
+            if (!finished && pendingSources == 0) {
+                finishWithBest();
+            }
+        }
+
+        private void offer(Location location, Source source) {
+            if (finished || location == null || ageMs(location) > MAX_FIX_AGE_MS) {
+                return;
+            }
+            if (isGoodEnough(location)) {
+                finish(location, source);
+            } else if (best == null || isBetter(location, best)) {
+                best = location;
+                bestSource = source;
+            }
+        }
+
+        private void onDeadline() {
+            if (!finished) {
+                timeoutCount++;
+                finishWithBest();
+            }
+        }
+
+        private void finishWithBest() {
+            if (best != null) {
+                finish(best, bestSource);
+            } else {
+                fail("Unable to fetch location");
+            }
+        }
+
+        private void finish(Location location, Source source) {
+            finished = true;
+            release();
+            lastTimeToFixMs = SystemClock.elapsedRealtime() - startElapsedMs;
+            lastAccuracyM = location.hasAccuracy() ? location.getAccuracy() : -1;
+            winCounts[source.ordinal()]++;
+            Log.i(TAG, "Fix from " + source + " in " + lastTimeToFixMs + " ms, accuracy " + lastAccuracyM + " m");
+            if (source != Source.CACHED) {
+                storeFix(location);
+            }
+            callback.onFix(location, source);
+        }
+
+        private void fail(String errorMessage) {
+            finished = true;
+            release();
+            failureCount++;
+            Log.w(TAG, errorMessage + " after " + (SystemClock.elapsedRealtime() - startElapsedMs) + " ms");
+            callback.onFailure(errorMessage);
+        }
+
+        private void release() {
+            mainHandler.removeCallbacks(deadline);
+            currentRequest.cancel();
+        }
+    }
+}
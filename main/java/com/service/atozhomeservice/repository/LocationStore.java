@@ -0,0 +1,156 @@
+package com.service.atozhomeservice.repository;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.location.Location;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.service.atozhomeservice.model.GeocodedAddress;
+
+/*************************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : LocationStore
+ * Description    : Single holder of the user's current location, as observable, lifecycle-aware state, and
+ *                  memory of the last one across launches. This lets returning users skip the blocking
+ *                  location screen: the home screen opens with the remembered address and refresh() updates
+ *                  it in the background once a new fix has been geocoded. A location the user picks by hand
+ *                  is published through update() and is not overwritten by a refresh that started earlier.
+ * Threading      : Public methods must be called on the main thread.
+ *************************************************************************************************************/
+public class LocationStore {
+
+    private static final String PREFERENCES = "LocationCache";
+
+    private static volatile LocationStore instance;
+
+    private final Context appContext;
+    private final SharedPreferences preferences;
+    private final MutableLiveData<GeocodedAddress> address = new MutableLiveData<>();
+    private boolean refreshing;
+    private int updateCount; // bumped by every update, so a stale refresh can tell it was overtaken
+
+    private LocationStore(Context context) {
+        appContext = context.getApplicationContext();
+        preferences = appContext.getSharedPreferences(PREFERENCES, Context.MODE_PRIVATE);
+        address.setValue(restore());
+    }
+
+    public static LocationStore getInstance(Context context) {
+        if (instance == null) {
+            synchronized (LocationStore.class) {
+                if (instance == null) {
+                    instance = new LocationStore(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : getAddress
+     * Description     : Observable current address; emits the remembered address first, then every refresh.
+     * Parameters      : None
+     * Return          : LiveData<GeocodedAddress> – Current address, null until one has ever been resolved.
+     *********************************************************************************************************/
+    public LiveData<GeocodedAddress> getAddress() {
+        return address;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : getCachedAddress
+     * Description     : Returns the current address without observing it.
+     * Parameters      : None
+     * Return          : GeocodedAddress – Current address, or null on first launch.
+     *********************************************************************************************************/
+    public GeocodedAddress getCachedAddress() {
+        return address.getValue();
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : update
+     * Description     : Publishes a newly resolved address and remembers it for the next launch.
+     * Parameters      : GeocodedAddress resolved – Address to publish.
+     * Return          : void
+     *********************************************************************************************************/
+    public void update(GeocodedAddress resolved) {
+        updateCount++;
+        address.setValue(resolved);
+        preferences.edit()
+                .putLong("latitude", Double.doubleToRawLongBits(resolved.getLatitude()))
+                .putLong("longitude", Double.doubleToRawLongBits(resolved.getLongitude()))
+                .putString("addressLine", resolved.getAddressLine())
+                .putString("featureName", resolved.getFeatureName())
+                .putString("subThoroughfare", resolved.getSubThoroughfare())
+                .putString("thoroughfare", resolved.getThoroughfare())
+                .putString("subLocality", resolved.getSubLocality())
+                .putString("locality", resolved.getLocality())
+                .putString("adminArea", resolved.getAdminArea())
+                .putString("countryName", resolved.getCountryName())
+                .putString("postalCode", resolved.getPostalCode())
+                .apply();
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : refresh
+     * Description     : Takes a location fix through LocationAcquirer without any UI and publishes its
+     *                   address. Does nothing when location permission has not been granted yet (the location
+     *                   screen asks for it on first launch) or when a refresh is already running.
+     * Called By       : MainActivity when opening the home screen with a remembered address
+     * Parameters      : None
+     * Return          : void
+     *********************************************************************************************************/
+    public void refresh() {
+        if (refreshing || !LocationAcquirer.hasLocationPermission(appContext)) {
+            return;
+        }
+        refreshing = true;
+        int startCount = updateCount;
+        LocationAcquirer.getInstance(appContext).acquire(new LocationAcquirer.FixCallback() {
+            @Override
+            public void onFix(Location location, LocationAcquirer.Source source) {
+                double latitude = location.getLatitude();
+                double longitude = location.getLongitude();
+                GeocodingService.getInstance(appContext).reverseGeocode(latitude, longitude,
+                        new GeocodingService.AddressCallback() {
+                            @Override
+                            public void onSuccess(GeocodedAddress resolved) {
+                                refreshing = false;
+                                if (updateCount == startCount) {
+                                    update(resolved.withCoordinates(latitude, longitude));
+                                }
+                            }
+
+                            @Override
+                            public void onFailure(String errorMessage) {
+                                refreshing = false;
+                            }
+                        });
+            }
+
+            @Override
+            public void onFailure(String errorMessage) {
+                refreshing = false;
+            }
+        });
+    }
+
+    private GeocodedAddress restore() {
+        if (!preferences.contains("latitude")) {
+            return null;
+        }
+        return new GeocodedAddress(
+                Double.longBitsToDouble(preferences.getLong("latitude", 0)),
+                Double.longBitsToDouble(preferences.getLong("longitude", 0)),
+                preferences.getString("addressLine", null),
+                preferences.getString("featureName", null),
+                preferences.getString("subThoroughfare", null),
+                preferences.getString("thoroughfare", null),
+                preferences.getString("subLocality", null),
+                preferences.getString("locality", null),
+                preferences.getString("adminArea", null),
+                preferences.getString("countryName", null),
+                preferences.getString("postalCode", null));
+    }
+}
@@ -0,0 +1,261 @@
+package com.service.atozhomeservice.repository;
+
+import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.AtomicFile;
+import android.util.Log;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.service.atozhomeservice.model.Order;
+import com.service.atozhomeservice.repository.OrderReconciler.Snapshot;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*************************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : OrderCache
+ * Description    : Offline-first, on-disk cache of the user's newest orders. The orders screen reads it first
+ *                  so it can render without a network round trip; live snapshots are written through to it,
+ *                  and a background reconciler pulls only the orders newer than the last synced timestamp.
+ *                  The order source is injected, so the reconcile logic can be tested against a fake.
+ *                  All disk I/O runs on a single background thread; results are delivered on the main thread.
+ *                  Hit, miss and staleness metrics are kept for diagnostics.
+ * File Format    : One file per user. int version, long lastSyncedTimestamp, int count, then count order
+ *                  records as encoded by OrderCodec.
+ *************************************************************************************************************/
+public class OrderCache {
+
+    private static final int FORMAT_VERSION = OrderCodec.VERSION;
+    private static final int MAX_CACHED_ORDERS = 100;
+    private static final int RECONCILE_PAGE_SIZE = 20;
+
+    private static volatile OrderCache instance;
+
+    private final File directory;
+    private final OrderReconciler<DocumentSnapshot> reconciler;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "order-cache");
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Metrics
+    private final AtomicInteger hitCount = new AtomicInteger();
+    private final AtomicInteger missCount = new AtomicInteger();
+    private volatile long lastSyncElapsedMs = -1;
+
+    /*********************************************************************************************************
+     * Interface Name  : OrdersCallback
+     * Description     : Receives cached orders on the main thread.
+     *********************************************************************************************************/
+    public interface OrdersCallback {
+        void onOrders(List<Order> orders);
+    }
+
+    private OrderCache(Application application, OrderReconciler.Source<DocumentSnapshot> source) {
+        directory = new File(application.getFilesDir(), "orders");
+        OrderReconciler.Store store = new OrderReconciler.Store() {
+            @Override
+            public Snapshot load(String userId) {
+                return OrderCache.this.load(userId);
+            }
+
+            @Override
+            public void store(String userId, Snapshot snapshot) {
+                OrderCache.this.store(userId, snapshot);
+            }
+        };
+        reconciler = new OrderReconciler<>(source, store, executor, mainHandler::post,
+                RECONCILE_PAGE_SIZE, MAX_CACHED_ORDERS);
+    }
+
+    public static OrderCache getInstance(Application application) {
+        if (instance == null) {
+            synchronized (OrderCache.class) {
+                if (instance == null) {
+                    instance = new OrderCache(application, new AuthRepository(application));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : getInstance
+     * Description     : Returns the cache, creating it with the given order source if it does not exist yet,
+     *                   e.g. a fake source or one backed by the Firestore emulator.
+     * Parameters      : Application application – Application whose files directory holds the cache.
+     *                   OrderReconciler.Source<DocumentSnapshot> source – Source of orders for reconciling.
+     * Return          : OrderCache – The process-wide cache.
+     *********************************************************************************************************/
+    public static OrderCache getInstance(Application application, OrderReconciler.Source<DocumentSnapshot> source) {
+        if (instance == null) {
+            synchronized (OrderCache.class) {
+                if (instance == null) {
+                    instance = new OrderCache(application, source);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : read
+     * Description     : Loads the cached orders of a user in the background and delivers them newest first.
+     *                   Counts a hit when cached orders exist and a miss otherwise.
+     * Parameters      : String userId – Owner of the cache.
+     *                   OrdersCallback callback – Receives the cached orders (possibly empty) on the main thread.
+     * Return          : void
+     *********************************************************************************************************/
+    public void read(String userId, OrdersCallback callback) {
+        executor.execute(() -> {
+            List<Order> orders = load(userId).orders;
+            (orders.isEmpty() ? missCount : hitCount).incrementAndGet();
+            mainHandler.post(() -> callback.onOrders(orders));
+        });
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : write
+     * Description     : Writes a live snapshot of the newest orders through to the cache in the background,
+     *                   replacing the cached range it covers. Marks the cache as freshly synced.
+     * Parameters      : String userId – Owner of the cache.
+     *                   List<Order> orders – Orders newest first; the caller must not modify the list afterwards.
+     * Return          : void
+     *********************************************************************************************************/
+    public void write(String userId, List<Order> orders) {
+        executor.execute(() -> {
+            Snapshot stored = load(userId);
+            List<Order> combined = new ArrayList<>(orders);
+            long newest = stored.lastSyncedTimestamp;
+            if (!orders.isEmpty()) {
+                newest = Math.max(newest, orders.get(0).getTimestamp());
+                // The live window is authoritative for its range; keep cached orders older than it
+                long oldestLive = orders.get(orders.size() - 1).getTimestamp();
+                for (Order order : stored.orders) {
+                    if (order.getTimestamp() < oldestLive) {
+                        combined.add(order);
+                    }
+                }
+            }
+            store(userId, new Snapshot(newest, combined));
+            lastSyncElapsedMs = SystemClock.elapsedRealtime();
+        });
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : reconcile
+     * Description     : Pulls, page by page, the orders created after the last synced timestamp and merges them
+     *                   into the cache through the OrderReconciler. Older documents are never re-read, so
+     *                   status changes to orders already cached are not picked up here (see OrderReconciler).
+     * Called By       : BottomNavigationManager on start, so the cache is warm before the orders tab opens.
+     * Parameters      : String userId – Owner of the cache.
+     * Return          : void
+     *********************************************************************************************************/
+    public void reconcile(String userId) {
+        reconciler.reconcile(userId, new OrderReconciler.Callback() {
+            @Override
+            public void onReconciled() {
+                lastSyncElapsedMs = SystemClock.elapsedRealtime();
+            }
+
+            @Override
+            public void onFailure(String errorMessage) {
+                Log.e("OrderCache", "Reconciliation failed: " + errorMessage);
+            }
+        });
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : getHitCount / getMissCount / getStalenessMs
+     * Description     : Cache metrics. Staleness is the time since the last successful sync in this process,
+     *                   or -1 if the cache has not been synced since launch.
+     * Parameters      : None
+     * Return          : int / long – Metric value.
+     *********************************************************************************************************/
+    public int getHitCount() {
+        return hitCount.get();
+    }
+
+    public int getMissCount() {
+        return missCount.get();
+    }
+
+    public long getStalenessMs() {
+        long last = lastSyncElapsedMs;
+        return last < 0 ? -1 : SystemClock.elapsedRealtime() - last;
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+    // Disk access, only ever called on the executor thread
+    // ---------------------------------------------------------------------------------------------------
+
+    private Snapshot load(String userId) {
+        AtomicFile file = fileFor(userId);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(file.openRead()))) {
+            int version = in.readInt();
+            if (!OrderCodec.canRead(version)) {
+                return Snapshot.EMPTY;
+            }
+            long lastSynced = in.readLong();
+            int count = in.readInt();
+            List<Order> orders = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                orders.add(OrderCodec.readOrder(in));
+            }
+            return new Snapshot(lastSynced, orders);
+        } catch (FileNotFoundException e) {
+            return Snapshot.EMPTY;
+        } catch (IOException e) {
+            Log.e("OrderCache", "Failed to read cached orders", e);
+            return Snapshot.EMPTY;
+        }
+    }
+
+    private void store(String userId, Snapshot snapshot) {
+        AtomicFile file = fileFor(userId);
+        List<Order> orders = snapshot.orders.size() > MAX_CACHED_ORDERS
+                ? snapshot.orders.subList(0, MAX_CACHED_ORDERS)
+                : snapshot.orders;
+        FileOutputStream stream = null;
+        try {
+            stream = file.startWrite();
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(snapshot.lastSyncedTimestamp);
+            out.writeInt(orders.size());
+            for (Order order : orders) {
+                OrderCodec.writeOrder(out, order);
+            }
+            out.flush();
+            file.finishWrite(stream);
+        } catch (IOException e) {
+            Log.e("OrderCache", "Failed to write cached orders", e);
+            if (stream != null) {
+                file.failWrite(stream);
+            }
+        }
+    }
+
+    private AtomicFile fileFor(String userId) {
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+        return new AtomicFile(new File(directory, userId + ".bin"));
+    }
+}
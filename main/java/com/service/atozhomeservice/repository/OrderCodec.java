@@ -0,0 +1,108 @@
+package com.service.atozhomeservice.repository;
+
+import com.service.atozhomeservice.model.CartItem;
+import com.service.atozhomeservice.model.GeocodedAddress;
+import com.service.atozhomeservice.model.Order;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*************************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : OrderCodec
+ * Description    : Compact binary encoding of Order and its CartItems shared by the local order stores
+ *                  (OrderCache, OrderOutbox). Null strings are written as "".
+ * Record Layout  : orderId, status, paymentType, location (UTF), double totalAmount, long timestamp,
+ *                  int itemCount and per item: mainService, subService, itemType, itemId (UTF), int quantity,
+ *                  double itemPrice, then boolean hasAddress and, if set, double latitude, double longitude
+ *                  and the nine address components (UTF). Files record VERSION in their header; readers
+ *                  check it with canRead() and drop files of any other version.
+ *                  Item icons are not kept: raw drawable IDs change between builds, and no order screen
+ *                  shows them.
+ *************************************************************************************************************/
+final class OrderCodec {
+
+    static final int VERSION = 1;
+
+    private OrderCodec() {}
+
+    static boolean canRead(int version) {
+        return version == VERSION;
+    }
+
+    static void writeOrder(DataOutputStream out, Order order) throws IOException {
+        writeNullable(out, order.getOrderId());
+        writeNullable(out, order.getStatus());
+        writeNullable(out, order.getPaymentType());
+        writeNullable(out, order.getLocation());
+        out.writeDouble(order.getTotalAmount());
+        out.writeLong(order.getTimestamp());
+        List<CartItem> items = order.getItems() == null ? Collections.emptyList() : order.getItems();
+        out.writeInt(items.size());
+        for (CartItem item : items) {
+            writeNullable(out, item.getMainService());
+            writeNullable(out, item.getSubService());
+            writeNullable(out, item.getItemType());
+            writeNullable(out, item.getItemId());
+            out.writeInt(item.getQuantity());
+            out.writeDouble(item.getItemPrice());
+        }
+        GeocodedAddress address = order.getAddress();
+        out.writeBoolean(address != null);
+        if (address != null) {
+            out.writeDouble(address.getLatitude());
+            out.writeDouble(address.getLongitude());
+            writeNullable(out, address.getAddressLine());
+            writeNullable(out, address.getFeatureName());
+            writeNullable(out, address.getSubThoroughfare());
+            writeNullable(out, address.getThoroughfare());
+            writeNullable(out, address.getSubLocality());
+            writeNullable(out, address.getLocality());
+            writeNullable(out, address.getAdminArea());
+            writeNullable(out, address.getCountryName());
+            writeNullable(out, address.getPostalCode());
+        }
+    }
+
+    static Order readOrder(DataInputStream in) throws IOException {
+        Order order = new Order();
+        order.setOrderId(readNullable(in));
+        order.setStatus(readNullable(in));
+        order.setPaymentType(readNullable(in));
+        order.setLocation(readNullable(in));
+        order.setTotalAmount(in.readDouble());
+        order.setTimestamp(in.readLong());
+        int itemCount = in.readInt();
+        List<CartItem> items = new ArrayList<>(itemCount);
+        for (int j = 0; j < itemCount; j++) {
+            CartItem item = new CartItem();
+            item.setMainService(readNullable(in));
+            item.setSubService(readNullable(in));
+            item.setItemType(readNullable(in));
+            item.setItemId(readNullable(in));
+            item.setQuantity(in.readInt());
+            item.setItemPrice(in.readDouble());
+            items.add(item);
+        }
+        order.setItems(items);
+        if (in.readBoolean()) {
+            order.setAddress(new GeocodedAddress(in.readDouble(), in.readDouble(), readNullable(in),
+                    readNullable(in), readNullable(in), readNullable(in), readNullable(in), readNullable(in),
+                    readNullable(in), readNullable(in), readNullable(in)));
+        }
+        return order;
+    }
+
+    static String readNullable(DataInputStream in) throws IOException {
+        String value = in.readUTF();
+        return value.isEmpty() ? null : value;
+    }
+
+    static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeUTF(value == null ? "" : value);
+    }
+}
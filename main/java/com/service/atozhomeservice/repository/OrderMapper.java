@@ -0,0 +1,244 @@
+package com.service.atozhomeservice.repository;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.GeoPoint;
+import com.service.atozhomeservice.model.CartItem;
+import com.service.atozhomeservice.model.GeocodedAddress;
+import com.service.atozhomeservice.model.Money;
+import com.service.atozhomeservice.model.Order;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*************************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : OrderMapper
+ * Description    : Hand-written mapping between Order and its Firestore document, replacing the reflective
+ *                  toObject()/set(Object) path: fields are read and written by name, with no bean introspection
+ *                  and no per-item maps for catalog items.
+ *                  Schema 2 stores the total in whole paise and, when every line comes from the catalog, the
+ *                  items as three parallel arrays (itemIds, quantities, unitPaise) instead of one map per item
+ *                  repeating the service and item labels; labels are resolved from the catalog when shown.
+ *                  The history stays as ordered because catalog item IDs are never reused or relabelled, and
+ *                  withdrawn items stay resolvable (see CatalogRepository).
+ *                  Orders holding lines without a catalog ID fall back to the legacy items list.
+ *                  The service location is stored structured: a GeoPoint and a geohash that location queries
+ *                  can use directly, and the address components, next to its display string.
+ *                  Documents written before schema 2 (items maps, totalAmount in rupees) are still read.
+ * Document Layout: schema (2), timestamp, status, paymentType, location, totalPaise, then either itemIds,
+ *                  quantities, unitPaise or items: [{mainService, subService, itemType, quantity, itemPrice}].
+ *                  Orders with a structured location add geoPoint, geohash and address: {addressLine,
+ *                  featureName, subThoroughfare, thoroughfare, subLocality, locality, adminArea, countryName,
+ *                  postalCode}.
+ *                  The order ID is the document ID and is never written as a field.
+ *************************************************************************************************************/
+public final class OrderMapper {
+
+    public static final String FIELD_TOTAL_PAISE = "totalPaise";
+
+    private static final long SCHEMA = 2;
+
+    private static final String FIELD_SCHEMA = "schema";
+    private static final String FIELD_TIMESTAMP = "timestamp";
+    private static final String FIELD_STATUS = "status";
+    private static final String FIELD_PAYMENT_TYPE = "paymentType";
+    private static final String FIELD_LOCATION = "location";
+    private static final String FIELD_TOTAL_AMOUNT = "totalAmount"; // legacy, rupees
+    private static final String FIELD_ITEM_IDS = "itemIds";
+    private static final String FIELD_QUANTITIES = "quantities";
+    private static final String FIELD_UNIT_PAISE = "unitPaise";
+    private static final String FIELD_ITEMS = "items"; // legacy and non-catalog lines
+    private static final String FIELD_GEO_POINT = "geoPoint";
+    private static final String FIELD_GEOHASH = "geohash";
+    private static final String FIELD_ADDRESS = "address";
+
+    private static final String ITEM_MAIN_SERVICE = "mainService";
+    private static final String ITEM_SUB_SERVICE = "subService";
+    private static final String ITEM_TYPE = "itemType";
+    private static final String ITEM_QUANTITY = "quantity";
+    private static final String ITEM_PRICE = "itemPrice";
+
+    private static final String ADDRESS_LINE = "addressLine";
+    private static final String ADDRESS_FEATURE_NAME = "featureName";
+    private static final String ADDRESS_SUB_THOROUGHFARE = "subThoroughfare";
+    private static final String ADDRESS_THOROUGHFARE = "thoroughfare";
+    private static final String ADDRESS_SUB_LOCALITY = "subLocality";
+    private static final String ADDRESS_LOCALITY = "locality";
+    private static final String ADDRESS_ADMIN_AREA = "adminArea";
+    private static final String ADDRESS_COUNTRY_NAME = "countryName";
+    private static final String ADDRESS_POSTAL_CODE = "postalCode";
+
+    private OrderMapper() {}
+
+    /*********************************************************************************************************
+     * Method Name     : toDocument
+     * Description     : Encodes an order as the field map written to its Firestore document.
+     * Parameters      : Order order – Order to encode.
+     * Return          : Map<String, Object> – Document fields.
+     *********************************************************************************************************/
+    public static Map<String, Object> toDocument(Order order) {
+        List<CartItem> items = order.getItems() == null ? Collections.emptyList() : order.getItems();
+        Map<String, Object> document = new HashMap<>(16);
+        document.put(FIELD_SCHEMA, SCHEMA);
+        document.put(FIELD_TIMESTAMP, order.getTimestamp());
+        document.put(FIELD_STATUS, order.getStatus());
+        document.put(FIELD_PAYMENT_TYPE, order.getPaymentType());
+        document.put(FIELD_LOCATION, order.getLocation());
+        document.put(FIELD_TOTAL_PAISE, order.getTotal().getPaise());
+        if (order.getAddress() != null) {
+            putAddress(document, order.getAddress());
+        }
+
+        if (allFromCatalog(items)) {
+            List<String> itemIds = new ArrayList<>(items.size());
+            List<Long> quantities = new ArrayList<>(items.size());
+            List<Long> unitPaise = new ArrayList<>(items.size());
+            for (CartItem item : items) {
+                itemIds.add(item.getItemId());
+                quantities.add((long) item.getQuantity());
+                unitPaise.add(item.getUnitPrice().getPaise());
+            }
+            document.put(FIELD_ITEM_IDS, itemIds);
+            document.put(FIELD_QUANTITIES, quantities);
+            document.put(FIELD_UNIT_PAISE, unitPaise);
+        } else {
+            List<Map<String, Object>> encoded = new ArrayList<>(items.size());
+            for (CartItem item : items) {
+                Map<String, Object> fields = new HashMap<>(8);
+                fields.put(ITEM_MAIN_SERVICE, item.getMainService());
+                fields.put(ITEM_SUB_SERVICE, item.getSubService());
+                fields.put(ITEM_TYPE, item.getItemType());
+                fields.put(ITEM_QUANTITY, (long) item.getQuantity());
+                fields.put(ITEM_PRICE, item.getItemPrice());
+                encoded.add(fields);
+            }
+            document.put(FIELD_ITEMS, encoded);
+        }
+        return document;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : fromDocument
+     * Description     : Decodes an order document of any schema. Missing fields keep the Order defaults, and
+     *                   malformed item arrays are cut to their shortest common length rather than failing.
+     * Parameters      : DocumentSnapshot document – Order document.
+     * Return          : Order – The decoded order, with its ID taken from the document.
+     *********************************************************************************************************/
+    public static Order fromDocument(DocumentSnapshot document) {
+        Order order = new Order();
+        order.setOrderId(document.getId());
+        order.setTimestamp(longOf(document.get(FIELD_TIMESTAMP)));
+        order.setStatus(document.getString(FIELD_STATUS));
+        order.setPaymentType(document.getString(FIELD_PAYMENT_TYPE));
+        order.setLocation(document.getString(FIELD_LOCATION));
+        GeoPoint geoPoint = document.getGeoPoint(FIELD_GEO_POINT);
+        if (geoPoint != null) {
+            order.setAddress(addressOf(geoPoint, document.get(FIELD_ADDRESS)));
+        }
+
+        Object totalPaise = document.get(FIELD_TOTAL_PAISE);
+        Object totalAmount = document.get(FIELD_TOTAL_AMOUNT);
+        if (totalPaise instanceof Number) {
+            order.setTotal(Money.ofPaise(((Number) totalPaise).longValue()));
+        } else if (totalAmount instanceof Number) {
+            order.setTotal(Money.ofRupees(((Number) totalAmount).doubleValue()));
+        }
+
+        Object itemIds = document.get(FIELD_ITEM_IDS);
+        if (itemIds instanceof List) {
+            order.setItems(compactItems((List<?>) itemIds,
+                    listOf(document.get(FIELD_QUANTITIES)), listOf(document.get(FIELD_UNIT_PAISE))));
+        } else {
+            order.setItems(legacyItems(listOf(document.get(FIELD_ITEMS))));
+        }
+        return order;
+    }
+
+    private static void putAddress(Map<String, Object> document, GeocodedAddress address) {
+        Map<String, Object> components = new HashMap<>(16);
+        components.put(ADDRESS_LINE, address.getAddressLine());
+        components.put(ADDRESS_FEATURE_NAME, address.getFeatureName());
+        components.put(ADDRESS_SUB_THOROUGHFARE, address.getSubThoroughfare());
+        components.put(ADDRESS_THOROUGHFARE, address.getThoroughfare());
+        components.put(ADDRESS_SUB_LOCALITY, address.getSubLocality());
+        components.put(ADDRESS_LOCALITY, address.getLocality());
+        components.put(ADDRESS_ADMIN_AREA, address.getAdminArea());
+        components.put(ADDRESS_COUNTRY_NAME, address.getCountryName());
+        components.put(ADDRESS_POSTAL_CODE, address.getPostalCode());
+        document.put(FIELD_GEO_POINT, address.getGeoPoint());
+        document.put(FIELD_GEOHASH, address.getGeohash());
+        document.put(FIELD_ADDRESS, components);
+    }
+
+    private static GeocodedAddress addressOf(GeoPoint geoPoint, Object encoded) {
+        Map<?, ?> components = encoded instanceof Map ? (Map<?, ?>) encoded : Collections.emptyMap();
+        return new GeocodedAddress(geoPoint.getLatitude(), geoPoint.getLongitude(),
+                stringOf(components.get(ADDRESS_LINE)),
+                stringOf(components.get(ADDRESS_FEATURE_NAME)),
+                stringOf(components.get(ADDRESS_SUB_THOROUGHFARE)),
+                stringOf(components.get(ADDRESS_THOROUGHFARE)),
+                stringOf(components.get(ADDRESS_SUB_LOCALITY)),
+                stringOf(components.get(ADDRESS_LOCALITY)),
+                stringOf(components.get(ADDRESS_ADMIN_AREA)),
+                stringOf(components.get(ADDRESS_COUNTRY_NAME)),
+                stringOf(components.get(ADDRESS_POSTAL_CODE)));
+    }
+
+    private static boolean allFromCatalog(List<CartItem> items) {
+        for (CartItem item : items) {
+            if (item.getItemId() == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<CartItem> compactItems(List<?> itemIds, List<?> quantities, List<?> unitPaise) {
+        int count = Math.min(itemIds.size(), Math.min(quantities.size(), unitPaise.size()));
+        List<CartItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CartItem item = new CartItem();
+            item.setItemId(String.valueOf(itemIds.get(i)));
+            item.setQuantity((int) longOf(quantities.get(i)));
+            item.setUnitPrice(Money.ofPaise(longOf(unitPaise.get(i))));
+            items.add(item);
+        }
+        return items;
+    }
+
+    private static List<CartItem> legacyItems(List<?> encoded) {
+        List<CartItem> items = new ArrayList<>(encoded.size());
+        for (Object entry : encoded) {
+            if (!(entry instanceof Map)) {
+                continue;
+            }
+            Map<?, ?> fields = (Map<?, ?>) entry;
+            CartItem item = new CartItem();
+            item.setMainService(stringOf(fields.get(ITEM_MAIN_SERVICE)));
+            item.setSubService(stringOf(fields.get(ITEM_SUB_SERVICE)));
+            item.setItemType(stringOf(fields.get(ITEM_TYPE)));
+            item.setQuantity((int) longOf(fields.get(ITEM_QUANTITY)));
+            Object price = fields.get(ITEM_PRICE);
+            if (price instanceof Number) {
+                item.setItemPrice(((Number) price).doubleValue());
+            }
+            items.add(item);
+        }
+        return items;
+    }
+
+    private static List<?> listOf(Object value) {
+        return value instanceof List ? (List<?>) value : Collections.emptyList();
+    }
+
+    private static long longOf(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    private static String stringOf(Object value) {
+        return value instanceof String ? (String) value : null;
+    }
+}
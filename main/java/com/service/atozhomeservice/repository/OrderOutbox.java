@@ -0,0 +1,444 @@
+package com.service.atozhomeservice.repository;
+
+import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.AtomicFile;
+import android.util.Log;
+
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.WriteBatch;
+import com.service.atozhomeservice.model.CartItem;
+import com.service.atozhomeservice.model.Order;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*************************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : OrderOutbox
+ * Description    : Durable, idempotent submission pipeline for order writes. Every new order is written to
+ *                  users/{uid}/orders/{idempotencyKey}, so retries and double taps overwrite the same document
+ *                  instead of creating duplicates. Pending writes are persisted to disk before they are sent,
+ *                  coalesced for COALESCE_DELAY_MS into WriteBatch commits, and retried with exponential backoff
+ *                  on transient failures. Writes left over from a previous process are resumed on start.
+ * Threading      : Queue state is only touched on the main thread (Firestore delivers its callbacks there);
+ *                  the outbox file is written on a background thread.
+ * File Format    : int version, int count, then per write: byte type, userId, orderId (UTF) followed by an
+ *                  OrderCodec record (place) or int fieldCount and per field: name (UTF), byte tag, value
+ *                  (update).
+ *************************************************************************************************************/
+public class OrderOutbox {
+
+    private static final int FORMAT_VERSION = OrderCodec.VERSION;
+    private static final int MAX_BATCH_SIZE = 500; // Firestore WriteBatch limit
+    private static final long COALESCE_DELAY_MS = 250;
+    private static final long INITIAL_BACKOFF_MS = 1000;
+    private static final long MAX_BACKOFF_MS = 60000;
+
+    private static final byte TYPE_PLACE = 1;
+    private static final byte TYPE_UPDATE = 2;
+
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_DOUBLE = 2;
+    private static final byte TAG_LONG = 3;
+    private static final byte TAG_BOOLEAN = 4;
+
+    private static volatile OrderOutbox instance;
+
+    private final FirebaseFirestore database = FirebaseFirestore.getInstance();
+    private final AtomicFile file;
+    private final ExecutorService diskExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "order-outbox");
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable flushRunnable = this::flush;
+
+    // Main thread only
+    private LinkedHashMap<String, PendingWrite> pending = new LinkedHashMap<>();
+    private List<PendingWrite> inFlight = new ArrayList<>();
+    private boolean flushScheduled;
+    private long backoffMs = INITIAL_BACKOFF_MS;
+    private int batchLimit = MAX_BATCH_SIZE;
+
+    private OrderOutbox(Application application) {
+        file = new AtomicFile(new File(application.getFilesDir(), "order_outbox.bin"));
+        diskExecutor.execute(() -> {
+            List<PendingWrite> restored = load();
+            if (!restored.isEmpty()) {
+                mainHandler.post(() -> resume(restored));
+            }
+        });
+    }
+
+    public static OrderOutbox getInstance(Application application) {
+        if (instance == null) {
+            synchronized (OrderOutbox.class) {
+                if (instance == null) {
+                    instance = new OrderOutbox(application);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : newIdempotencyKey
+     * Description     : Generates a client-side order ID. Callers should create it once per checkout and reuse
+     *                   it for every submission attempt of that checkout.
+     * Parameters      : None
+     * Return          : String – Random, globally unique document ID.
+     *********************************************************************************************************/
+    public static String newIdempotencyKey() {
+        return UUID.randomUUID().toString();
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : enqueuePlace
+     * Description     : Queues a new order. An order without an ID is given a fresh idempotency key. If a write
+     *                   for the same order is already queued, the callback is attached to it instead.
+     * Parameters      : String userId – Owner of the order.
+     *                   Order order – Order to create.
+     *                   AuthRepository.OrderCallback callback – Notified once the write is acknowledged.
+     * Return          : void
+     *********************************************************************************************************/
+    public void enqueuePlace(String userId, Order order, AuthRepository.OrderCallback callback) {
+        if (order.getOrderId() == null) {
+            order.setOrderId(newIdempotencyKey());
+        }
+        String key = TYPE_PLACE + "/" + userId + "/" + order.getOrderId();
+        PendingWrite write = pending.get(key);
+        if (write == null) {
+            // The queue keeps its own copy; the caller's order and its items may still change
+            write = new PendingWrite(TYPE_PLACE, userId, order.getOrderId(), detached(order), null);
+            pending.put(key, write);
+            persist();
+        }
+        write.callbacks.add(callback);
+        scheduleFlush(COALESCE_DELAY_MS);
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : enqueueUpdate
+     * Description     : Queues a field update of an existing order. Updates to the same order that are still
+     *                   queued are merged into one write.
+     * Parameters      : String userId – Owner of the order.
+     *                   String orderId – ID of the order to update.
+     *                   Map<String, Object> fields – Fields to modify (String, Double, Long or Boolean values).
+     *                   AuthRepository.OrderCallback callback – Notified once the write is acknowledged.
+     * Return          : void
+     *********************************************************************************************************/
+    public void enqueueUpdate(String userId, String orderId, Map<String, Object> fields, AuthRepository.OrderCallback callback) {
+        String key = TYPE_UPDATE + "/" + userId + "/" + orderId;
+        PendingWrite write = pending.get(key);
+        if (write == null) {
+            write = new PendingWrite(TYPE_UPDATE, userId, orderId, null, new HashMap<>(fields));
+            pending.put(key, write);
+        } else {
+            write.fields.putAll(fields);
+        }
+        write.callbacks.add(callback);
+        persist();
+        scheduleFlush(COALESCE_DELAY_MS);
+    }
+
+    private static Order detached(Order order) {
+        List<CartItem> items = new ArrayList<>();
+        if (order.getItems() != null) {
+            for (CartItem item : order.getItems()) {
+                items.add(new CartItem(item.getItemId(), item.getMainService(), item.getSubService(), item.getIcon(),
+                        item.getItemType(), item.getQuantity(), item.getUnitPrice()));
+            }
+        }
+        Order copy = new Order(items, order.getTotal(), order.getTimestamp(), order.getStatus(),
+                order.getPaymentType(), order.getAddress());
+        copy.setOrderId(order.getOrderId());
+        copy.setLocation(order.getLocation());
+        return copy;
+    }
+
+    private void resume(List<PendingWrite> restored) {
+        LinkedHashMap<String, PendingWrite> merged = new LinkedHashMap<>();
+        for (PendingWrite write : restored) {
+            merged.put(write.key(), write);
+        }
+        mergeInto(merged, pending);
+        pending = merged;
+        persist(); // rewrite the file with the writes queued before the restore finished
+        scheduleFlush(0);
+    }
+
+    private void scheduleFlush(long delayMs) {
+        if (!flushScheduled && inFlight.isEmpty()) {
+            flushScheduled = true;
+            mainHandler.postDelayed(flushRunnable, delayMs);
+        }
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : flush
+     * Description     : Commits up to batchLimit queued writes as one WriteBatch. On success the writes are
+     *                   acknowledged and dropped from the outbox; on a transient failure they are re-queued and
+     *                   retried with exponential backoff. A permanent failure of a multi-write batch is retried
+     *                   one write at a time so only the offending write is rejected.
+     * Parameters      : None
+     * Return          : void
+     *********************************************************************************************************/
+    private void flush() {
+        flushScheduled = false;
+        if (pending.isEmpty() || !inFlight.isEmpty()) {
+            return;
+        }
+        WriteBatch batch = database.batch();
+        Iterator<PendingWrite> iterator = pending.values().iterator();
+        while (iterator.hasNext() && inFlight.size() < batchLimit) {
+            PendingWrite write = iterator.next();
+            iterator.remove();
+            inFlight.add(write);
+            DocumentReference ref = database.collection("users")
+                    .document(write.userId)
+                    .collection("orders")
+                    .document(write.orderId);
+            if (write.type == TYPE_PLACE) {
+                batch.set(ref, OrderMapper.toDocument(write.order));
+            } else {
+                batch.update(ref, write.fields);
+            }
+        }
+        List<PendingWrite> committed = inFlight;
+        batch.commit()
+                .addOnSuccessListener(unused -> {
+                    inFlight = new ArrayList<>();
+                    backoffMs = INITIAL_BACKOFF_MS;
+                    batchLimit = MAX_BATCH_SIZE;
+                    persist();
+                    for (PendingWrite write : committed) {
+                        for (AuthRepository.OrderCallback callback : write.callbacks) {
+                            callback.onSuccess();
+                        }
+                    }
+                    scheduleFlush(0);
+                })
+                .addOnFailureListener(e -> {
+                    inFlight = new ArrayList<>();
+                    if (isPermanent(e) && committed.size() == 1) {
+                        Log.e("OrderOutbox", "Dropping rejected order write " + committed.get(0).orderId, e);
+                        persist();
+                        for (AuthRepository.OrderCallback callback : committed.get(0).callbacks) {
+                            callback.onFailure(e.getMessage());
+                        }
+                        scheduleFlush(0);
+                        return;
+                    }
+                    if (isPermanent(e)) {
+                        batchLimit = 1; // isolate the rejected write
+                    }
+                    requeue(committed);
+                    long delay = backoffMs;
+                    backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+                    Log.w("OrderOutbox", "Order batch failed, retrying in " + delay + " ms", e);
+                    scheduleFlush(isPermanent(e) ? 0 : delay);
+                });
+    }
+
+    private void requeue(List<PendingWrite> writes) {
+        LinkedHashMap<String, PendingWrite> merged = new LinkedHashMap<>();
+        for (PendingWrite write : writes) {
+            merged.put(write.key(), write);
+        }
+        mergeInto(merged, pending);
+        pending = merged;
+    }
+
+    // Appends "later" to "target"; updates queued later for the same order override earlier field values
+    private static void mergeInto(LinkedHashMap<String, PendingWrite> target, Map<String, PendingWrite> later) {
+        for (Map.Entry<String, PendingWrite> entry : later.entrySet()) {
+            PendingWrite earlier = target.get(entry.getKey());
+            if (earlier == null) {
+                target.put(entry.getKey(), entry.getValue());
+            } else {
+                if (earlier.type == TYPE_UPDATE) {
+                    earlier.fields.putAll(entry.getValue().fields);
+                }
+                earlier.callbacks.addAll(entry.getValue().callbacks);
+            }
+        }
+    }
+
+    private static boolean isPermanent(Exception e) {
+        if (!(e instanceof FirebaseFirestoreException)) {
+            return false;
+        }
+        switch (((FirebaseFirestoreException) e).getCode()) {
+            case INVALID_ARGUMENT:
+            case NOT_FOUND:
+            case PERMISSION_DENIED:
+            case FAILED_PRECONDITION:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+    // Durable storage
+    // ---------------------------------------------------------------------------------------------------
+
+    private void persist() {
+        List<PendingWrite> snapshot = new ArrayList<>(inFlight.size() + pending.size());
+        for (PendingWrite write : inFlight) {
+            snapshot.add(write.copy());
+        }
+        for (PendingWrite write : pending.values()) {
+            snapshot.add(write.copy());
+        }
+        diskExecutor.execute(() -> store(snapshot));
+    }
+
+    private void store(List<PendingWrite> writes) {
+        FileOutputStream stream = null;
+        try {
+            stream = file.startWrite();
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(writes.size());
+            for (PendingWrite write : writes) {
+                out.writeByte(write.type);
+                out.writeUTF(write.userId);
+                out.writeUTF(write.orderId);
+                if (write.type == TYPE_PLACE) {
+                    OrderCodec.writeOrder(out, write.order);
+                } else {
+                    writeFields(out, write.fields);
+                }
+            }
+            out.flush();
+            file.finishWrite(stream);
+        } catch (IOException e) {
+            Log.e("OrderOutbox", "Failed to persist order outbox", e);
+            if (stream != null) {
+                file.failWrite(stream);
+            }
+        }
+    }
+
+    private List<PendingWrite> load() {
+        List<PendingWrite> writes = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(file.openRead()))) {
+            int version = in.readInt();
+            if (!OrderCodec.canRead(version)) {
+                return writes;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                byte type = in.readByte();
+                String userId = in.readUTF();
+                String orderId = in.readUTF();
+                if (type == TYPE_PLACE) {
+                    writes.add(new PendingWrite(type, userId, orderId, OrderCodec.readOrder(in), null));
+                } else {
+                    writes.add(new PendingWrite(type, userId, orderId, null, readFields(in)));
+                }
+            }
+        } catch (FileNotFoundException e) {
+            // Nothing pending
+        } catch (IOException e) {
+            Log.e("OrderOutbox", "Failed to read order outbox", e);
+        }
+        return writes;
+    }
+
+    private static void writeFields(DataOutputStream out, Map<String, Object> fields) throws IOException {
+        out.writeInt(fields.size());
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            out.writeUTF(field.getKey());
+            Object value = field.getValue();
+            if (value instanceof Double) {
+                out.writeByte(TAG_DOUBLE);
+                out.writeDouble((Double) value);
+            } else if (value instanceof Long || value instanceof Integer) {
+                out.writeByte(TAG_LONG);
+                out.writeLong(((Number) value).longValue());
+            } else if (value instanceof Boolean) {
+                out.writeByte(TAG_BOOLEAN);
+                out.writeBoolean((Boolean) value);
+            } else {
+                out.writeByte(TAG_STRING);
+                out.writeUTF(String.valueOf(value));
+            }
+        }
+    }
+
+    private static Map<String, Object> readFields(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        Map<String, Object> fields = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            String name = in.readUTF();
+            switch (in.readByte()) {
+                case TAG_DOUBLE:
+                    fields.put(name, in.readDouble());
+                    break;
+                case TAG_LONG:
+                    fields.put(name, in.readLong());
+                    break;
+                case TAG_BOOLEAN:
+                    fields.put(name, in.readBoolean());
+                    break;
+                default:
+                    fields.put(name, in.readUTF());
+                    break;
+            }
+        }
+        return fields;
+    }
+
+    /*********************************************************************************************************
+     * Inner Class     : PendingWrite
+     * Description     : One queued order write together with the callbacks waiting for it. Callbacks are not
+     *                   persisted; writes restored after a restart complete silently.
+     *********************************************************************************************************/
+    private static final class PendingWrite {
+        final byte type;
+        final String userId;
+        final String orderId;
+        final Order order;                  // TYPE_PLACE only
+        final Map<String, Object> fields;   // TYPE_UPDATE only
+        final List<AuthRepository.OrderCallback> callbacks = new ArrayList<>();
+
+        PendingWrite(byte type, String userId, String orderId, Order order, Map<String, Object> fields) {
+            this.type = type;
+            this.userId = userId;
+            this.orderId = orderId;
+            this.order = order;
+            this.fields = fields;
+        }
+
+        String key() {
+            return type + "/" + userId + "/" + orderId;
+        }
+
+        // The order is never modified once queued, so copies share it
+        PendingWrite copy() {
+            return new PendingWrite(type, userId, orderId, order, fields == null ? null : new HashMap<>(fields));
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.service.atozhomeservice.repository;
+
+import com.service.atozhomeservice.model.Order;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/*************************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : OrderReconciler
+ * Description    : Brings a user's cached orders up to date with the server for OrderCache. Orders created
+ *                  after the newest timestamp already synced are pulled page by page, oldest first, with the
+ *                  source's cursor, and each page is merged into the cached list: the cache stays newest
+ *                  first, an order is never listed twice, and only the newest maxOrders are kept. Documents
+ *                  older than the last synced timestamp are never re-read.
+ *                  Known gap: a status change to an order that is already cached does not change its
+ *                  timestamp, so reconciling does not pick it up. Such changes reach the cache only through
+ *                  the live listener of the orders screen, which covers the newest page.
+ *                  Plain Java with no Android or Firestore calls, so it runs in JVM tests against a fake
+ *                  source and store.
+ * Threading      : Store access runs on the disk executor and source calls on the main executor.
+ *************************************************************************************************************/
+public final class OrderReconciler<C> {
+
+    /*********************************************************************************************************
+     * Interface Name  : Source
+     * Description     : Reads orders newer than a timestamp, oldest first, one page at a time.
+     *********************************************************************************************************/
+    public interface Source<C> {
+        void fetchOrdersSince(String userId, long sinceTimestamp, int pageSize, C startAfter, PageCallback<C> callback);
+    }
+
+    /*********************************************************************************************************
+     * Interface Name  : PageCallback
+     * Description     : Receives one page from the Source with the cursor of its last document, or the failure.
+     *********************************************************************************************************/
+    public interface PageCallback<C> {
+        void onPage(List<Order> orders, C lastDocument, boolean hasMore);
+        void onFailure(String errorMessage);
+    }
+
+    /*********************************************************************************************************
+     * Interface Name  : Store
+     * Description     : Persistent cached orders of each user.
+     *********************************************************************************************************/
+    public interface Store {
+        Snapshot load(String userId);
+        void store(String userId, Snapshot snapshot);
+    }
+
+    /*********************************************************************************************************
+     * Interface Name  : Callback
+     * Description     : Told once a reconciliation has pulled every page, or why it stopped.
+     *********************************************************************************************************/
+    public interface Callback {
+        void onReconciled();
+        void onFailure(String errorMessage);
+    }
+
+    private final Source<C> source;
+    private final Store store;
+    private final Executor diskExecutor;
+    private final Executor mainExecutor;
+    private final int pageSize;
+    private final int maxOrders;
+
+    public OrderReconciler(Source<C> source, Store store, Executor diskExecutor, Executor mainExecutor,
+                           int pageSize, int maxOrders) {
+        this.source = source;
+        this.store = store;
+        this.diskExecutor = diskExecutor;
+        this.mainExecutor = mainExecutor;
+        this.pageSize = pageSize;
+        this.maxOrders = maxOrders;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : reconcile
+     * Description     : Pulls and merges every order of the user newer than the last synced timestamp.
+     * Parameters      : String userId – Owner of the cache.
+     *                   Callback callback – Told when all pages are merged or a page fails.
+     * Return          : void
+     *********************************************************************************************************/
+    public void reconcile(String userId, Callback callback) {
+        diskExecutor.execute(() -> {
+            long since = store.load(userId).lastSyncedTimestamp;
+            mainExecutor.execute(() -> fetchPage(userId, since, null, callback));
+        });
+    }
+
+    private void fetchPage(String userId, long since, C startAfter, Callback callback) {
+        source.fetchOrdersSince(userId, since, pageSize, startAfter, new PageCallback<C>() {
+            @Override
+            public void onPage(List<Order> orders, C lastDocument, boolean hasMore) {
+                diskExecutor.execute(() -> {
+                    if (!orders.isEmpty()) {
+                        store.store(userId, merge(store.load(userId), orders, maxOrders));
+                    }
+                    mainExecutor.execute(() -> {
+                        if (hasMore) {
+                            fetchPage(userId, since, lastDocument, callback);
+                        } else {
+                            callback.onReconciled();
+                        }
+                    });
+                });
+            }
+
+            @Override
+            public void onFailure(String errorMessage) {
+                callback.onFailure(errorMessage);
+            }
+        });
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : merge
+     * Description     : Merges newer orders into a cached snapshot. A newer copy of an order replaces the
+     *                   cached one, and the result keeps only the newest maxOrders orders.
+     * Parameters      : Snapshot stored – Cached orders, newest first.
+     *                   List<Order> newer – Orders pulled from the source, oldest first.
+     *                   int maxOrders – Maximum number of orders kept.
+     * Return          : Snapshot – Merged orders, newest first, with the newest timestamp synced.
+     *********************************************************************************************************/
+    static Snapshot merge(Snapshot stored, List<Order> newer, int maxOrders) {
+        if (newer.isEmpty()) {
+            return stored;
+        }
+        Map<String, Order> byId = new LinkedHashMap<>();
+        // newer arrives oldest first; prepend it reversed so the cache stays newest first
+        for (int i = newer.size() - 1; i >= 0; i--) {
+            byId.put(newer.get(i).getOrderId(), newer.get(i));
+        }
+        for (Order order : stored.orders) {
+            if (!byId.containsKey(order.getOrderId())) {
+                byId.put(order.getOrderId(), order);
+            }
+        }
+        List<Order> merged = new ArrayList<>(byId.values());
+        if (merged.size() > maxOrders) {
+            merged = new ArrayList<>(merged.subList(0, maxOrders));
+        }
+        long newest = Math.max(stored.lastSyncedTimestamp, newer.get(newer.size() - 1).getTimestamp());
+        return new Snapshot(newest, merged);
+    }
+
+    /*********************************************************************************************************
+     * Inner Class     : Snapshot
+     * Description     : Immutable pair of the cached orders (newest first) and the newest timestamp synced.
+     *********************************************************************************************************/
+    public static final class Snapshot {
+        public static final Snapshot EMPTY = new Snapshot(0, Collections.emptyList());
+
+        public final long lastSyncedTimestamp;
+        public final List<Order> orders;
+
+        public Snapshot(long lastSyncedTimestamp, List<Order> orders) {
+            this.lastSyncedTimestamp = lastSyncedTimestamp;
+            this.orders = orders;
+        }
+    }
+}
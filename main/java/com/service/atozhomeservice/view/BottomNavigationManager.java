@@ -13,11 +13,17 @@ import androidx.navigation.NavOptions;
 import androidx.navigation.Navigation;
 import androidx.navigation.ui.AppBarConfiguration;
 import androidx.navigation.ui.NavigationUI;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.navigation.NavigationBarView;
 import com.google.firebase.auth.FirebaseAuth;
 import com.service.atozhomeservice.R;
 import com.service.atozhomeservice.databinding.ActivityBottomNavigationManagerBinding;
+import com.service.atozhomeservice.repository.AuthRepository;
+import com.service.atozhomeservice.repository.CartStore;
+import com.service.atozhomeservice.repository.CatalogRepository;
+import com.service.atozhomeservice.repository.OrderCache;
+import com.service.atozhomeservice.repository.OrderOutbox;
 /*********************************************************************************************************
  * Author         : Gunnampalli Parameswara Reddy
  * Class Name     : BottomNavigationManager
@@ -35,17 +41,22 @@ public class BottomNavigationManager extends AppCompatActivity {
     private BottomNavigationView navView;
 
     private FirebaseAuth auth;
+    // Shared by the home and carpenter category grids so tiles are reused across the two screens
+    private final RecyclerView.RecycledViewPool serviceGridPool = new RecyclerView.RecycledViewPool();
 
     /*********************************************************************************************************
      * Method Name     : onCreate
      * Description     : Initializes the activity, sets up view binding, assigns navigation logic to bottom
      *                   menu items with proper back stack clearing. Ensures redundant navigation is avoided.
+     *                   Starts the background restore of the persisted cart, the order cache reconciler and the
+     *                   migration of legacy service requests.
      * Parameters      : Bundle savedInstanceState – Saved instance state, if any.
      * Return          : void
      *********************************************************************************************************/
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        StartupTrace.mark("home-created");
         auth = FirebaseAuth.getInstance();
 
 
@@ -53,6 +64,19 @@ public class BottomNavigationManager extends AppCompatActivity {
         setContentView(binding.getRoot());
 
         navView = binding.bottomNavView;
+
+        // Restores the persisted cart on a background thread; never blocks the first frame
+        CartStore.getInstance(this).start();
+        // Resumes order writes that were still pending when the process last died
+        OrderOutbox.getInstance(getApplication());
+        // Pulls orders newer than the cached ones so the orders tab opens from a warm cache
+        if (auth.getCurrentUser() != null) {
+            OrderCache.getInstance(getApplication()).reconcile(auth.getCurrentUser().getUid());
+            // Moves a legacy serviceRequests array left on the user document into its subcollection
+            new AuthRepository(getApplication()).migrateServiceRequests(auth.getCurrentUser().getUid());
+        }
+        // Picks up catalog versions published since the bundled or last downloaded copy
+        CatalogRepository.getInstance(this).refresh();
 /*        // Passing each menu ID as a set of Ids because each
         // menu should be considered as top level destinations.
         AppBarConfiguration appBarConfiguration = new AppBarConfiguration.Builder(
@@ -92,6 +116,29 @@ public class BottomNavigationManager extends AppCompatActivity {
         });
     }
 
+    /*********************************************************************************************************
+     * Method Name     : getServiceGridPool
+     * Description     : Returns the RecycledViewPool shared by the category grids hosted in this activity.
+     * Parameters      : None
+     * Return          : RecyclerView.RecycledViewPool – Pool of recycled category tiles.
+     *********************************************************************************************************/
+    public RecyclerView.RecycledViewPool getServiceGridPool() {
+        return serviceGridPool;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : onStop
+     * Description     : Flushes pending cart writes when the activity leaves the foreground, since the process
+     *                   may be killed afterwards.
+     * Parameters      : None
+     * Return          : void
+     *********************************************************************************************************/
+    @Override
+    protected void onStop() {
+        super.onStop();
+        CartStore.getInstance(this).flush();
+    }
+
     /*********************************************************************************************************
      * Method Name     : onBackPressed
      * Description     : Overrides default back press behavior. If user is logged in and on the home screen,
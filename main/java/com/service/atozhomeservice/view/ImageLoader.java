@@ -0,0 +1,272 @@
+package com.service.atozhomeservice.view;
+
+import android.app.ActivityManager;
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.util.LruCache;
+import android.util.SparseArray;
+import android.view.ViewTreeObserver;
+import android.widget.ImageView;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : ImageLoader
+ * Description    : Shared loader for the catalog photographs. The drawables are multi-megapixel photos
+ *                  without density variants, so setImageResource() decoded them at full size (and scaled
+ *                  them up for the screen density) on the main thread at every bind. This loader instead:
+ *                    - waits until the target ImageView has been measured and picks the largest
+ *                      inSampleSize that still covers it, decoding without density scaling;
+ *                    - decodes on a background pool and delivers on the main thread, dropping results for
+ *                      views that have been rebound in the meantime;
+ *                    - keeps decoded bitmaps in an LruCache bounded to 1/8 of the app's memory class, keyed
+ *                      on resource and sample size so screens showing the same photo at a similar size
+ *                      share one bitmap;
+ *                    - pools bitmaps evicted from the cache and decodes into them via inBitmap once no
+ *                      view displays them any more, which avoids GC churn while scrolling.
+ *                  Source photos are held to a size budget by scripts/check_drawable_budget.py, which
+ *                  `gradle check` in benchmarks/ runs.
+ * Threading      : Public methods must be called on the main thread.
+ *********************************************************************************************************/
+public final class ImageLoader {
+
+    private static final int MAX_POOL_SIZE = 6;
+
+    private static volatile ImageLoader instance;
+
+    private final Resources resources;
+    private final LruCache<String, Bitmap> memoryCache;
+    private final ExecutorService decodeExecutor = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "image-decode");
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Main thread only
+    private final SparseArray<int[]> boundsByResource = new SparseArray<>();   // raw width, height
+    private final Map<ImageView, String> requestedKeys = new WeakHashMap<>();
+    private final Map<ImageView, Bitmap> displayed = new WeakHashMap<>();
+    private final Set<String> inFlight = new HashSet<>();
+    private final List<Bitmap> reusePool = new ArrayList<>();
+
+    private ImageLoader(Context context) {
+        Context appContext = context.getApplicationContext();
+        resources = appContext.getResources();
+        ActivityManager activityManager = (ActivityManager) appContext.getSystemService(Context.ACTIVITY_SERVICE);
+        int cacheKb = activityManager.getMemoryClass() * 1024 / 8;
+        memoryCache = new LruCache<String, Bitmap>(cacheKb) {
+            @Override
+            protected int sizeOf(String key, Bitmap bitmap) {
+                return bitmap.getAllocationByteCount() / 1024;
+            }
+
+            @Override
+            protected void entryRemoved(boolean evicted, String key, Bitmap oldValue, Bitmap newValue) {
+                if (evicted && oldValue.isMutable() && reusePool.size() < MAX_POOL_SIZE) {
+                    reusePool.add(oldValue);
+                }
+            }
+        };
+    }
+
+    public static ImageLoader getInstance(Context context) {
+        if (instance == null) {
+            synchronized (ImageLoader.class) {
+                if (instance == null) {
+                    instance = new ImageLoader(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : load
+     * Description     : Displays a drawable resource in the ImageView, downsampled to the view's size. A cache
+     *                   hit is shown immediately; otherwise the view is cleared and the bitmap is set once it
+     *                   has been decoded, unless the view has been given another image in the meantime.
+     * Parameters      : int resId – Drawable resource of the photograph, 0 to clear the view.
+     *                   ImageView target – View to display it in.
+     * Return          : void
+     *********************************************************************************************************/
+    public void load(int resId, ImageView target) {
+        if (resId == 0) {
+            requestedKeys.remove(target);
+            show(target, null);
+            return;
+        }
+        if (target.getWidth() > 0 && target.getHeight() > 0) {
+            load(resId, target, target.getWidth(), target.getHeight());
+            return;
+        }
+        // Not measured yet (typical during a RecyclerView bind): decide the size just before drawing
+        requestedKeys.put(target, "pending:" + resId);
+        show(target, null);
+        target.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                target.getViewTreeObserver().removeOnPreDrawListener(this);
+                if (("pending:" + resId).equals(requestedKeys.get(target))) {
+                    int width = target.getWidth() > 0 ? target.getWidth() : resources.getDisplayMetrics().widthPixels;
+                    int height = target.getHeight() > 0 ? target.getHeight() : width;
+                    load(resId, target, width, height);
+                }
+                return true;
+            }
+        });
+    }
+
+    private void load(int resId, ImageView target, int width, int height) {
+        int[] bounds = boundsByResource.get(resId);
+        if (bounds != null) {
+            int sampleSize = sampleSize(bounds[0], bounds[1], width, height);
+            String key = resId + "@" + sampleSize;
+            Bitmap cached = memoryCache.get(key);
+            requestedKeys.put(target, key);
+            if (cached != null) {
+                show(target, cached);
+                return;
+            }
+            show(target, null);
+            if (inFlight.add(key)) {
+                Bitmap reusable = takeReusable(bounds[0] / sampleSize, bounds[1] / sampleSize);
+                decodeExecutor.execute(() -> decode(resId, sampleSize, reusable, key));
+            }
+            return;
+        }
+        // First use of this resource: read its bounds on the background thread, then decode
+        String boundsKey = "bounds:" + resId + "@" + width + "x" + height;
+        requestedKeys.put(target, boundsKey);
+        show(target, null);
+        decodeExecutor.execute(() -> {
+            int[] measured = readBounds(resId);
+            mainHandler.post(() -> {
+                boundsByResource.put(resId, measured);
+                if (boundsKey.equals(requestedKeys.get(target))) {
+                    load(resId, target, width, height);
+                }
+            });
+        });
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : preload
+     * Description     : Decodes a drawable into the cache ahead of time at the given display size, so a view
+     *                   that shows it next gets a synchronous cache hit. No-op if it is cached or decoding.
+     * Parameters      : int resId – Drawable resource of the photograph.
+     *                   int width – Expected display width in pixels.
+     *                   int height – Expected display height in pixels.
+     * Return          : void
+     *********************************************************************************************************/
+    public void preload(int resId, int width, int height) {
+        if (resId == 0 || width <= 0 || height <= 0) {
+            return;
+        }
+        int[] bounds = boundsByResource.get(resId);
+        if (bounds == null) {
+            decodeExecutor.execute(() -> {
+                int[] measured = readBounds(resId);
+                mainHandler.post(() -> {
+                    boundsByResource.put(resId, measured);
+                    preload(resId, width, height);
+                });
+            });
+            return;
+        }
+        int sampleSize = sampleSize(bounds[0], bounds[1], width, height);
+        String key = resId + "@" + sampleSize;
+        if (memoryCache.get(key) == null && inFlight.add(key)) {
+            Bitmap reusable = takeReusable(bounds[0] / sampleSize, bounds[1] / sampleSize);
+            decodeExecutor.execute(() -> decode(resId, sampleSize, reusable, key));
+        }
+    }
+
+    // Background thread: raw dimensions of a drawable without decoding its pixels
+    private int[] readBounds(int resId) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        options.inScaled = false;
+        BitmapFactory.decodeResource(resources, resId, options);
+        return new int[] {options.outWidth, options.outHeight};
+    }
+
+    private void decode(int resId, int sampleSize, Bitmap reusable, String key) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inScaled = false;
+        options.inSampleSize = sampleSize;
+        options.inMutable = true;
+        options.inBitmap = reusable;
+        Bitmap bitmap;
+        try {
+            bitmap = BitmapFactory.decodeResource(resources, resId, options);
+        } catch (IllegalArgumentException e) {
+            // The pooled bitmap did not fit after all; decode into a fresh one
+            options.inBitmap = null;
+            bitmap = BitmapFactory.decodeResource(resources, resId, options);
+        }
+        Bitmap decoded = bitmap;
+        mainHandler.post(() -> {
+            inFlight.remove(key);
+            if (decoded == null) {
+                Log.e("ImageLoader", "Failed to decode resource " + resId);
+                return;
+            }
+            memoryCache.put(key, decoded);
+            for (Map.Entry<ImageView, String> entry : requestedKeys.entrySet()) {
+                if (key.equals(entry.getValue())) {
+                    show(entry.getKey(), decoded);
+                }
+            }
+        });
+    }
+
+    private void show(ImageView target, Bitmap bitmap) {
+        if (bitmap == null) {
+            displayed.remove(target);
+            target.setImageDrawable(null);
+        } else {
+            displayed.put(target, bitmap);
+            target.setImageBitmap(bitmap);
+        }
+    }
+
+    // A pooled bitmap can be decoded into when it is large enough and no view still displays it
+    private Bitmap takeReusable(int width, int height) {
+        long needed = (long) width * height * 4;
+        Iterator<Bitmap> iterator = reusePool.iterator();
+        while (iterator.hasNext()) {
+            Bitmap candidate = iterator.next();
+            if (candidate.isRecycled()) {
+                iterator.remove();
+            } else if (candidate.getAllocationByteCount() >= needed && !displayed.containsValue(candidate)) {
+                iterator.remove();
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    // Largest power of two that keeps both decoded dimensions at least as large as the view
+    private static int sampleSize(int rawWidth, int rawHeight, int width, int height) {
+        int sampleSize = 1;
+        while (rawWidth / (sampleSize * 2) >= width && rawHeight / (sampleSize * 2) >= height) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+}
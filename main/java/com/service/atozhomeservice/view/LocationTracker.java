@@ -3,8 +3,6 @@ package com.service.atozhomeservice.view;
 import android.content.Intent;
 import android.content.IntentSender;
 import android.content.pm.PackageManager;
-import android.location.Address;
-import android.location.Geocoder;
 import android.os.Bundle;
 import android.widget.Toast;
 
@@ -17,7 +15,6 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 import com.google.android.gms.location.LocationRequest;
 import com.google.android.gms.common.api.ResolvableApiException;
-import com.google.android.gms.location.FusedLocationProviderClient;
 import com.google.android.gms.location.LocationServices;
 import android.Manifest;
 
@@ -29,29 +26,27 @@ import com.google.android.gms.tasks.Task;
 import com.service.atozhomeservice.MainActivity;
 import com.service.atozhomeservice.R;
 import com.service.atozhomeservice.databinding.ActivityLocationTrackerBinding;
+import com.service.atozhomeservice.model.GeocodedAddress;
+import com.service.atozhomeservice.repository.GeocodingService;
+import com.service.atozhomeservice.repository.LocationAcquirer;
+import com.service.atozhomeservice.repository.LocationStore;
 
-import java.io.IOException;
-import java.util.List;
-import java.util.Locale;
 
 public class LocationTracker extends AppCompatActivity {
 
     //Instance Variables
-    private FusedLocationProviderClient fusedLocationClient;
-    private static String fetchedAddress = "";
     private ActivityLocationTrackerBinding binding;
-
-    private static String areaLine,regionLine ;
+    private LocationAcquirer.Acquisition acquisition;
 
 
 
     /*************************************************************************************************************
      * Author         : Gunnampalli Parameswara Reddy
      * Function Name  : onCreate
-     * Description    : Initializes the Activity UI and sets up high-accuracy location tracking using the Fused
-     *                  Location Provider. Applies edge-to-edge display with proper insets, starts an animation,
-     *                  configures location request intervals, validates device settings, and prompts the user to
-     *                  enable location services if required. If settings are adequate, it triggers location fetch.
+     * Description    : Initializes the Activity UI and the location lookup. Applies edge-to-edge display with
+     *                  proper insets, starts an animation, validates device settings for a balanced-power fix,
+     *                  and prompts the user to enable location services if required. If settings are adequate,
+     *                  it triggers location fetch.
      * Called By      : Android System on Activity Launch
      * Parameters     : Bundle savedInstanceState – Used to restore the previous state of the Activity
      * Return         : None
@@ -69,13 +64,12 @@ public class LocationTracker extends AppCompatActivity {
             return insets;
         });
 
-        fusedLocationClient = LocationServices.getFusedLocationProviderClient(this);
         binding.locationAnimation.playAnimation();
 
+        // Checked against what LocationAcquirer asks for: one balanced-power fix, no GPS session
         LocationRequest locationRequest = LocationRequest.create()
-                .setPriority(Priority.PRIORITY_HIGH_ACCURACY)
-                .setInterval(10000)
-                .setFastestInterval(5000);
+                .setPriority(Priority.PRIORITY_BALANCED_POWER_ACCURACY)
+                .setNumUpdates(1);
 
         LocationSettingsRequest.Builder builder = new LocationSettingsRequest.Builder()
                 .addLocationRequest(locationRequest)
@@ -108,11 +102,11 @@ public class LocationTracker extends AppCompatActivity {
     /*************************************************************************************************************
      * Author         : Gunnampalli Parameswara Reddy
      * Function Name  : fetchLocation
-     * Description    : Checks for location permission and retrieves the user's last known location. If not available,
-     *                  it requests a single high-accuracy location update. Upon success, it invokes a custom method
-     *                  to handle the retrieved location. Provides fallback handling and animation cancellation if
-     *                  location retrieval fails.
-     * Called By      : onCreate()
+     * Description    : Checks for location permission and starts a LocationAcquirer race between the cached fix,
+     *                  the last known location and a balanced-power current location, bounded by one deadline.
+     *                  The winning fix is handed to handleLocation(); if no source produces a fix in time, the
+     *                  animation is cancelled and the user is told. Any earlier acquisition is cancelled first.
+     * Called By      : onCreate(), onActivityResult(), onRequestPermissionsResult()
      * Parameters     : None
      * Return         : None
      *************************************************************************************************************/
@@ -123,39 +117,47 @@ public class LocationTracker extends AppCompatActivity {
             return;
         }
 
-        fusedLocationClient.getLastLocation().addOnSuccessListener(location -> {
-            if (location != null) {
+        if (acquisition != null) {
+            acquisition.cancel();
+        }
+        acquisition = LocationAcquirer.getInstance(this).acquire(new LocationAcquirer.FixCallback() {
+            @Override
+            public void onFix(android.location.Location location, LocationAcquirer.Source source) {
                 handleLocation(location);
-            } else {
-                // 🔁 Fallback: request a fresh location
-                LocationRequest locationRequest = LocationRequest.create()
-                        .setPriority(Priority.PRIORITY_HIGH_ACCURACY)
-                        .setInterval(0)
-                        .setFastestInterval(0)
-                        .setNumUpdates(1); // Only one update needed
-
-                fusedLocationClient.requestLocationUpdates(locationRequest, new com.google.android.gms.location.LocationCallback() {
-                    @Override
-                    public void onLocationResult(com.google.android.gms.location.LocationResult locationResult) {
-                        if (locationResult != null && !locationResult.getLocations().isEmpty()) {
-                            handleLocation(locationResult.getLastLocation());
-                        } else {
-                            binding.addressText.setText("Still unable to fetch location");
-                            binding.locationAnimation.cancelAnimation();
-                        }
-                    }
-                }, getMainLooper());
+            }
+
+            @Override
+            public void onFailure(String errorMessage) {
+                binding.addressText.setText("Still unable to fetch location");
+                binding.locationAnimation.cancelAnimation();
             }
         });
     }
 
+    /*************************************************************************************************************
+     * Author         : Gunnampalli Parameswara Reddy
+     * Function Name  : onDestroy
+     * Description    : Cancels a location acquisition still in flight, so its pending request is released and
+     *                  no callback reaches the destroyed Activity.
+     * Called By      : Android System
+     * Parameters     : None
+     * Return         : None
+     *************************************************************************************************************/
+    @Override
+    protected void onDestroy() {
+        if (acquisition != null) {
+            acquisition.cancel();
+        }
+        super.onDestroy();
+    }
+
     /*************************************************************************************************************
      * Author         : Gunnampalli Parameswara Reddy
      * Function Name  : handleLocation
-     * Description    : Converts the user's latitude and longitude into a human-readable address using Geocoder.
-     *                  Updates the UI with the fetched address, pauses the animation, and navigates to the home
-     *                  screen upon success. Handles errors gracefully if geocoding fails due to network or service
-     *                  issues.
+     * Description    : Converts the user's latitude and longitude into a human-readable address using the cached,
+     *                  asynchronous GeocodingService. Updates the UI with the fetched address, pauses the
+     *                  animation, and navigates to the home screen upon success. Handles errors gracefully if
+     *                  geocoding fails due to network or service issues.
      * Called By      : fetchLocation()
      * Parameters     : android.location.Location location – The GPS-based geographic coordinates of the user
      * Return         : None
@@ -177,45 +179,31 @@ public class LocationTracker extends AppCompatActivity {
     }*/
 
     private void handleLocation(android.location.Location location) {
+        StartupTrace.mark("location-fix");
         binding.locationAnimation.pauseAnimation();
-        Geocoder geocoder = new Geocoder(this, Locale.getDefault());
-        try {
-            List<Address> addresses = geocoder.getFromLocation(location.getLatitude(), location.getLongitude(), 1);
-            if (!addresses.isEmpty()) {
-                Address address = addresses.get(0);
-
-                // First line: Building + Area/Street
-                areaLine = "";
-
-                if (address.getFeatureName() != null && !address.getFeatureName().equals(address.getThoroughfare())) {
-                    areaLine += address.getFeatureName() + " ";
-                }
-                if (address.getSubThoroughfare() != null) {
-                    areaLine += address.getSubThoroughfare() + " ";
-                }
-                if (address.getThoroughfare() != null) {
-                    areaLine += address.getThoroughfare();
-                }
-                if (address.getSubLocality() != null) {
-                    areaLine += ", " + address.getSubLocality();
-                }
-
-
-                // Second line: City, State, Country
-                regionLine = "";
-                if (address.getLocality() != null) regionLine += address.getLocality() + ", ";
-                if (address.getAdminArea() != null) regionLine += address.getAdminArea() + ", ";
-                if (address.getCountryName() != null) regionLine += address.getCountryName()+", ";
-                if(address.getPostalCode() != null) regionLine += address.getPostalCode();
-                fetchedAddress = areaLine +", "+ regionLine;
-                binding.addressText.setText(fetchedAddress);
-                navigateToHome();
-            }
+        GeocodingService.getInstance(this).reverseGeocode(location.getLatitude(), location.getLongitude(),
+                new GeocodingService.AddressCallback() {
+                    @Override
+                    public void onSuccess(GeocodedAddress address) {
+                        if (isFinishing() || isDestroyed()) {
+                            return;
+                        }
+                        StartupTrace.mark("address-resolved");
+                        // Keep the exact fix; the cached address may carry a neighbouring point of its cell
+                        GeocodedAddress fix = address.withCoordinates(location.getLatitude(),
+                                location.getLongitude());
+                        LocationStore.getInstance(LocationTracker.this).update(fix);
+                        binding.addressText.setText(fix.getDisplayAddress());
+                        navigateToHome();
+                    }
 
-        } catch (IOException e) {
-            binding.addressText.setText("Error fetching address");
-            e.printStackTrace();
-        }
+                    @Override
+                    public void onFailure(String errorMessage) {
+                        if (!isFinishing() && !isDestroyed()) {
+                            binding.addressText.setText("Error fetching address");
+                        }
+                    }
+                });
     }
 
 
@@ -275,8 +263,7 @@ public class LocationTracker extends AppCompatActivity {
     /*************************************************************************************************************
      * Author         : Gunnampalli Parameswara Reddy
      * Function Name  : navigateToHome
-     * Description    : Delays navigation to the BottomNavigationManager activity by 3 seconds to allow UI
-     *                  transitions or animations (such as displaying the user's address) to complete smoothly.
+     * Description    : Navigates to the BottomNavigationManager activity as soon as the address is resolved.
      *                  It clears the current task stack and starts a new task, preventing the user from
      *                  navigating back to the location screen.
      * Called By      : handleLocation()
@@ -284,57 +271,9 @@ public class LocationTracker extends AppCompatActivity {
      * Return         : None
      *************************************************************************************************************/
     private void navigateToHome() {
-        new android.os.Handler().postDelayed(() -> {
-            Intent intent = new Intent(LocationTracker.this, BottomNavigationManager.class);
-            intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
-            intent.putExtra("location",fetchedAddress);
-            startActivity(intent);
-            finish();
-        }, 3000);
-    }
-    /*********************************************************************************************************
-     * Method Name     : getFetchedAddress
-     * Description     : Retrieves the full formatted address string previously stored during location
-     *                   selection via map tap or search.
-     * Parameters      : None
-     * Return          : String – The stored full address.
-     *********************************************************************************************************/
-    public static String getFetchedAddress()
-    {
-        return fetchedAddress;
-    }
-
-    /*********************************************************************************************************
-     * Method Name     : setFetchedAddress
-     * Description     : Updates the fetched address with a new location string, typically after a new
-     *                   location is selected by the user.
-     * Parameters      : String location – The full formatted address to be saved.
-     * Return          : void
-     *********************************************************************************************************/
-    public static void setFetchedAddress(String location)
-    {
-        fetchedAddress = location;
-    }
-
-    /*********************************************************************************************************
-     * Method Name     : getAreaLine
-     * Description     : Returns the local area line component of the address (e.g., street, neighborhood).
-     * Parameters      : None
-     * Return          : String – A localized portion of the address used for display.
-     *********************************************************************************************************/
-    public static String getAreaLine()
-    {
-        return areaLine;
-    }
-
-    /*********************************************************************************************************
-     * Method Name     : getRegionLine
-     * Description     : Returns the region-level component of the address (e.g., city, district, state).
-     * Parameters      : None
-     * Return          : String – Higher-level geographic info used for display.
-     *********************************************************************************************************/
-    public static String getRegionLine()
-    {
-        return regionLine;
+        Intent intent = new Intent(LocationTracker.this, BottomNavigationManager.class);
+        intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+        startActivity(intent);
+        finish();
     }
-}
\ No newline at end of file
+}
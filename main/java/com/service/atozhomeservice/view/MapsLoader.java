@@ -0,0 +1,42 @@
+package com.service.atozhomeservice.view;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.google.android.gms.maps.MapsInitializer;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : MapsLoader
+ * Description    : Loads the Google Maps renderer on demand. Nothing in the app touches the Maps SDK until
+ *                  the user heads for SearchLocation, so users who never change their address never pay its
+ *                  startup and memory cost. warmUp() is called from the tap that opens that screen, letting
+ *                  the renderer load during the navigation rather than after the screen appears; the time it
+ *                  takes is logged as a StartupTrace milestone.
+ * Usage Scope    : BackgroundFragment (displayLocation tap) and SearchLocation.
+ *********************************************************************************************************/
+public final class MapsLoader {
+
+    private static boolean requested;
+
+    private MapsLoader() {}
+
+    /*********************************************************************************************************
+     * Method Name     : warmUp
+     * Description     : Starts loading the Maps renderer once per process; later calls do nothing.
+     * Parameters      : Context context – Any context; the application context is used.
+     * Return          : void
+     *********************************************************************************************************/
+    public static void warmUp(Context context) {
+        if (requested) {
+            return;
+        }
+        requested = true;
+        long startMs = SystemClock.elapsedRealtime();
+        MapsInitializer.initialize(context.getApplicationContext(), MapsInitializer.Renderer.LATEST, renderer -> {
+            Log.i("MapsLoader", renderer + " renderer loaded in " + (SystemClock.elapsedRealtime() - startMs) + " ms");
+            StartupTrace.mark("maps-ready");
+        });
+    }
+}
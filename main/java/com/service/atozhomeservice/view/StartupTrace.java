@@ -0,0 +1,74 @@
+package com.service.atozhomeservice.view;
+
+import android.app.Activity;
+import android.os.Build;
+import android.os.Process;
+import android.os.SystemClock;
+import android.os.Trace;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : StartupTrace
+ * Description    : Measures cold start. Each mark() logs the milliseconds elapsed since the process started
+ *                  under the "StartupTrace" tag and emits a systrace section, and reportFirstFrame() marks the
+ *                  first frame of the home screen and reports it to the system via reportFullyDrawn(), so
+ *                  the same number shows up in "Fully drawn" logcat lines and in Perfetto traces.
+ * Usage Scope    : MainActivity, LocationTracker, BottomNavigationManager and BackgroundFragment.
+ *********************************************************************************************************/
+public final class StartupTrace {
+
+    private static final String TAG = "StartupTrace";
+    private static final long CLASS_LOAD_UPTIME = SystemClock.uptimeMillis();
+
+    private static boolean firstFrameReported;
+
+    private StartupTrace() {}
+
+    /*********************************************************************************************************
+     * Method Name     : mark
+     * Description     : Records a named startup milestone.
+     * Parameters      : String milestone – Short name of the milestone, e.g. "main-created".
+     * Return          : void
+     *********************************************************************************************************/
+    public static void mark(String milestone) {
+        Trace.beginSection(TAG + ":" + milestone);
+        Log.i(TAG, milestone + " at +" + sinceProcessStart() + " ms");
+        Trace.endSection();
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : reportFirstFrame
+     * Description     : Marks the first frame drawn after the given view is attached, once per process.
+     * Parameters      : View view – Root view of the first interactive screen.
+     *                   Activity activity – Hosting activity, used for reportFullyDrawn().
+     * Return          : void
+     *********************************************************************************************************/
+    public static void reportFirstFrame(View view, Activity activity) {
+        if (firstFrameReported) {
+            return;
+        }
+        firstFrameReported = true;
+        view.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                view.getViewTreeObserver().removeOnPreDrawListener(this);
+                // Posted so the mark lands after the frame has been drawn
+                view.post(() -> {
+                    mark("first-frame");
+                    activity.reportFullyDrawn();
+                });
+                return true;
+            }
+        });
+    }
+
+    private static long sinceProcessStart() {
+        long start = Build.VERSION.SDK_INT >= Build.VERSION_CODES.N
+                ? Process.getStartUptimeMillis()
+                : CLASS_LOAD_UPTIME;
+        return SystemClock.uptimeMillis() - start;
+    }
+}
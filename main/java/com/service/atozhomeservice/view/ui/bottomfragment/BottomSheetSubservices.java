@@ -6,6 +6,7 @@ import android.os.Bundle;
 
 import androidx.fragment.app.Fragment;
 import androidx.navigation.fragment.NavHostFragment;
+import androidx.recyclerview.widget.LinearLayoutManager;
 
 import android.view.LayoutInflater;
 import android.view.View;
@@ -18,36 +19,29 @@ import com.google.android.material.bottomsheet.BottomSheetDialog;
 import com.google.android.material.bottomsheet.BottomSheetDialogFragment;
 import com.service.atozhomeservice.R;
 import com.service.atozhomeservice.databinding.FragmentBottomSheetSubservicesBinding;
-import com.service.atozhomeservice.model.CartItem;
 import com.service.atozhomeservice.model.CartManager;
+import com.service.atozhomeservice.model.CatalogNode;
+import com.service.atozhomeservice.repository.CatalogRepository;
 import com.service.atozhomeservice.view.ui.recyclerlayout.QuantityAdapter;
-
-import java.util.ArrayList;
-import java.util.List;
+import com.service.atozhomeservice.viewmodel.CartLiveData;
 
 /*********************************************************************************************************
  * Author         : Gunnampalli Parameswara Reddy
  * Class Name     : BottomSheetSubservices
  * Description    : A BottomSheetDialogFragment that displays sub-services related to a selected service
  *                  category. Allows users to adjust item quantities, updates the cart accordingly, and
- *                  displays the total price. Facilitates navigation to cart view.
+ *                  displays the total price. Facilitates navigation to cart view. The sub-services are read
+ *                  from the service's category in CatalogRepository.
  * Called By      : Service fragments (e.g., Carpenter) when a sub-service grid needs to be shown.
- * Instance Vars  : String[] labels         – Sub-service labels
- *                  int[] icons             – Drawable resource IDs for sub-service icons
- *                  double[] itemPrices     – Prices for each sub-service item
- *                  String title            – Title displayed in the sheet
- *                  String mainService      – Parent category of the sub-services
+ * Instance Vars  : String serviceId        – Catalog ID of the service whose sub-services are shown
+ *                  QuantityAdapter adapter – Adapter of the sub-service list, created with the first catalog
+ *                                            emission
  *                  FragmentBottomSheetSubservicesBinding binding – View binding reference
  *********************************************************************************************************/
 public class BottomSheetSubservices extends BottomSheetDialogFragment {
 
-    private String []labels;
-    private int [] icons;
-    private String title;
-
-    private String mainService;
-
-    private double [] itemPrices;
+    private String serviceId;
+    private QuantityAdapter adapter;
     private FragmentBottomSheetSubservicesBinding binding;
 
     /*********************************************************************************************************
@@ -63,21 +57,13 @@ public class BottomSheetSubservices extends BottomSheetDialogFragment {
     /*********************************************************************************************************
      * Static Method   : newInstance
      * Description     : Factory method to create and pass arguments to a new instance of the dialog.
-     * Parameters      : String mainService – Parent service category
-     *                   String title       – Header/title for the sub-service sheet
-     *                   int[] icons        – Array of drawable IDs for icons
-     *                   String[] labels    – Sub-service labels
-     *                   double[] itemPrices– Prices for each sub-service item
+     * Parameters      : String serviceId – Catalog ID of the service, e.g. "carpenter.cupboards"
      * Return          : BottomSheetSubservices – Configured instance of the bottom sheet
      *********************************************************************************************************/
-    public static BottomSheetSubservices newInstance(String mainService,String title, int[] icons, String[] labels,double [] itemPrices) {
+    public static BottomSheetSubservices newInstance(String serviceId) {
         BottomSheetSubservices sheet = new BottomSheetSubservices();
         Bundle args = new Bundle();
-        args.putString("mainService",mainService);
-        args.putString("title", title);
-        args.putIntArray("icons", icons);
-        args.putStringArray("labels", labels);
-        args.putDoubleArray("itemprices",itemPrices);
+        args.putString("serviceId", serviceId);
         sheet.setArguments(args);
         return sheet;
     }
@@ -94,11 +80,7 @@ public class BottomSheetSubservices extends BottomSheetDialogFragment {
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         if (getArguments() != null) {
-            mainService = getArguments().getString("mainService");
-            title = getArguments().getString("title");
-            icons = getArguments().getIntArray("icons");
-            labels = getArguments().getStringArray("labels");
-            itemPrices = getArguments().getDoubleArray("itemprices");
+            serviceId = getArguments().getString("serviceId");
         }
 
     }
@@ -106,7 +88,8 @@ public class BottomSheetSubservices extends BottomSheetDialogFragment {
     /*********************************************************************************************************
      * Method Name     : onCreateView
      * Description     : Inflates the fragment layout, sets up the header, item grid, and UI click listeners.
-     *                   Binds the QuantityAdapter and updates the total amount on load and whenever items change.
+     *                   Binds the service's sub-services from the catalog to a QuantityAdapter and updates the
+     *                   total amount on load and whenever the cart change stream emits.
      * Called By       : Fragment lifecycle
      * Parameters      : LayoutInflater inflater – Inflater for layout XML
      *                   ViewGroup container     – Parent view group
@@ -120,10 +103,25 @@ public class BottomSheetSubservices extends BottomSheetDialogFragment {
         binding = FragmentBottomSheetSubservicesBinding.inflate(inflater,container,false);
         View root = binding.getRoot();
 
-        binding.headerTitle.setText(title);
-        QuantityAdapter adapter = new QuantityAdapter(requireContext(), this,mainService,title, icons, labels,itemPrices,this::updateTotalAmount);
-        binding.itemView.setAdapter(adapter);
+        binding.itemView.setLayoutManager(new LinearLayoutManager(requireContext()));
+        adapter = null;
+        CatalogRepository.getInstance(requireContext()).getCategory(CatalogNode.categoryIdOf(serviceId))
+                .observe(getViewLifecycleOwner(), category -> {
+                    CatalogNode service = category.find(serviceId);
+                    if (service == null) {
+                        return;
+                    }
+                    if (adapter == null) {
+                        // Cart entries are keyed on the category and service labels
+                        adapter = new QuantityAdapter(category.getLabel(), service.getLabel(), null);
+                        binding.itemView.setAdapter(adapter);
+                    }
+                    binding.headerTitle.setText(service.getLabel());
+                    adapter.submitList(service.getChildTiles());
+                });
         updateTotalAmount();
+        // Coalesced cart deltas: a burst of +/- taps refreshes the total once
+        new CartLiveData().observe(getViewLifecycleOwner(), changes -> updateTotalAmount());
         binding.btnClose.setOnClickListener(v->dismiss());
 
         binding.viewCart.setOnClickListener(v->{
@@ -134,18 +132,13 @@ public class BottomSheetSubservices extends BottomSheetDialogFragment {
     }
     /*********************************************************************************************************
      * Method Name     : updateTotalAmount
-     * Description     : Calculates and updates the total cost of all selected items from the cart.
-     * Called By       : QuantityAdapter (via callback) and onCreateView
+     * Description     : Displays the running cart total maintained by the CartManager.
+     * Called By       : CartLiveData observer and onCreateView
      * Parameters      : None
      * Return          : void
      *********************************************************************************************************/
     private void updateTotalAmount() {
-        double total = 0.0;
-        List<CartItem> cartItems = CartManager.getInstance().getItems();
-        for (CartItem item : cartItems) {
-            total += item.getItemPrice() * item.getQuantity();
-        }
-        binding.totalItemAmount.setText(String.format("₹ %.2f", total));
+        binding.totalItemAmount.setText(CartManager.getInstance().getTotal().format());
     }
 
     /*********************************************************************************************************
@@ -6,27 +6,29 @@ import android.view.View;
 import android.view.ViewGroup;
 
 import androidx.fragment.app.Fragment;
-import androidx.navigation.fragment.NavHostFragment;
 
-import com.service.atozhomeservice.R;
 import com.service.atozhomeservice.databinding.FragmentCarpenterBinding;
+import com.service.atozhomeservice.model.CatalogNode;
+import com.service.atozhomeservice.repository.CatalogRepository;
+import com.service.atozhomeservice.view.BottomNavigationManager;
 import com.service.atozhomeservice.view.ui.bottomfragment.BottomSheetSubservices;
 import com.service.atozhomeservice.view.ui.recyclerlayout.CustomAdapter;
 import com.service.atozhomeservice.view.ui.recyclerlayout.OnServiceCategoryClickListener;
-import com.service.atozhomeservice.view.ui.recyclerlayout.QuantityAdapter;
 /*********************************************************************************************************
  * Author         : Gunnampalli Parameswara Reddy
  * Class Name     : carpenter
- * Description    : Fragment representing the "Carpenter" category in the service app. Displays a grid of
- *                  available carpenter services using a CustomAdapter and handles user interactions for
- *                  each service. If a category supports sub-services, a bottom sheet dialog is displayed;
- *                  otherwise, direct navigation is triggered.
+ * Description    : Fragment showing the services of one catalog category, the "Carpenter" category unless
+ *                  the ARG_CATEGORY_ID argument names another. Displays a grid of the category's services
+ *                  using a CustomAdapter and handles user interactions for each service. If a service has
+ *                  priced sub-services, a bottom sheet dialog is displayed.
  * Called By      : Navigation component when navigating to carpenter-related services.
  * Implements     : OnServiceCategoryClickListener – Handles click interactions on service grid items.
  * Instance Vars  : FragmentCarpenterBinding binding – Used to bind views declared in layout XML to code.
  *********************************************************************************************************/
 public class carpenter extends Fragment implements OnServiceCategoryClickListener {
 
+    public static final String ARG_CATEGORY_ID = "categoryId";
+
     private FragmentCarpenterBinding binding;
 
     public carpenter() {
@@ -36,9 +38,10 @@ public class carpenter extends Fragment implements OnServiceCategoryClickListene
     /*************************************************************************************************************
      * Author         : Gunnampalli Parameswara Reddy
      * Function Name  : onCreateView
-     * Description    : Initializes the carpenter service fragment UI. It inflates the layout using view binding,
-     *                  prepares image resources and labels representing different carpenter services (e.g., cupboards,
-     *                  fittings, repairs), and sets up a custom adapter to populate a GridView with service items.
+     * Description    : Initializes the category service fragment UI. It inflates the layout using view binding,
+     *                  sets up a custom adapter on a RecyclerView grid that shares recycled tiles with the home
+     *                  grid, and fills it with the category's services (e.g., cupboards, fittings, repairs) as
+     *                  loaded by CatalogRepository.
      *                  This setup ensures the fragment displays a visual selection grid to the user.
      * Called By      : Android Framework when the fragment view is being created
      * Parameters     : LayoutInflater inflater      – Used to inflate the fragment layout
@@ -52,53 +55,35 @@ public class carpenter extends Fragment implements OnServiceCategoryClickListene
         binding = FragmentCarpenterBinding.inflate(inflater, container, false);
         View root = binding.getRoot();
 
-        int[] image_ids = {
-                R.drawable.cupboards, R.drawable.kitchenfitting, R.drawable.shelves_decor,
-                R.drawable.woodendoor, R.drawable.window_curtain, R.drawable.furniture_repair,
-                R.drawable.clothes_hanger
-        };
-
-        String[] labels = {
-                "Cupboards & Drawers", "Kitchen Fittings", "Shelves & Decor",
-                "Wooden Door", "Window & Repair", "Furniture Repair", "Clothes Hanger"
-        };
+        String categoryId = getArguments() != null
+                ? getArguments().getString(ARG_CATEGORY_ID, "carpenter")
+                : "carpenter";
 
-        CustomAdapter customAdapter = new CustomAdapter(requireContext(), this, image_ids, labels, this);
-        binding.gridView.setAdapter(customAdapter);
+        CustomAdapter customAdapter = new CustomAdapter(this);
+        CustomAdapter.setUpGrid(binding.gridView, customAdapter,
+                ((BottomNavigationManager) requireActivity()).getServiceGridPool());
+        CatalogRepository.getInstance(requireContext()).getCategory(categoryId)
+                .observe(getViewLifecycleOwner(), category -> customAdapter.submitList(category.getChildTiles()));
         return root;
     }
 
     /*********************************************************************************************************
      * Method Name     : onServiceClicked
-     * Description     : Handles item selection from the service grid. When "Cupboards & Drawers" is selected,
-     *                   a BottomSheet is shown with corresponding sub-services and their pricing. For other
-     *                   generic labels, navigates to predefined destinations.
+     * Description     : Handles item selection from the service grid. When the selected service has priced
+     *                   sub-services in the catalog (e.g. "Cupboards & Drawers"), a BottomSheet is shown with
+     *                   them and their pricing.
      * Called By       : CustomAdapter when a service item is tapped.
-     * Parameters      : String label – Label of the tapped service item.
+     * Parameters      : String serviceId – Catalog ID of the tapped service item.
      * Return          : void
      *********************************************************************************************************/
     @Override
-    public void onServiceClicked(String label) {
-        if (label.equals("Cupboards & Drawers")) {
-            int[] ids = {
-                    R.drawable.cupboardlock, R.drawable.cabinethinges,
-                    R.drawable.wardrobe, R.drawable.cupboardrepair
-            };
-
-            String[] titles = {
-                    "Cupboard Locks Repair", "Cupboard Cabinet",
-                    "Cupboard Wardrobe", "Cupboard Repair"
-            };
-
-            double [] prices ={
-                    99.0,72,100,200
-            };
-
-            BottomSheetSubservices sheet = BottomSheetSubservices.newInstance("Carpenter",label, ids, titles,prices);
+    public void onServiceClicked(String serviceId) {
+        CatalogRepository repository = CatalogRepository.getInstance(requireContext());
+        CatalogNode service = repository.find(serviceId);
+        if (service != null && service.hasChildren()) {
+            repository.recordSelection(serviceId);
+            BottomSheetSubservices sheet = BottomSheetSubservices.newInstance(serviceId);
             sheet.show(getParentFragmentManager(), "SubServices");
-
-        } else if (label.equals("Carpenter")) {
-            NavHostFragment.findNavController(this).navigate(R.id.navigation_carpenter_service);
         }
     }
 }
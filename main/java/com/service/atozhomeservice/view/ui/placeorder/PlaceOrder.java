@@ -5,6 +5,7 @@ import android.content.Intent;
 import android.net.Uri;
 import android.os.Bundle;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
@@ -21,11 +22,16 @@ import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.service.atozhomeservice.R;
 import com.service.atozhomeservice.databinding.FragmentPlaceOrderBinding;
-import com.service.atozhomeservice.model.CartItem;
 import com.service.atozhomeservice.model.CartManager;
+import com.service.atozhomeservice.model.GeocodedAddress;
+import com.service.atozhomeservice.model.Money;
 import com.service.atozhomeservice.model.Order;
+import com.service.atozhomeservice.repository.LocationStore;
+import com.service.atozhomeservice.repository.OrderMapper;
+import com.service.atozhomeservice.repository.OrderOutbox;
 import com.service.atozhomeservice.view.ui.viewcart.CartAdapter;
 import com.service.atozhomeservice.viewmodel.AuthViewModel;
+import com.service.atozhomeservice.viewmodel.CartLiveData;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -40,26 +46,29 @@ import java.util.Map;
  * Called By      : Navigation component when user proceeds to place an order.
  * Instance Vars  : FragmentPlaceOrderBinding binding – View binding for UI access.
  *                  static int UPI_PAYMENT_REQUEST     – Request code for UPI payment response.
- *                  double totalAmount                 – Total price of selected cart items.
+ *                  Money totalAmount                  – Total price of selected cart items.
  *                  AuthViewModel viewModel            – ViewModel for placing and updating orders.
- *                  ArrayList<CartItem> cartList       – Items selected by the user.
  *                  String userId                      – Firebase UID of the current user.
  *                  String orderIdToUpdate             – Used to update an existing order if provided.
+ *                  String checkoutKey                 – Idempotency key (order ID) of this checkout, kept
+ *                                                       across retries and configuration changes.
  *********************************************************************************************************/
 public class PlaceOrder extends Fragment {
 
     private FragmentPlaceOrderBinding binding;
     private static final int UPI_PAYMENT_REQUEST = 199;
-    private double totalAmount;
+    private Money totalAmount = Money.ZERO;
     private AuthViewModel viewModel;
-    private ArrayList<CartItem> cartList;
     private String userId;
     private String orderIdToUpdate; // Optional if passed from elsewhere
+    private String checkoutKey;
+
+    private static final String KEY_CHECKOUT = "checkoutKey";
 
     /*********************************************************************************************************
      * Method Name     : onCreateView
      * Description     : Inflates the layout, initializes the ViewModel, retrieves cart data, sets up the
-     *                   recycler view, observes LiveData for order updates, and manages user interactions
+     *                   recycler view, observes cart deltas and LiveData for order updates, and manages user interactions
      *                   like payment option selection and order confirmation.
      * Parameters      : LayoutInflater inflater – Inflater used to load fragment layout.
      *                   ViewGroup container     – The parent view for the fragment layout.
@@ -77,13 +86,22 @@ public class PlaceOrder extends Fragment {
             orderIdToUpdate = getArguments().getString("orderId");
         }
 
-        cartList = new ArrayList<>(CartManager.getInstance().getItems());
-        CartAdapter adapter = new CartAdapter(cartList);
+        // One key per checkout, so repeated taps and retries resolve to the same order document
+        checkoutKey = savedInstanceState != null ? savedInstanceState.getString(KEY_CHECKOUT) : null;
+        if (checkoutKey == null) {
+            checkoutKey = OrderOutbox.newIdempotencyKey();
+        }
+
+        // Filled by the resync batch CartLiveData emits when the view starts
+        CartAdapter adapter = new CartAdapter(new ArrayList<>());
         binding.selectedItemsGrid.setLayoutManager(new LinearLayoutManager(getContext()));
         binding.selectedItemsGrid.setAdapter(adapter);
 
-        totalAmount = calculateTotalAmount(cartList);
-        binding.totalAmountText.setText(String.format("Total : ₹ %.2f", totalAmount));
+        updateTotalAmount();
+        new CartLiveData().observe(getViewLifecycleOwner(), changes -> {
+            adapter.applyChanges(changes);
+            updateTotalAmount();
+        });
 
         setupObservers();
 
@@ -101,11 +119,13 @@ public class PlaceOrder extends Fragment {
                     Map<String, Object> updateFields = new HashMap<>();
                     updateFields.put("paymentType", "Cash on Service");
                     updateFields.put("status", "Confirmed");
-                    updateFields.put("totalAmount", totalAmount);
+                    updateFields.put(OrderMapper.FIELD_TOTAL_PAISE, totalAmount.getPaise());
+                    binding.confirmOrderButton.setEnabled(false);
                     viewModel.updateOrder(orderIdToUpdate, updateFields);
                 } else {
                     // Create new order
                     Order order = buildOrder("Cash on Service");
+                    binding.confirmOrderButton.setEnabled(false);
                     viewModel.placeOrder(order);
                 }
             } else if (selectedId == R.id.onlinePayment) {
@@ -138,6 +158,7 @@ public class PlaceOrder extends Fragment {
         });
 
         viewModel.getUpdateError().observe(getViewLifecycleOwner(), error -> {
+            binding.confirmOrderButton.setEnabled(true);
             Toast.makeText(getContext(), "Update failed: " + error, Toast.LENGTH_LONG).show();
         });
 
@@ -150,37 +171,49 @@ public class PlaceOrder extends Fragment {
         });
 
         viewModel.getOrderError().observe(getViewLifecycleOwner(), error -> {
+            binding.confirmOrderButton.setEnabled(true);
             Toast.makeText(getContext(), "Failed to place order: " + error, Toast.LENGTH_LONG).show();
         });
     }
 
     /*********************************************************************************************************
-     * Method Name     : calculateTotalAmount
-     * Description     : Computes the total payable amount based on the quantity and price of items in the cart.
-     * Parameters      : ArrayList<CartItem> cartList – List of selected cart items.
-     * Return          : double – Total price of the order.
+     * Method Name     : onSaveInstanceState
+     * Description     : Keeps the checkout idempotency key across configuration changes and process death, so a
+     *                   resubmission after recreation still targets the same order document.
+     * Parameters      : Bundle outState – Bundle to save state into.
+     * Return          : void
      *********************************************************************************************************/
-    private double calculateTotalAmount(ArrayList<CartItem> cartList) {
-        double total = 0;
-        for (CartItem item : cartList) {
-            total += item.getItemPrice() * item.getQuantity();
-        }
-        return total;
+    @Override
+    public void onSaveInstanceState(@NonNull Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putString(KEY_CHECKOUT, checkoutKey);
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : updateTotalAmount
+     * Description     : Refreshes the payable amount from the running total maintained by the CartManager.
+     * Parameters      : None
+     * Return          : void
+     *********************************************************************************************************/
+    private void updateTotalAmount() {
+        totalAmount = CartManager.getInstance().getTotal();
+        binding.totalAmountText.setText("Total : " + totalAmount.format());
     }
 
     /*********************************************************************************************************
      * Method Name     : buildOrder
-     * Description     : Builds and returns a new Order object using the selected items, amount, timestamp,
-     *                   payment type, and current location.
+     * Description     : Builds and returns a new Order object using detached copies of the cart items, amount,
+     *                   timestamp, payment type, and the structured current location from LocationStore. The
+     *                   order carries the checkout key as its ID so every submission of this checkout writes
+     *                   the same document.
      * Parameters      : String paymentType – "Cash on Service" or "Online Payment".
      * Return          : Order – Populated order object ready for submission.
      *********************************************************************************************************/
     private Order buildOrder(String paymentType) {
-        String location = "Unknown";
-        if (getContext() != null) {
-            location = com.service.atozhomeservice.view.LocationTracker.getFetchedAddress();
-        }
-        return new Order(cartList, totalAmount, System.currentTimeMillis(), "Confirmed", paymentType, location);
+        GeocodedAddress address = LocationStore.getInstance(requireContext()).getCachedAddress();
+        Order order = new Order(CartManager.getInstance().copyItems(), totalAmount, System.currentTimeMillis(), "Confirmed", paymentType, address);
+        order.setOrderId(checkoutKey);
+        return order;
     }
 
     /*********************************************************************************************************
@@ -188,12 +221,12 @@ public class PlaceOrder extends Fragment {
      * Description     : Launches an Intent for external UPI apps to initiate payment using the passed UPI ID
      *                   and amount. Displays toast messages for UPI app availability or missing apps.
      * Parameters      : String upiId – The target UPI ID.
-     *                   double amount – The amount to be paid.
+     *                   Money amount – The amount to be paid, sent with exactly two decimals.
      * Return          : void
      *********************************************************************************************************/
-    private void launchUPIPayment(String upiId, double amount) {
+    private void launchUPIPayment(String upiId, Money amount) {
         String uri = "upi://pay?pa=" + upiId +
-                "&pn=AtoZ%20Services&tn=Service%20Order&am=" + amount + "&cu=INR";
+                "&pn=AtoZ%20Services&tn=Service%20Order&am=" + amount.toPlainString() + "&cu=INR";
 
         Intent intent = new Intent(Intent.ACTION_VIEW);
         intent.setData(Uri.parse(uri));
@@ -4,21 +4,34 @@ import static android.content.Intent.getIntent;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
+import android.text.TextWatcher;
 
 import androidx.fragment.app.Fragment;
 import androidx.navigation.fragment.NavHostFragment;
 
-import android.os.Handler;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
 import com.service.atozhomeservice.R;
 import com.service.atozhomeservice.databinding.FragmentBackgroundBinding;
-import com.service.atozhomeservice.view.LocationTracker;
+import com.service.atozhomeservice.model.CatalogNode;
+import com.service.atozhomeservice.model.ServiceSearchIndex;
+import com.service.atozhomeservice.model.ServiceTile;
+import com.service.atozhomeservice.repository.CatalogRepository;
+import com.service.atozhomeservice.repository.LocationStore;
+import com.service.atozhomeservice.view.BottomNavigationManager;
+import com.service.atozhomeservice.view.MapsLoader;
+import com.service.atozhomeservice.view.StartupTrace;
+import com.service.atozhomeservice.view.ui.bottomfragment.BottomSheetSubservices;
+import com.service.atozhomeservice.view.ui.carpentering.carpenter;
 import com.service.atozhomeservice.view.ui.searchlocation.SearchLocation;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /*********************************************************************************************************
@@ -31,12 +44,24 @@ import java.util.List;
  * Called By      : Navigation component during app navigation.
  * Implements     : OnServiceCategoryClickListener – for handling service item selections.
  * Instance Vars  : FragmentBackgroundBinding binding – for accessing views defined in the layout XML.
+ *                  CustomAdapter customAdapter      – grid adapter showing categories or search results.
+ *                  List<ServiceTile> categoryTiles  – category tiles shown while the search box is empty.
+ *                  ServiceSearchIndex searchIndex   – index queried by the search box, null until built.
  *********************************************************************************************************/
 
 public class BackgroundFragment extends Fragment implements OnServiceCategoryClickListener {
 
+    private static final long SEARCH_DEBOUNCE_MS = 150;
+    private static final int SEARCH_RESULT_LIMIT = 20;
+
     //Instance Variables
     private FragmentBackgroundBinding binding;
+    private CustomAdapter customAdapter;
+    private List<ServiceTile> categoryTiles = Collections.emptyList();
+    private ServiceSearchIndex searchIndex;
+    private boolean searchIndexRequested;
+    private final Handler searchHandler = new Handler(Looper.getMainLooper());
+    private final Runnable searchRunnable = this::runSearch;
     public BackgroundFragment() {
         // Required empty public constructor
     }
@@ -50,9 +75,10 @@ public class BackgroundFragment extends Fragment implements OnServiceCategoryCli
      * Author         : Gunnampalli Parameswara Reddy
      * Function Name  : onCreateView
      * Description    : Inflates the layout for the background fragment, initializes UI components with
-     *                  location data, sets up a category grid with custom adapter, configures an image
-     *                  slider with auto-scroll functionality, and defines navigation for location search
-     *                  and cart viewing actions.
+     *                  location data (kept current by observing LocationStore), sets up a category grid fed
+     *                  by the catalog index of CatalogRepository and a search box over all services, configures an image slider with auto-scroll functionality, and defines
+     *                  navigation for location search and cart viewing actions. Reports the first frame of
+     *                  the home screen to StartupTrace.
      * Called By      : Fragment lifecycle during layout rendering.
      * Parameters     : LayoutInflater inflater – The LayoutInflater object that can be used to inflate any
      *                                            views in the fragment.
@@ -70,14 +96,24 @@ public class BackgroundFragment extends Fragment implements OnServiceCategoryCli
         binding = FragmentBackgroundBinding.inflate(inflater,container,false);
         View root = binding.getRoot();
 
-        binding.displaySubLocation.setText(LocationTracker.getAreaLine());
-        binding.displayLocation.setText(LocationTracker.getRegionLine());
-
-        int [] image_ids ={R.drawable.carpentering,R.drawable.electricalservices,R.drawable.plumber1,R.drawable.weldingservices,R.drawable.tilefittingservices,R.drawable.painting};
-        String [] labels = {"Carpenter","Electrician","Plumber","Welder","Tile & Flooring","Painter"};
+        // Remembered address first, then the background refresh once it resolves
+        LocationStore.getInstance(requireContext()).getAddress().observe(getViewLifecycleOwner(), address -> {
+            if (address != null) {
+                binding.displaySubLocation.setText(address.getAreaLine());
+                binding.displayLocation.setText(address.getRegionLine());
+            }
+        });
+        StartupTrace.reportFirstFrame(root, requireActivity());
 
-        CustomAdapter customAdapter = new CustomAdapter(requireContext(),this,image_ids,labels,this);
-        binding.gridView.setAdapter(customAdapter);
+        customAdapter = new CustomAdapter(this);
+        CustomAdapter.setUpGrid(binding.gridView, customAdapter,
+                ((BottomNavigationManager) requireActivity()).getServiceGridPool());
+        CatalogRepository.getInstance(requireContext()).getCatalog()
+                .observe(getViewLifecycleOwner(), catalog -> {
+                    categoryTiles = catalog.getChildTiles();
+                    runSearch();
+                });
+        setUpSearch();
 
 
         binding.displayLocation.setOnClickListener(v->{
@@ -91,42 +127,109 @@ public class BackgroundFragment extends Fragment implements OnServiceCategoryCli
         ImageSliderAdapter imageSliderAdapter = new ImageSliderAdapter(images);
         binding.imageSlider.setAdapter(imageSliderAdapter);
 
-        final int[] currentPage = {0};
-        Handler handler = new Handler();
-        Runnable sliderRunnable = new Runnable() {
+        // Auto-advances every 3 seconds only while the home screen is visible; stops with the view
+        new SliderAutoAdvancer(binding.imageSlider, images, 3000).attach(getViewLifecycleOwner(), requireActivity());
+
+        return root;
+    }
+
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        searchHandler.removeCallbacks(searchRunnable);
+        searchIndex = null;
+        searchIndexRequested = false;
+        binding = null;
+    }
+
+    /*********************************************************************************************************
+     * Author         : Gunnampalli Parameswara Reddy
+     * Function Name  : setUpSearch
+     * Description    : Wires the search box. The search index is requested on the first keystroke, so the home
+     *                  screen does not load every category up front; each edit restarts a short debounce and
+     *                  only the settled query is run.
+     * Called By      : onCreateView
+     * Parameters     : None
+     * Return         : void
+     *********************************************************************************************************/
+    private void setUpSearch() {
+        binding.searchServices.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) { }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) { }
+
             @Override
-            public void run() {
-                if (currentPage[0] == images.size()) {
-                    currentPage[0] = 0;
-                    binding.imageSlider.setCurrentItem(currentPage[0], false); // no animation
-                } else {
-                    binding.imageSlider.setCurrentItem(currentPage[0], true);  // smooth animation
+            public void afterTextChanged(Editable s) {
+                if (!searchIndexRequested) {
+                    searchIndexRequested = true;
+                    CatalogRepository.getInstance(requireContext()).getSearchIndex()
+                            .observe(getViewLifecycleOwner(), index -> {
+                                searchIndex = index;
+                                runSearch();
+                            });
                 }
-                currentPage[0]++;
-                handler.postDelayed(this, 3000);
+                searchHandler.removeCallbacks(searchRunnable);
+                searchHandler.postDelayed(searchRunnable, SEARCH_DEBOUNCE_MS);
             }
-        };
-        handler.postDelayed(sliderRunnable, 3000);
+        });
+    }
 
-        return root;
+    /*********************************************************************************************************
+     * Author         : Gunnampalli Parameswara Reddy
+     * Function Name  : runSearch
+     * Description    : Shows the results of the current query in the grid, best match first, or the category
+     *                  tiles when the search box is empty.
+     * Called By      : Debounced search box edits, search index and catalog updates
+     * Parameters     : None
+     * Return         : void
+     *********************************************************************************************************/
+    private void runSearch() {
+        if (binding == null) {
+            return;
+        }
+        String query = binding.searchServices.getText().toString();
+        if (query.trim().isEmpty()) {
+            customAdapter.submitList(categoryTiles);
+        } else if (searchIndex != null) {
+            customAdapter.submitList(searchIndex.search(query, SEARCH_RESULT_LIMIT,
+                    CatalogRepository.getInstance(requireContext()).getPopularity()));
+        }
     }
 
     /*********************************************************************************************************
      * Author         : Gunnampalli Parameswara Reddy
      * Function Name  : onServiceClicked
-     * Description    : Handles click events from service selection. Based on the provided label, it navigates
-     *                  to the corresponding service fragment using the navigation component.
-     * Called By      : CustomAdapter (when a service item is clicked in the GridView)
-     * Parameters     : String label – The label of the clicked service item (e.g., "Carpenter", "Plumber")
+     * Description    : Handles click events from the grid, which shows categories or search results. A category
+     *                  opens its services grid (unless the catalog has no services published for it yet), a
+     *                  service with priced sub-services or one of those sub-services opens the sub-services
+     *                  sheet, and any other service opens its category. Counts the selection for ranking.
+     * Called By      : CustomAdapter (when a service item is clicked in the grid)
+     * Parameters     : String serviceId – Catalog ID of the clicked entry (e.g., "carpenter", "carpenter.door")
      * Return         : void
      *********************************************************************************************************/
     @Override
-    public void onServiceClicked(String label) {
-        // Handle navigation based on label
-        switch (label) {
-            case "Carpenter":
-                NavHostFragment.findNavController(this).navigate(R.id.navigation_carpenter_service);
-                break;
+    public void onServiceClicked(String serviceId) {
+        CatalogRepository repository = CatalogRepository.getInstance(requireContext());
+        CatalogNode node = repository.find(serviceId);
+        if (node == null) {
+            return;
+        }
+        repository.recordSelection(serviceId);
+        String categoryId = CatalogNode.categoryIdOf(serviceId);
+        String parentId = serviceId.substring(0, Math.max(0, serviceId.lastIndexOf('.')));
+        if (node.hasChildren() && !serviceId.equals(categoryId)) {
+            BottomSheetSubservices.newInstance(serviceId).show(getParentFragmentManager(), "SubServices");
+        } else if (!parentId.isEmpty() && !parentId.equals(categoryId)) {
+            BottomSheetSubservices.newInstance(parentId).show(getParentFragmentManager(), "SubServices");
+        } else {
+            CatalogNode category = repository.find(categoryId);
+            if (category != null && category.getVersion() > 0) {
+                Bundle args = new Bundle();
+                args.putString(carpenter.ARG_CATEGORY_ID, categoryId);
+                NavHostFragment.findNavController(this).navigate(R.id.navigation_carpenter_service, args);
+            }
         }
     }
 
@@ -135,7 +238,8 @@ public class BackgroundFragment extends Fragment implements OnServiceCategoryCli
      * Author         : Gunnampalli Parameswara Reddy
      * Function Name  : navigateToSearchLocation
      * Description    : Initiates navigation to the Search Location fragment using the Navigation component.
-     *                  This method is triggered when the user taps on the current location display.
+     *                  This method is triggered when the user taps on the current location display. The Maps
+     *                  renderer, which nothing else needs, starts loading here so it overlaps the navigation.
      * Called By      : onCreateView (via displayLocation setOnClickListener)
      * Parameters     : None
      * Return         : void
@@ -143,6 +247,7 @@ public class BackgroundFragment extends Fragment implements OnServiceCategoryCli
 
     private void navigateToSearchLocation()
     {
+        MapsLoader.warmUp(requireContext());
         NavHostFragment.findNavController(this)
                 .navigate(R.id.navigation_search_address);
     }
@@ -2,118 +2,135 @@ package com.service.atozhomeservice.view.ui.recyclerlayout;
 
 import android.content.Context;
 import android.view.LayoutInflater;
-import android.view.View;
 import android.view.ViewGroup;
-import android.widget.BaseAdapter;
-import android.widget.Toast;
 
-import androidx.fragment.app.Fragment;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.service.atozhomeservice.databinding.ImageTextElementBinding;
+import com.service.atozhomeservice.model.ServiceTile;
+import com.service.atozhomeservice.view.ImageLoader;
 /*********************************************************************************************************
  * Author         : Gunnampalli Parameswara Reddy
  * Class Name     : CustomAdapter
- * Description    : Adapter class for populating a GridView with service category items, each consisting
- *                  of an image and label. Manages user interaction with individual items and notifies
- *                  the listener of click events.
+ * Description    : RecyclerView adapter for the service category grids, each tile consisting of an image
+ *                  and label. Catalog changes are diffed off the main thread by ListAdapter, items have
+ *                  stable IDs derived from their catalog IDs, and the click listener is bound once per
+ *                  ViewHolder instead of on every bind. Notifies the listener of click events.
  *********************************************************************************************************/
-public class CustomAdapter extends BaseAdapter {
-    private final Context context;
-    private final Fragment fragment;
-    private final int[] images;
-    private final String[] labels;
+public class CustomAdapter extends ListAdapter<ServiceTile, CustomAdapter.ViewHolder> {
+
+    private static final int COLUMN_WIDTH_DP = 120;
+
+    private static final DiffUtil.ItemCallback<ServiceTile> DIFF_CALLBACK = new DiffUtil.ItemCallback<ServiceTile>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull ServiceTile oldItem, @NonNull ServiceTile newItem) {
+            return oldItem.getStableId() == newItem.getStableId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull ServiceTile oldItem, @NonNull ServiceTile newItem) {
+            return oldItem.hasSameContent(newItem);
+        }
+    };
+
     private final OnServiceCategoryClickListener listener;
 
     /*********************************************************************************************************
      * Constructor     : CustomAdapter
-     * Description     : Initializes the adapter with context, fragment reference, data arrays for images
-     *                   and labels, and a listener for handling service category clicks.
-     * Parameters      : Context context – The context from the host activity or fragment.
-     *                   Fragment fragment – Reference to the hosting fragment for navigation or context use.
-     *                   int[] images – Drawable resource IDs representing each service icon.
-     *                   String[] labels – Text labels corresponding to each service.
-     *                   OnServiceCategoryClickListener listener – Callback interface for click events.
+     * Description     : Initializes the adapter with a listener for handling service category clicks. Tiles
+     *                   are supplied through submitList().
+     * Parameters      : OnServiceCategoryClickListener listener – Callback interface for click events.
      * Return          : None
      *********************************************************************************************************/
-    public CustomAdapter(Context context, Fragment fragment, int[] images, String[] labels, OnServiceCategoryClickListener listener) {
-        this.context = context;
-        this.fragment = fragment;
-        this.images = images;
-        this.labels = labels;
+    public CustomAdapter(OnServiceCategoryClickListener listener) {
+        super(DIFF_CALLBACK);
         this.listener = listener;
+        setHasStableIds(true);
     }
 
     /*********************************************************************************************************
-     * Function Name   : getCount
-     * Description     : Returns the total number of items managed by the adapter.
-     * Called By       : GridView to determine how many items to render.
-     * Parameters      : None
-     * Return          : int – Number of items in the adapter (based on image array size).
+     * Function Name   : setUpGrid
+     * Description     : Lays out a category grid with as many 120dp columns as fit the screen (the former
+     *                   GridView auto_fit behaviour) and attaches the adapter. Grids given the same pool share
+     *                   their recycled tiles, and tiles are returned to the pool when the grid is detached.
+     * Called By       : BackgroundFragment and carpenter.
+     * Parameters      : RecyclerView grid – The grid to set up.
+     *                   CustomAdapter adapter – Adapter to attach.
+     *                   RecyclerView.RecycledViewPool pool – Pool shared between category grids.
+     * Return          : void
      *********************************************************************************************************/
+    public static void setUpGrid(RecyclerView grid, CustomAdapter adapter, RecyclerView.RecycledViewPool pool) {
+        Context context = grid.getContext();
+        float widthDp = context.getResources().getDisplayMetrics().widthPixels
+                / context.getResources().getDisplayMetrics().density;
+        GridLayoutManager layoutManager = new GridLayoutManager(context, Math.max(1, (int) (widthDp / COLUMN_WIDTH_DP)));
+        layoutManager.setRecycleChildrenOnDetach(true);
+        grid.setLayoutManager(layoutManager);
+        grid.setRecycledViewPool(pool);
+        grid.setHasFixedSize(true);
+        grid.setAdapter(adapter);
+    }
+
     @Override
-    public int getCount() {
-        return images.length;
+    public long getItemId(int position) {
+        return getItem(position).getStableId();
     }
 
     /*********************************************************************************************************
-     * Function Name   : getItem
-     * Description     : Retrieves the label at the specified index.
-     * Called By       : AdapterView (optional use when accessing items by index).
-     * Parameters      : int i – Position of the item in the dataset.
-     * Return          : Object – The label string at the given position.
+     * Function Name   : onCreateViewHolder
+     * Description     : Inflates a tile and binds its click listener once. The listener resolves the tile
+     *                   from the holder's current adapter position when it fires and reports its catalog ID.
+     * Called By       : RecyclerView when no recycled tile is available.
+     * Parameters      : ViewGroup parent – Parent view that this view will be attached to.
+     *                   int viewType – Unused, all tiles share one type.
+     * Return          : ViewHolder – Holder for the new tile.
      *********************************************************************************************************/
+    @NonNull
     @Override
-    public Object getItem(int i) {
-        return labels[i];
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        ImageTextElementBinding binding = ImageTextElementBinding.inflate(LayoutInflater.from(parent.getContext()), parent, false);
+        ViewHolder holder = new ViewHolder(binding);
+        binding.thumbnailButton.setOnClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            if (position == RecyclerView.NO_POSITION) {
+                return;
+            }
+            if (listener != null) {
+                listener.onServiceClicked(getItem(position).getId());
+            }
+        });
+        return holder;
     }
 
     /*********************************************************************************************************
-     * Function Name   : getItemId
-     * Description     : Returns the ID of the item at a given position. Here, the position itself is used
-     *                   as the ID.
-     * Called By       : AdapterView for item identification.
-     * Parameters      : int i – Index of the item.
-     * Return          : long – The ID for the item (same as the index).
+     * Function Name   : onBindViewHolder
+     * Description     : Binds the image and text of the tile at the given position.
+     * Called By       : RecyclerView when rendering or recycling tiles.
+     * Parameters      : ViewHolder holder – Holder to bind.
+     *                   int position – Position of the item in the data set.
+     * Return          : void
      *********************************************************************************************************/
     @Override
-    public long getItemId(int i) {
-        return i;
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        ServiceTile tile = getItem(position);
+        ImageLoader.getInstance(holder.itemView.getContext()).load(tile.getIcon(), holder.binding.itemImage);
+        holder.binding.itemText.setText(tile.getLabel());
     }
 
     /*********************************************************************************************************
-     * Function Name   : getView
-     * Description     : Inflates and returns the view for each GridView item. Binds image and text resources
-     *                   to UI elements and handles click events on the thumbnail button, triggering the
-     *                   associated listener callback.
-     * Called By       : GridView when rendering or recycling views.
-     * Parameters      : int position – Position of the item in the data set.
-     *                   View convertView – Previously returned view to be reused.
-     *                   ViewGroup parent – Parent view that this view will be attached to.
-     * Return          : View – The fully configured GridView item view.
+     * Inner Class     : ViewHolder
+     * Description     : Holds the view binding of one category tile.
      *********************************************************************************************************/
-    @Override
-    public View getView(int position, View convertView, ViewGroup parent) {
-        ImageTextElementBinding binding;
+    static class ViewHolder extends RecyclerView.ViewHolder {
+        final ImageTextElementBinding binding;
 
-        if (convertView == null) {
-            LayoutInflater inflater = LayoutInflater.from(context);
-            binding = ImageTextElementBinding.inflate(inflater, parent, false);
-            convertView = binding.getRoot();
-            convertView.setTag(binding);
-        } else {
-            binding = (ImageTextElementBinding) convertView.getTag();
+        ViewHolder(ImageTextElementBinding binding) {
+            super(binding.getRoot());
+            this.binding = binding;
         }
-
-        binding.itemImage.setImageResource(images[position]);
-        binding.itemText.setText(labels[position]);
-
-        binding.thumbnailButton.setOnClickListener(v -> {
-            Toast.makeText(context, "Clicked: " + labels[position], Toast.LENGTH_SHORT).show();
-            if (listener != null) {
-                listener.onServiceClicked(labels[position]);
-            }
-        });
-
-        return convertView;
     }
 }
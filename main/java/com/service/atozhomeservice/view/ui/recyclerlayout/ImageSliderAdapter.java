@@ -6,6 +6,8 @@ import android.widget.ImageView;
 
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.service.atozhomeservice.view.ImageLoader;
+
 import java.util.List;
 
 /*********************************************************************************************************
@@ -53,7 +55,8 @@ public class ImageSliderAdapter extends RecyclerView.Adapter<ImageSliderAdapter.
 
     /*********************************************************************************************************
      * Function Name   : onBindViewHolder
-     * Description     : Binds an image resource to the ImageView at the specified position.
+     * Description     : Binds an image resource to the ImageView at the specified position through the shared
+     *                   ImageLoader, which decodes it off the main thread at the slider's size.
      * Called By       : RecyclerView to display the data at the specified position.
      * Parameters      : ViewHolder holder – The ViewHolder containing the ImageView to bind data to.
      *                   int position – The position of the item within the adapter's data set.
@@ -61,7 +64,7 @@ public class ImageSliderAdapter extends RecyclerView.Adapter<ImageSliderAdapter.
      *********************************************************************************************************/
     @Override
     public void onBindViewHolder(ViewHolder holder, int position) {
-        holder.imageView.setImageResource(imageList.get(position));
+        ImageLoader.getInstance(holder.imageView.getContext()).load(imageList.get(position), holder.imageView);
     }
 
     /*********************************************************************************************************
@@ -4,16 +4,17 @@ package com.service.atozhomeservice.view.ui.recyclerlayout;
  * Author         : Gunnampalli Parameswara Reddy
  * Interface Name : OnServiceCategoryClickListener
  * Description    : Listener interface designed to handle click events on service category items.
- *                  Classes implementing this interface should define behavior based on the selected label.
+ *                  Classes implementing this interface should define behavior based on the selected catalog ID.
  *********************************************************************************************************/
 public interface OnServiceCategoryClickListener {
     /*********************************************************************************************************
      * Method Name     : onServiceClicked
      * Description     : Callback triggered when a user clicks on a service category item. This method
-     *                   enables context-aware navigation or action based on the selected label.
+     *                   enables context-aware navigation or action based on the selected catalog entry.
      * Called By       : CustomAdapter (inside thumbnailButton click listener)
-     * Parameters      : String label – The text label of the clicked service item.
+     * Parameters      : String serviceId – Catalog ID of the clicked service item, resolvable through
+     *                                      CatalogRepository.find().
      * Return          : void
      *********************************************************************************************************/
-    void onServiceClicked(String label);
+    void onServiceClicked(String serviceId);
 }
@@ -1,197 +1,155 @@
 package com.service.atozhomeservice.view.ui.recyclerlayout;
 
-import android.content.Context;
-import android.view.View;
+import android.view.LayoutInflater;
 import android.view.ViewGroup;
-import android.widget.BaseAdapter;
 
-import androidx.fragment.app.Fragment;
-import android.view.LayoutInflater;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
 
-import com.service.atozhomeservice.databinding.ImageTextElementBinding;
 import com.service.atozhomeservice.databinding.QuantypickerBinding;
-import com.service.atozhomeservice.model.CartItem;
 import com.service.atozhomeservice.model.CartManager;
+import com.service.atozhomeservice.model.ServiceTile;
+import com.service.atozhomeservice.view.ImageLoader;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 
 /*********************************************************************************************************
  * Author         : Gunnampalli Parameswara Reddy
  * Class Name     : QuantityAdapter
- * Description    : Adapter for displaying a list of service items with their respective icons, prices,
- *                  and quantity controls. Handles user interaction to increase or decrease quantity and
- *                  updates the CartManager accordingly. Reflects current cart state for consistency.
+ * Description    : RecyclerView adapter for displaying a list of service items with their respective icons,
+ *                  prices, and quantity controls. Handles user interaction to increase or decrease quantity
+ *                  and updates the CartManager accordingly. Quantities are read from the CartManager on bind,
+ *                  so the list always reflects the current cart. Items have stable IDs, catalog changes are
+ *                  diffed by ListAdapter and the +/- listeners are bound once per ViewHolder.
  *********************************************************************************************************/
-public class QuantityAdapter extends BaseAdapter {
-    private Context context;
-    private Fragment fragment;
-    private String mainService;
-    private String subService;
-    private int []item_icon;
-    private String [] item_label;
-    private int[] quantity;
+public class QuantityAdapter extends ListAdapter<ServiceTile, QuantityAdapter.ViewHolder> {
+
+    private static final DiffUtil.ItemCallback<ServiceTile> DIFF_CALLBACK = new DiffUtil.ItemCallback<ServiceTile>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull ServiceTile oldItem, @NonNull ServiceTile newItem) {
+            return oldItem.getStableId() == newItem.getStableId();
+        }
 
-    private double[] item_price;
+        @Override
+        public boolean areContentsTheSame(@NonNull ServiceTile oldItem, @NonNull ServiceTile newItem) {
+            return oldItem.hasSameContent(newItem);
+        }
+    };
+
+    private final String mainService;
+    private final String subService;
+    private final Map<String, String> cartKeys = new HashMap<>();   // label -> CartManager key
 
-    private OnCartUpdatedListener cartUpdatedListener;
+    private final OnCartUpdatedListener cartUpdatedListener;
 
     /*********************************************************************************************************
      * Constructor     : QuantityAdapter
-     * Description     : Initializes the adapter with item details and cart update listener. Also restores
-     *                   item quantities from the CartManager to ensure previously added items are reflected.
-     * Parameters      : Context context – Context from the hosting environment.
-     *                   Fragment fragment – The fragment instantiating this adapter.
-     *                   String mainService – Main category of the service.
+     * Description     : Initializes the adapter for one sub-service and its cart update listener. Items are
+     *                   supplied through submitList().
+     * Parameters      : String mainService – Main category of the service.
      *                   String subService – Subcategory of the service.
-     *                   int[] item_icon – Drawable resource IDs for service icons.
-     *                   String[] item_label – Names of the service items.
-     *                   double[] item_price – Prices for each service item.
      *                   OnCartUpdatedListener listener – Callback to notify when the cart is modified.
      * Return          : None
      *********************************************************************************************************/
-    public QuantityAdapter(Context context, Fragment fragment,String mainService,String subService, int []item_icon, String []item_label,double[] item_price,OnCartUpdatedListener listener)
+    public QuantityAdapter(String mainService, String subService, OnCartUpdatedListener listener)
     {
-        this.context = context;
-        this.fragment = fragment;
+        super(DIFF_CALLBACK);
         this.mainService = mainService;
         this.subService = subService;
-        this.item_icon = item_icon;
-        this.item_label =item_label;
-        this.quantity = new int[item_label.length];
-        this.item_price = item_price;
         this.cartUpdatedListener = listener;
-        restoreQuantitiesFromCart();
+        setHasStableIds(true);
     }
 
-    /*********************************************************************************************************
-     * Function Name   : getCount
-     * Description     : Returns the number of service items available in the adapter.
-     * Called By       : ListView or GridView for rendering number of views.
-     * Parameters      : None
-     * Return          : int – The size of the item_icon array.
-     *********************************************************************************************************/
     @Override
-    public int getCount() {
-        return item_icon.length;
+    public long getItemId(int position) {
+        return getItem(position).getStableId();
     }
 
     /*********************************************************************************************************
-     * Function Name   : getView
-     * Description     : Inflates the layout for each item view, populates it with icon, label, price, and
-     *                   quantity, and wires up increment/decrement logic for item quantity along with
-     *                   cart update callback.
-     * Called By       : AdapterView when displaying the list/grid.
-     * Parameters      : int position – Index of the item.
-     *                   View convertView – Existing view if reusable.
-     *                   ViewGroup parent – Parent container.
-     * Return          : View – Configured view for the given position.
+     * Function Name   : onCreateViewHolder
+     * Description     : Inflates an item row and binds the increment/decrement listeners once. Each listener
+     *                   resolves the item from the holder's current adapter position when it fires.
+     * Called By       : RecyclerView when no recycled row is available.
+     * Parameters      : ViewGroup parent – Parent container.
+     *                   int viewType – Unused, all rows share one type.
+     * Return          : ViewHolder – Holder for the new row.
      *********************************************************************************************************/
+    @NonNull
     @Override
-    public View getView(int position, View convertView, ViewGroup parent) {
-        QuantypickerBinding binding;
-        if(convertView == null)
-        {
-            LayoutInflater inflater = LayoutInflater.from(context);
-            binding = QuantypickerBinding.inflate(inflater,parent,false);
-            convertView = binding.getRoot();
-            convertView.setTag(binding);
-        }
-        else
-        {
-            binding = (QuantypickerBinding) convertView.getTag();
-        }
-
-        binding.itemImage.setImageResource(item_icon[position]);
-        binding.itemType.setText(item_label[position]);
-        binding.itemPrice.setText(String.format("₹ %.2f", item_price[position]));
-
-        binding.itemQuantity.setText(String.valueOf(quantity[position]));
-
-        binding.btnIncrease.setOnClickListener(v -> {
-            quantity[position]++;
-            binding.itemQuantity.setText(String.valueOf(quantity[position]));
-            updateSelectedItems(position);
-        });
-
-        binding.btnDecrease.setOnClickListener(v -> {
-            if (quantity[position] > 0) quantity[position]--;
-            binding.itemQuantity.setText(String.valueOf(quantity[position]));
-            updateSelectedItems(position);
-        });
-
-        return convertView;
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        QuantypickerBinding binding = QuantypickerBinding.inflate(LayoutInflater.from(parent.getContext()), parent, false);
+        ViewHolder holder = new ViewHolder(binding);
+        binding.btnIncrease.setOnClickListener(v -> changeQuantity(holder, +1));
+        binding.btnDecrease.setOnClickListener(v -> changeQuantity(holder, -1));
+        return holder;
     }
 
     /*********************************************************************************************************
-     * Function Name   : getItem
-     * Description     : Returns the item at the specified index. Not utilized in this implementation.
-     * Called By       : AdapterView (if needed).
-     * Parameters      : int i – Index of the item.
-     * Return          : Object – Currently returns null.
-     *********************************************************************************************************/
-    @Override public Object getItem(int i) { return null; }
-    /*********************************************************************************************************
-     * Function Name   : getItemId
-     * Description     : Provides a unique ID for each item. Not used in this case.
-     * Called By       : AdapterView.
-     * Parameters      : int i – Index of the item.
-     * Return          : long – Always returns 0.
+     * Function Name   : onBindViewHolder
+     * Description     : Populates a row with icon, label, price and the quantity currently in the cart.
+     * Called By       : RecyclerView when displaying the list.
+     * Parameters      : ViewHolder holder – Holder to bind.
+     *                   int position – Index of the item.
+     * Return          : void
      *********************************************************************************************************/
-    @Override public long getItemId(int i) { return 0; }
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        ServiceTile item = getItem(position);
+        ImageLoader.getInstance(holder.itemView.getContext()).load(item.getIcon(), holder.binding.itemImage);
+        holder.binding.itemType.setText(item.getLabel());
+        holder.binding.itemPrice.setText(item.getPrice().format());
+        holder.binding.itemQuantity.setText(String.valueOf(CartManager.getInstance().getQuantity(cartKeyOf(item))));
+    }
 
     /*********************************************************************************************************
-     * Function Name   : updateSelectedItems
-     * Description     : Updates the CartManager with the current quantity for the specified item. If the
-     *                   quantity is zero, it removes the item from the cart. Notifies the listener after update.
+     * Function Name   : changeQuantity
+     * Description     : Applies a +1/-1 step to the item of the given row, never going below zero, and writes
+     *                   the new quantity to the CartManager through the item's cart key. A quantity of zero
+     *                   removes the item from the cart. Notifies the listener after update.
      * Called By       : btnIncrease and btnDecrease click handlers.
-     * Parameters      : int position – Index of the item being modified.
+     * Parameters      : ViewHolder holder – Row whose button was tapped.
+     *                   int delta – +1 or -1.
      * Return          : void
      *********************************************************************************************************/
-    private void updateSelectedItems(int position) {
-        CartManager manager = CartManager.getInstance();
-
-
-
-        List<CartItem> currentItems = new ArrayList<>(manager.getItems());
-        for (CartItem item : currentItems) {
-            if (item.getMainService().equals(mainService) &&
-                    item.getSubService().equals(subService) &&
-                    item.getItemType().equals(item_label[position])) {
-                manager.getItems().remove(item);
-                break;
-            }
-        }
-
-        // Add only if quantity > 0
-        if (quantity[position] > 0) {
-            manager.addItem(mainService, subService,item_icon[position], item_label[position], quantity[position],item_price[position]);
+    private void changeQuantity(ViewHolder holder, int delta) {
+        int position = holder.getBindingAdapterPosition();
+        if (position == RecyclerView.NO_POSITION) {
+            return;
         }
+        ServiceTile item = getItem(position);
+        String key = cartKeyOf(item);
+        CartManager manager = CartManager.getInstance();
+        int quantity = Math.max(0, manager.getQuantity(key) + delta);
+        holder.binding.itemQuantity.setText(String.valueOf(quantity));
+        manager.setQuantity(key, item.getId(), mainService, subService, item.getIcon(), item.getLabel(), quantity, item.getPrice());
 
         if (cartUpdatedListener != null) {
             cartUpdatedListener.onCartUpdated();
         }
     }
 
+    private String cartKeyOf(ServiceTile item) {
+        String key = cartKeys.get(item.getLabel());
+        if (key == null) {
+            key = CartManager.keyOf(mainService, subService, item.getLabel());
+            cartKeys.put(item.getLabel(), key);
+        }
+        return key;
+    }
+
     /*********************************************************************************************************
-     * Function Name   : restoreQuantitiesFromCart
-     * Description     : Reads existing cart data and pre-fills quantities for items that have already been
-     *                   added previously. Ensures a persistent state across sessions.
-     * Called By       : Constructor
-     * Parameters      : None
-     * Return          : void
+     * Inner Class     : ViewHolder
+     * Description     : Holds the view binding of one quantity picker row.
      *********************************************************************************************************/
-    private void restoreQuantitiesFromCart() {
-        List<CartItem> existingItems = CartManager.getInstance().getItems();
-        for (int i = 0; i < item_label.length; i++) {
-            for (CartItem item : existingItems) {
-                if (item.getMainService().equals(mainService)
-                        && item.getSubService().equals(subService)
-                        && item.getItemType().equals(item_label[i])) {
-                    quantity[i] = item.getQuantity();
-                    break;
-                }
-            }
+    static class ViewHolder extends RecyclerView.ViewHolder {
+        final QuantypickerBinding binding;
+
+        ViewHolder(QuantypickerBinding binding) {
+            super(binding.getRoot());
+            this.binding = binding;
         }
     }
 }
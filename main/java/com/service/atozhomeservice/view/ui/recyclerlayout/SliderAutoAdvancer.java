@@ -0,0 +1,212 @@
+package com.service.atozhomeservice.view.ui.recyclerlayout;
+
+import android.app.Activity;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.PowerManager;
+import android.util.Log;
+import android.view.FrameMetrics;
+import android.view.Window;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.viewpager2.widget.ViewPager2;
+
+import com.service.atozhomeservice.view.ImageLoader;
+
+import java.util.List;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : SliderAutoAdvancer
+ * Description    : Advances a ViewPager2 image slider every intervalMs, tied to a view lifecycle. It only runs
+ *                  while the lifecycle is resumed, the screen is interactive and battery saver is off, and it
+ *                  is detached completely when the view is destroyed, so no callback outlives the slider.
+ *                  A manual swipe restarts the interval. The photo of the next page is preloaded into the
+ *                  ImageLoader cache, so every advance binds from memory. Ticks reuse one Runnable and
+ *                  allocate nothing.
+ * Metrics        : On API 24+ the frame durations of the window are sampled while the pager is moving;
+ *                  getFrameCount(), getJankyFrameCount() and getWorstFrameMs() expose them and a summary is
+ *                  logged under the "SliderAutoAdvancer" tag whenever the slider stops.
+ * Usage Scope    : new SliderAutoAdvancer(pager, images, 3000).attach(getViewLifecycleOwner(), activity)
+ *********************************************************************************************************/
+public class SliderAutoAdvancer implements DefaultLifecycleObserver {
+
+    private static final long FRAME_BUDGET_NANOS = 16_666_667L; // 60 fps
+
+    private final ViewPager2 pager;
+    private final List<Integer> images;
+    private final long intervalMs;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable advanceRunnable = this::advance;
+
+    private Context context;
+    private Window window;
+    private PowerManager powerManager;
+    private boolean resumed;
+    private boolean running;
+    private boolean pagerMoving;
+
+    // Frame metrics, main thread only
+    private int frameCount;
+    private int jankyFrameCount;
+    private long worstFrameNanos;
+    private Window.OnFrameMetricsAvailableListener frameMetricsListener;
+
+    private final ViewPager2.OnPageChangeCallback pageChangeCallback = new ViewPager2.OnPageChangeCallback() {
+        @Override
+        public void onPageSelected(int position) {
+            preloadAfter(position);
+        }
+
+        @Override
+        public void onPageScrollStateChanged(int state) {
+            pagerMoving = state != ViewPager2.SCROLL_STATE_IDLE;
+            if (state == ViewPager2.SCROLL_STATE_DRAGGING) {
+                reschedule(); // the user is browsing; count the interval from the end of the swipe
+            }
+        }
+    };
+
+    // Screen on/off and battery saver changes
+    private final BroadcastReceiver powerReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            updateRunning();
+        }
+    };
+
+    public SliderAutoAdvancer(ViewPager2 pager, List<Integer> images, long intervalMs) {
+        this.pager = pager;
+        this.images = images;
+        this.intervalMs = intervalMs;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : attach
+     * Description     : Starts following the given view lifecycle. Must be called from onCreateView or
+     *                   onViewCreated with getViewLifecycleOwner().
+     * Parameters      : LifecycleOwner owner – View lifecycle owner of the fragment hosting the slider.
+     *                   Activity activity – Hosting activity, used for power state and frame metrics.
+     * Return          : void
+     *********************************************************************************************************/
+    public void attach(LifecycleOwner owner, Activity activity) {
+        context = activity.getApplicationContext();
+        window = activity.getWindow();
+        powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        pager.registerOnPageChangeCallback(pageChangeCallback);
+        owner.getLifecycle().addObserver(this);
+    }
+
+    @Override
+    public void onResume(@NonNull LifecycleOwner owner) {
+        resumed = true;
+        IntentFilter filter = new IntentFilter();
+        filter.addAction(Intent.ACTION_SCREEN_ON);
+        filter.addAction(Intent.ACTION_SCREEN_OFF);
+        filter.addAction(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED);
+        context.registerReceiver(powerReceiver, filter);
+        updateRunning();
+    }
+
+    @Override
+    public void onPause(@NonNull LifecycleOwner owner) {
+        resumed = false;
+        context.unregisterReceiver(powerReceiver);
+        updateRunning();
+    }
+
+    @Override
+    public void onDestroy(@NonNull LifecycleOwner owner) {
+        handler.removeCallbacks(advanceRunnable);
+        pager.unregisterOnPageChangeCallback(pageChangeCallback);
+        owner.getLifecycle().removeObserver(this);
+        window = null;
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    public int getJankyFrameCount() {
+        return jankyFrameCount;
+    }
+
+    public double getWorstFrameMs() {
+        return worstFrameNanos / 1_000_000.0;
+    }
+
+    private void updateRunning() {
+        boolean shouldRun = resumed
+                && powerManager.isInteractive()
+                && !powerManager.isPowerSaveMode()
+                && images.size() > 1;
+        if (shouldRun == running) {
+            return;
+        }
+        running = shouldRun;
+        if (running) {
+            startFrameMetrics();
+            preloadAfter(pager.getCurrentItem());
+            handler.postDelayed(advanceRunnable, intervalMs);
+        } else {
+            handler.removeCallbacks(advanceRunnable);
+            stopFrameMetrics();
+        }
+    }
+
+    private void reschedule() {
+        if (running) {
+            handler.removeCallbacks(advanceRunnable);
+            handler.postDelayed(advanceRunnable, intervalMs);
+        }
+    }
+
+    private void advance() {
+        int next = (pager.getCurrentItem() + 1) % images.size();
+        pager.setCurrentItem(next, next != 0); // jump back to the first page without animating
+        handler.postDelayed(advanceRunnable, intervalMs);
+    }
+
+    private void preloadAfter(int position) {
+        int width = pager.getWidth() - pager.getPaddingLeft() - pager.getPaddingRight();
+        int height = pager.getHeight() - pager.getPaddingTop() - pager.getPaddingBottom();
+        ImageLoader.getInstance(pager.getContext()).preload(images.get((position + 1) % images.size()), width, height);
+    }
+
+    private void startFrameMetrics() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.N || window == null || frameMetricsListener != null) {
+            return;
+        }
+        frameMetricsListener = (metricsWindow, frameMetrics, dropCount) -> {
+            if (!pagerMoving) {
+                return;
+            }
+            long duration = frameMetrics.getMetric(FrameMetrics.TOTAL_DURATION);
+            frameCount++;
+            if (duration > FRAME_BUDGET_NANOS) {
+                jankyFrameCount++;
+            }
+            worstFrameNanos = Math.max(worstFrameNanos, duration);
+        };
+        window.addOnFrameMetricsAvailableListener(frameMetricsListener, handler);
+    }
+
+    private void stopFrameMetrics() {
+        if (frameMetricsListener == null) {
+            return;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N && window != null) {
+            window.removeOnFrameMetricsAvailableListener(frameMetricsListener);
+        }
+        frameMetricsListener = null;
+        Log.i("SliderAutoAdvancer", "Slider frames: " + frameCount + ", janky: " + jankyFrameCount
+                + ", worst: " + getWorstFrameMs() + " ms");
+    }
+}
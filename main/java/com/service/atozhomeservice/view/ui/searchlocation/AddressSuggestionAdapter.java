@@ -0,0 +1,106 @@
+package com.service.atozhomeservice.view.ui.searchlocation;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.service.atozhomeservice.model.GeocodedAddress;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : AddressSuggestionAdapter
+ * Description    : RecyclerView adapter for the address suggestions shown under the search box while the
+ *                  user types. Each row shows the short display address with the full address line below.
+ * Called By      : SearchLocation
+ * Instance Vars  : List<GeocodedAddress> suggestions – Suggestions currently shown, best first.
+ *                  OnSuggestionClickListener listener – Notified when a suggestion is picked.
+ *********************************************************************************************************/
+public class AddressSuggestionAdapter extends RecyclerView.Adapter<AddressSuggestionAdapter.SuggestionViewHolder> {
+
+    /*********************************************************************************************************
+     * Interface Name  : OnSuggestionClickListener
+     * Description     : Receives the suggestion the user tapped.
+     *********************************************************************************************************/
+    public interface OnSuggestionClickListener {
+        void onSuggestionClick(GeocodedAddress address);
+    }
+
+    private final List<GeocodedAddress> suggestions = new ArrayList<>();
+    private final OnSuggestionClickListener listener;
+
+    public AddressSuggestionAdapter(OnSuggestionClickListener listener) {
+        this.listener = listener;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : setSuggestions
+     * Description     : Replaces the shown suggestions. The list holds a handful of rows, so it is simply
+     *                   rebound.
+     * Parameters      : List<GeocodedAddress> newSuggestions – Suggestions to show, best first.
+     * Return          : void
+     *********************************************************************************************************/
+    public void setSuggestions(List<GeocodedAddress> newSuggestions) {
+        suggestions.clear();
+        suggestions.addAll(newSuggestions);
+        notifyDataSetChanged();
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : getFirst
+     * Description     : Returns the best suggestion, picked when the user submits the search box.
+     * Parameters      : None
+     * Return          : GeocodedAddress – Top suggestion, or null when none is shown.
+     *********************************************************************************************************/
+    public GeocodedAddress getFirst() {
+        return suggestions.isEmpty() ? null : suggestions.get(0);
+    }
+
+    @NonNull
+    @Override
+    public SuggestionViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(android.R.layout.simple_list_item_2, parent, false);
+        SuggestionViewHolder holder = new SuggestionViewHolder(view);
+        view.setOnClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            if (position != RecyclerView.NO_POSITION) {
+                listener.onSuggestionClick(suggestions.get(position));
+            }
+        });
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull SuggestionViewHolder holder, int position) {
+        GeocodedAddress address = suggestions.get(position);
+        holder.title.setText(address.getDisplayAddress());
+        holder.subtitle.setText(address.getAddressLine());
+    }
+
+    @Override
+    public int getItemCount() {
+        return suggestions.size();
+    }
+
+    /*********************************************************************************************************
+     * Inner Class     : SuggestionViewHolder
+     * Description     : Holds the display address and address line views of a suggestion row.
+     * Parameters      : View itemView – Layout view to bind UI elements from.
+     *********************************************************************************************************/
+    static class SuggestionViewHolder extends RecyclerView.ViewHolder {
+        final TextView title, subtitle;
+
+        SuggestionViewHolder(@NonNull View itemView) {
+            super(itemView);
+            title = itemView.findViewById(android.R.id.text1);
+            subtitle = itemView.findViewById(android.R.id.text2);
+        }
+    }
+}
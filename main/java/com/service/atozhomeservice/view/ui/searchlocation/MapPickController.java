@@ -0,0 +1,204 @@
+package com.service.atozhomeservice.view.ui.searchlocation;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.google.android.gms.maps.CameraUpdateFactory;
+import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.Marker;
+import com.google.android.gms.maps.model.MarkerOptions;
+import com.service.atozhomeservice.model.GeocodedAddress;
+import com.service.atozhomeservice.repository.GeocodingService;
+
+import java.util.Locale;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : MapPickController
+ * Description    : Drives the pick-a-point interaction on the SearchLocation map so it stays smooth while
+ *                  the user taps around or drags the pin:
+ *                    - one draggable marker is created once and moved with setPosition, never re-added;
+ *                    - taps retarget the running camera animation instead of queueing new ones, and the
+ *                      camera keeps the user's zoom once it is close enough;
+ *                    - the point is geocoded only when things settle: on camera idle after a tap, or when
+ *                      a drag ends, after a short quiet period that absorbs rapid repeats;
+ *                    - until the address arrives the marker shows a provisional label (a cached address of
+ *                      the same cell when there is one, otherwise the coordinates), and a late answer for a
+ *                      point the user has moved away from is dropped.
+ * Threading      : Main thread only.
+ * Instance Vars  : GoogleMap map – Map being driven.
+ *                  Marker marker – The single pin, null until the first pick.
+ *                  LatLng pendingPoint – Picked point still waiting to be geocoded, null if none.
+ *                  int generation – Bumped on every pick, so stale geocoding results can be recognized.
+ *********************************************************************************************************/
+public class MapPickController {
+
+    private static final float PICK_ZOOM = 15;
+    private static final int CAMERA_ANIMATION_MS = 300;
+    private static final long SETTLE_DELAY_MS = 250;
+
+    /*********************************************************************************************************
+     * Interface Name  : Listener
+     * Description     : Receives the progress of a pick on the main thread.
+     *********************************************************************************************************/
+    public interface Listener {
+        void onProvisional(LatLng point, String label);
+        void onResolved(GeocodedAddress address);
+        void onFailure(String errorMessage);
+    }
+
+    private final GoogleMap map;
+    private final GeocodingService geocoding;
+    private final Listener listener;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable geocodeRunnable = this::geocodePendingPoint;
+
+    private Marker marker;
+    private LatLng pendingPoint;
+    private int generation;
+    private boolean cameraMoving;
+    private boolean released;
+
+    public MapPickController(Context context, GoogleMap map, Listener listener) {
+        this.map = map;
+        this.geocoding = GeocodingService.getInstance(context);
+        this.listener = listener;
+
+        map.setOnMapClickListener(this::pick);
+        map.setOnCameraMoveStartedListener(reason -> {
+            cameraMoving = true;
+            handler.removeCallbacks(geocodeRunnable);
+        });
+        map.setOnCameraIdleListener(() -> {
+            cameraMoving = false;
+            scheduleGeocode();
+        });
+        map.setOnMarkerDragListener(new GoogleMap.OnMarkerDragListener() {
+            @Override
+            public void onMarkerDragStart(Marker dragged) {
+                generation++;
+                pendingPoint = null;
+                handler.removeCallbacks(geocodeRunnable);
+            }
+
+            @Override
+            public void onMarkerDrag(Marker dragged) { }
+
+            @Override
+            public void onMarkerDragEnd(Marker dragged) {
+                pick(dragged.getPosition(), false);
+            }
+        });
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : pick
+     * Description     : Moves the pin to a tapped point, brings it into view and geocodes it once the camera
+     *                   has settled.
+     * Parameters      : LatLng point – Point picked on the map.
+     * Return          : void
+     *********************************************************************************************************/
+    public void pick(LatLng point) {
+        pick(point, true);
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : show
+     * Description     : Moves the pin to an address that is already resolved, e.g. a picked suggestion, and
+     *                   drops any pending geocoding.
+     * Parameters      : GeocodedAddress address – Address to show.
+     * Return          : void
+     *********************************************************************************************************/
+    public void show(GeocodedAddress address) {
+        generation++;
+        pendingPoint = null;
+        handler.removeCallbacks(geocodeRunnable);
+        LatLng point = new LatLng(address.getLatitude(), address.getLongitude());
+        placeMarker(point, address.getDisplayAddress());
+        moveCamera(point);
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : release
+     * Description     : Stops pending work and ignores results still in flight; called when the view goes away.
+     * Parameters      : None
+     * Return          : void
+     *********************************************************************************************************/
+    public void release() {
+        released = true;
+        generation++;
+        pendingPoint = null;
+        handler.removeCallbacks(geocodeRunnable);
+    }
+
+    private void pick(LatLng point, boolean moveCamera) {
+        generation++;
+        pendingPoint = point;
+        handler.removeCallbacks(geocodeRunnable);
+
+        GeocodedAddress cached = geocoding.peek(point.latitude, point.longitude);
+        String label = cached != null ? cached.getDisplayAddress()
+                : String.format(Locale.ROOT, "%.5f, %.5f", point.latitude, point.longitude);
+        placeMarker(point, label);
+        listener.onProvisional(point, label);
+
+        if (moveCamera) {
+            moveCamera(point);
+        }
+        scheduleGeocode();
+    }
+
+    private void placeMarker(LatLng point, String title) {
+        if (marker == null) {
+            marker = map.addMarker(new MarkerOptions().position(point).title(title).draggable(true));
+        } else {
+            marker.setPosition(point);
+            marker.setTitle(title);
+        }
+    }
+
+    private void moveCamera(LatLng point) {
+        float zoom = Math.max(map.getCameraPosition().zoom, PICK_ZOOM);
+        // A new animation replaces the running one, so rapid taps end in a single camera idle
+        map.animateCamera(CameraUpdateFactory.newLatLngZoom(point, zoom), CAMERA_ANIMATION_MS, null);
+    }
+
+    private void scheduleGeocode() {
+        if (pendingPoint != null && !cameraMoving) {
+            handler.removeCallbacks(geocodeRunnable);
+            handler.postDelayed(geocodeRunnable, SETTLE_DELAY_MS);
+        }
+    }
+
+    private void geocodePendingPoint() {
+        LatLng point = pendingPoint;
+        if (point == null || released) {
+            return;
+        }
+        pendingPoint = null;
+        int requested = generation;
+        geocoding.reverseGeocode(point.latitude, point.longitude, new GeocodingService.AddressCallback() {
+            @Override
+            public void onSuccess(GeocodedAddress address) {
+                if (requested != generation) {
+                    return;
+                }
+                // The picked point, not the cached point of its geohash cell
+                GeocodedAddress picked = address.withCoordinates(point.latitude, point.longitude);
+                if (marker != null) {
+                    marker.setTitle(picked.getDisplayAddress());
+                }
+                listener.onResolved(picked);
+            }
+
+            @Override
+            public void onFailure(String errorMessage) {
+                if (requested == generation) {
+                    listener.onFailure(errorMessage);
+                }
+            }
+        });
+    }
+}
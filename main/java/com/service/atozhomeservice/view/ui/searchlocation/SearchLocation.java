@@ -1,58 +1,81 @@
 package com.service.atozhomeservice.view.ui.searchlocation;
 
-import android.app.Activity;
-import android.content.Intent;
-import android.content.IntentSender;
-import android.location.Address;
-import android.location.Geocoder;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.EditText;
+import android.widget.TextView;
 import android.widget.Toast;
 
-import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
-import com.google.android.gms.common.api.ResolvableApiException;
-import com.google.android.gms.location.*;
-import com.google.android.gms.maps.*;
-import com.google.android.gms.maps.model.*;
+import com.google.android.gms.maps.GoogleMapOptions;
+import com.google.android.gms.maps.SupportMapFragment;
+import com.google.android.gms.maps.model.CameraPosition;
+import com.google.android.gms.maps.model.LatLng;
 import com.service.atozhomeservice.R;
-import com.service.atozhomeservice.view.LocationTracker;
+import com.service.atozhomeservice.model.GeocodedAddress;
+import com.service.atozhomeservice.repository.AddressHistory;
+import com.service.atozhomeservice.repository.GeocodingService;
+import com.service.atozhomeservice.repository.LocationStore;
+import com.service.atozhomeservice.view.MapsLoader;
 
-import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
+
 /*********************************************************************************************************
  * Author         : Gunnampalli Parameswara Reddy
  * Class Name     : SearchLocation
  * Description    : Fragment that allows users to search for a geographic location by name or by tapping on
- *                  a map. Displays selected coordinates and resolved address, and stores the location
- *                  using LocationTracker for later retrieval.
+ *                  a map. Displays selected coordinates and resolved address, and publishes the picked
+ *                  location, coordinates included, through LocationStore.
+ *                  Typing shows matching addresses from AddressHistory at once; the Geocoder is asked only
+ *                  once typing settles, and a lookup for text the user has typed past is cancelled.
+ *                  Map taps and pin drags are handled by MapPickController. The map itself is created only
+ *                  after the screen is shown, behind a placeholder, so the Maps SDK is loaded on demand.
  * Called By      : Navigation component during location selection workflow.
  * Instance Vars  : EditText searchEditText – Input field for address search.
- *                  GoogleMap googleMap     – Map interface for user interaction.
- *                  LatLng selectedLatLng   – Coordinates of the user-selected location.
- *                  String selectedAddress  – Human-readable address for the selected coordinates.
- *                  int REQUEST_LOCATION_SETTINGS – Request code to handle settings resolution.
+ *                  RecyclerView suggestionsList – Suggestions shown under the search box.
+ *                  TextView mapPreview – Placeholder shown until the map is ready.
+ *                  AddressSuggestionAdapter suggestionAdapter – Adapter of the suggestions list.
+ *                  MapPickController mapController – Drives the pin on the map, null until the map is ready.
+ *                  GeocodedAddress selected – Address picked last, shown once the map is ready.
+ *                  GeocodingService.SuggestionRequest pendingLookup – Geocoder lookup in flight, if any.
  *********************************************************************************************************/
 public class SearchLocation extends Fragment {
+
+    private static final long SUGGEST_DEBOUNCE_MS = 300;
+    private static final int MIN_QUERY_LENGTH = 3;
+    private static final int SUGGESTION_LIMIT = 5;
+    private static final String MAP_FRAGMENT_TAG = "map";
+    private static final float INITIAL_ZOOM = 13;
+
     private EditText searchEditText;
-    private GoogleMap googleMap;
-    private LatLng selectedLatLng;
-    private String selectedAddress = "";
+    private RecyclerView suggestionsList;
+    private TextView mapPreview;
+    private AddressSuggestionAdapter suggestionAdapter;
+    private MapPickController mapController;
+    private GeocodedAddress selected;
 
-    private static final int REQUEST_LOCATION_SETTINGS = 101;
+    private final Handler suggestHandler = new Handler(Looper.getMainLooper());
+    private final Runnable suggestRunnable = this::lookUpSuggestions;
+    private GeocodingService.SuggestionRequest pendingLookup;
+    private boolean ignoreTextChanges;
 
     public SearchLocation() {}
 
     /*********************************************************************************************************
      * Method Name     : onCreateView
-     * Description     : Inflates the layout, initializes map fragment and sets up listeners for search
-     *                   and map tap interactions.
+     * Description     : Inflates the layout, sets up the search box and its suggestions, and schedules the map
+     *                   to be attached once the view is attached. Search works before the map is ready.
      * Parameters      : LayoutInflater inflater – Inflater to inflate layout XML
      *                   ViewGroup container     – Parent container for the fragment UI
      *                   Bundle savedInstanceState – Previous saved state if any
@@ -62,154 +85,238 @@ public class SearchLocation extends Fragment {
     public View onCreateView(LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
         View view = inflater.inflate(R.layout.fragment_search_location, container, false);
         searchEditText = view.findViewById(R.id.search_edit_text);
+        suggestionsList = view.findViewById(R.id.suggestions_list);
+        suggestionAdapter = new AddressSuggestionAdapter(this::selectAddress);
+        suggestionsList.setLayoutManager(new LinearLayoutManager(requireContext()));
+        suggestionsList.setAdapter(suggestionAdapter);
+        setupSearchListener();
 
-        SupportMapFragment mapFragment = (SupportMapFragment)
-                getChildFragmentManager().findFragmentById(R.id.map_fragment);
-
-        if (mapFragment != null) {
-            mapFragment.getMapAsync(map -> {
-                googleMap = map;
-                setupSearchListener();
-                setupMapTapListener();
-            });
+        mapPreview = view.findViewById(R.id.map_preview);
+        GeocodedAddress current = LocationStore.getInstance(requireContext()).getCachedAddress();
+        if (current != null) {
+            mapPreview.setText("Loading map near " + current.getRegionLine() + "...");
         }
+        MapsLoader.warmUp(requireContext());
+        // Once the view is attached, so the search box shows and works while the map initializes
+        view.post(this::attachMap);
 
         return view;
     }
 
     /*********************************************************************************************************
-     * Method Name     : setupSearchListener
-     * Description     : Sets up listener on the EditText to initiate geocoding search based on entered location
-     *                   name when the user submits the input.
+     * Method Name     : attachMap
+     * Description     : Adds the map fragment to its container, opening on the current address, or reattaches
+     *                   to the one restored after a configuration change. The placeholder is removed once the
+     *                   map is ready.
      * Parameters      : None
      * Return          : void
      *********************************************************************************************************/
-    private void setupSearchListener() {
-        searchEditText.setOnEditorActionListener((v, actionId, event) -> {
-            String query = searchEditText.getText().toString().trim();
-            if (!query.isEmpty()) {
-                checkLocationSettingsAndSearch(query);
+    private void attachMap() {
+        if (getView() == null) {
+            return;
+        }
+        SupportMapFragment mapFragment = (SupportMapFragment)
+                getChildFragmentManager().findFragmentByTag(MAP_FRAGMENT_TAG);
+        if (mapFragment == null) {
+            GoogleMapOptions options = new GoogleMapOptions();
+            GeocodedAddress current = LocationStore.getInstance(requireContext()).getCachedAddress();
+            if (current != null) {
+                options.camera(CameraPosition.fromLatLngZoom(
+                        new LatLng(current.getLatitude(), current.getLongitude()), INITIAL_ZOOM));
+            }
+            mapFragment = SupportMapFragment.newInstance(options);
+            getChildFragmentManager().beginTransaction()
+                    .add(R.id.map_container, mapFragment, MAP_FRAGMENT_TAG)
+                    .commitNow();
+        }
+        mapFragment.getMapAsync(map -> {
+            if (getView() == null) {
+                return;
+            }
+            mapPreview.setVisibility(View.GONE);
+            mapController = new MapPickController(requireContext(), map, createMapListener());
+            if (selected != null) {
+                mapController.show(selected);
             }
-            return true;
         });
     }
 
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        suggestHandler.removeCallbacks(suggestRunnable);
+        cancelPendingLookup();
+        if (mapController != null) {
+            mapController.release();
+            mapController = null;
+        }
+    }
+
     /*********************************************************************************************************
-     * Method Name     : setupMapTapListener
-     * Description     : Allows user to tap on the map to choose a location. Marker is updated and reverse geocoding
-     *                   is performed to resolve address which is then displayed and stored.
+     * Method Name     : setupSearchListener
+     * Description     : Sets up the search box. Every edit shows the matching history entries immediately and
+     *                   restarts the debounce of the Geocoder lookup, cancelling the lookup for the previous
+     *                   text. Submitting picks the top suggestion, or geocodes the text when there is none.
      * Parameters      : None
      * Return          : void
      *********************************************************************************************************/
-    private void setupMapTapListener() {
-        googleMap.setOnMapClickListener(latLng -> {
-            googleMap.clear();
-            googleMap.addMarker(new MarkerOptions().position(latLng).title("Selected Location"));
-            googleMap.animateCamera(CameraUpdateFactory.newLatLngZoom(latLng, 15));
-
-            Geocoder geocoder = new Geocoder(requireContext(), Locale.getDefault());
-            try {
-                List<Address> addresses = geocoder.getFromLocation(latLng.latitude, latLng.longitude, 1);
-                if (!addresses.isEmpty()) {
-                    selectedAddress = addresses.get(0).getAddressLine(0);
-                    selectedLatLng = latLng;
-
-                    String fullLocation = selectedAddress + " (" +
-                            latLng.latitude + ", " + latLng.longitude + ")";
-                    searchEditText.setText(selectedAddress);
-                    LocationTracker.setFetchedAddress(fullLocation);
-                    Log.d("SearchLocation", "Picked via map: " + fullLocation);
+    private void setupSearchListener() {
+        searchEditText.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) { }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) { }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                if (ignoreTextChanges) {
+                    return;
+                }
+                suggestHandler.removeCallbacks(suggestRunnable);
+                cancelPendingLookup();
+                String query = s.toString().trim();
+                showSuggestions(AddressHistory.getInstance(requireContext())
+                        .rank(query, Collections.emptyList(), SUGGESTION_LIMIT));
+                if (query.length() >= MIN_QUERY_LENGTH) {
+                    suggestHandler.postDelayed(suggestRunnable, SUGGEST_DEBOUNCE_MS);
                 }
-            } catch (IOException e) {
-                e.printStackTrace();
-                Toast.makeText(requireContext(), "Failed to get address", Toast.LENGTH_SHORT).show();
             }
         });
+
+        searchEditText.setOnEditorActionListener((v, actionId, event) -> {
+            String query = searchEditText.getText().toString().trim();
+            GeocodedAddress top = suggestionAdapter.getFirst();
+            if (top != null) {
+                selectAddress(top);
+            } else if (!query.isEmpty()) {
+                searchAddress(query);
+            }
+            return true;
+        });
     }
 
     /*********************************************************************************************************
-     * Method Name     : checkLocationSettingsAndSearch
-     * Description     : Ensures that device location settings are enabled before proceeding with geocoding
-     *                   the searched query. Attempts to resolve missing permissions interactively.
-     * Parameters      : String query – Address query entered by the user
+     * Method Name     : lookUpSuggestions
+     * Description     : Asks the Geocoder for matches of the settled query and shows them ranked together
+     *                   with the history. Results for any other text than the current one are ignored.
+     * Parameters      : None
      * Return          : void
      *********************************************************************************************************/
-    private void checkLocationSettingsAndSearch(String query) {
-        LocationRequest locationRequest = LocationRequest.create()
-                .setPriority(Priority.PRIORITY_HIGH_ACCURACY);
-
-        LocationSettingsRequest.Builder builder = new LocationSettingsRequest.Builder()
-                .addLocationRequest(locationRequest)
-                .setAlwaysShow(true);
-
-        SettingsClient client = LocationServices.getSettingsClient(requireActivity());
-        client.checkLocationSettings(builder.build())
-                .addOnSuccessListener(response -> searchAddress(query))
-                .addOnFailureListener(e -> {
-                    if (e instanceof ResolvableApiException) {
-                        try {
-                            ((ResolvableApiException) e).startResolutionForResult(requireActivity(), REQUEST_LOCATION_SETTINGS);
-                        } catch (IntentSender.SendIntentException ex) {
-                            ex.printStackTrace();
-                        }
-                    } else {
-                        Toast.makeText(requireContext(), "Location services are required.", Toast.LENGTH_SHORT).show();
+    private void lookUpSuggestions() {
+        String query = searchEditText.getText().toString().trim();
+        pendingLookup = GeocodingService.getInstance(requireContext()).suggest(query, SUGGESTION_LIMIT,
+                (lookedUp, suggestions) -> {
+                    if (!isAdded() || getView() == null
+                            || !lookedUp.equals(searchEditText.getText().toString().trim())) {
+                        return;
                     }
+                    pendingLookup = null;
+                    showSuggestions(AddressHistory.getInstance(requireContext())
+                            .rank(lookedUp, suggestions, SUGGESTION_LIMIT));
                 });
     }
 
+    private void cancelPendingLookup() {
+        if (pendingLookup != null) {
+            pendingLookup.cancel();
+            pendingLookup = null;
+        }
+    }
+
+    private void dismissSuggestions() {
+        suggestHandler.removeCallbacks(suggestRunnable);
+        cancelPendingLookup();
+        showSuggestions(Collections.emptyList());
+    }
+
+    private void showSuggestions(List<GeocodedAddress> suggestions) {
+        suggestionAdapter.setSuggestions(suggestions);
+        suggestionsList.setVisibility(suggestions.isEmpty() ? View.GONE : View.VISIBLE);
+    }
+
     /*********************************************************************************************************
-     * Method Name     : searchAddress
-     * Description     : Uses Geocoder to resolve an address from the query string. If found, a marker is placed
-     *                   and the map is updated. Also updates LocationTracker with the address.
-     * Parameters      : String query – The address string to be geocoded
+     * Method Name     : selectAddress
+     * Description     : Picks a suggested or searched address: moves the pin there, publishes it through
+     *                   LocationStore and remembers it in AddressHistory.
+     * Parameters      : GeocodedAddress address – The address picked.
      * Return          : void
      *********************************************************************************************************/
-    private void searchAddress(String query) {
-        Geocoder geocoder = new Geocoder(requireContext(), Locale.getDefault());
-        try {
-            List<Address> addresses = geocoder.getFromLocationName(query, 1);
-            if (!addresses.isEmpty()) {
-                Address address = addresses.get(0);
-                selectedLatLng = new LatLng(address.getLatitude(), address.getLongitude());
-                selectedAddress = address.getAddressLine(0);
-
-                String fullLocation = selectedAddress + " (" +
-                        selectedLatLng.latitude + ", " +
-                        selectedLatLng.longitude + ")";
-
-                googleMap.clear();
-                googleMap.addMarker(new MarkerOptions().position(selectedLatLng).title("Selected Location"));
-                googleMap.animateCamera(CameraUpdateFactory.newLatLngZoom(selectedLatLng, 15));
-
-                LocationTracker.setFetchedAddress(fullLocation);
-                Log.d("SearchLocation", "Picked via search: " + fullLocation);
-            } else {
-                Toast.makeText(requireContext(), "No address found.", Toast.LENGTH_SHORT).show();
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-            Toast.makeText(requireContext(), "Geocoding failed.", Toast.LENGTH_SHORT).show();
+    private void selectAddress(GeocodedAddress address) {
+        dismissSuggestions();
+        setTextQuietly(address.getAddressLine());
+        if (mapController != null) {
+            mapController.show(address);
         }
+        publish(address);
+    }
+
+    private void publish(GeocodedAddress address) {
+        selected = address;
+        LocationStore.getInstance(requireContext()).update(address);
+        AddressHistory.getInstance(requireContext()).record(address);
+        Log.d("SearchLocation", "Picked: " + address.getGeohash());
+    }
+
+    private void setTextQuietly(String text) {
+        ignoreTextChanges = true;
+        searchEditText.setText(text);
+        ignoreTextChanges = false;
     }
 
     /*********************************************************************************************************
-     * Method Name     : onActivityResult
-     * Description     : Callback invoked when the user returns from the location settings prompt. If accepted,
-     *                   retries the address search with the previously entered query.
-     * Parameters      : int requestCode – Code identifying the request
-     *                   int resultCode – Result status
-     *                   Intent data – Returned intent data (not used here)
+     * Method Name     : createMapListener
+     * Description     : Connects map picks to the search box: the provisional label is shown while the pin
+     *                   moves, and the resolved address is displayed, stored and remembered in AddressHistory.
+     * Parameters      : None
+     * Return          : MapPickController.Listener – Listener for the map controller.
+     *********************************************************************************************************/
+    private MapPickController.Listener createMapListener() {
+        return new MapPickController.Listener() {
+            @Override
+            public void onProvisional(LatLng point, String label) {
+                dismissSuggestions();
+                setTextQuietly(label);
+            }
+
+            @Override
+            public void onResolved(GeocodedAddress address) {
+                setTextQuietly(address.getAddressLine());
+                publish(address);
+            }
+
+            @Override
+            public void onFailure(String errorMessage) {
+                Toast.makeText(requireContext(), "Failed to get address", Toast.LENGTH_SHORT).show();
+            }
+        };
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : searchAddress
+     * Description     : Resolves an address from the query string off the main thread via GeocodingService. If
+     *                   found, a marker is placed and the map is updated. Also publishes the address through
+     *                   LocationStore and remembers it in AddressHistory. Geocoding by name needs no device
+     *                   location, so location settings are not checked.
+     * Parameters      : String query – The address string to be geocoded
      * Return          : void
      *********************************************************************************************************/
-    @Override
-    public void onActivityResult(int requestCode, int resultCode, @Nullable Intent data) {
-        super.onActivityResult(requestCode, resultCode, data);
-        if (requestCode == REQUEST_LOCATION_SETTINGS && resultCode == Activity.RESULT_OK) {
-            String query = searchEditText.getText().toString().trim();
-            if (!query.isEmpty()) {
-                searchAddress(query);
+    private void searchAddress(String query) {
+        GeocodingService.getInstance(requireContext()).forwardGeocode(query, new GeocodingService.AddressCallback() {
+            @Override
+            public void onSuccess(GeocodedAddress address) {
+                if (!isAdded() || getView() == null) {
+                    return;
+                }
+                selectAddress(address);
             }
-        }
+
+            @Override
+            public void onFailure(String errorMessage) {
+                if (isAdded()) {
+                    Toast.makeText(requireContext(), "No address found.", Toast.LENGTH_SHORT).show();
+                }
+            }
+        });
     }
 }
@@ -10,27 +10,32 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.service.atozhomeservice.R;
+import com.service.atozhomeservice.model.CartChange;
 import com.service.atozhomeservice.model.CartItem;
+import com.service.atozhomeservice.model.CartManager;
+import com.service.atozhomeservice.view.ImageLoader;
 
-import java.util.ArrayList;
+import java.util.List;
 /*********************************************************************************************************
  * Author         : Gunnampalli Parameswara Reddy
  * Class Name     : CartAdapter
  * Description    : RecyclerView adapter for displaying items in the user's cart. Binds item data such as
  *                  icon, label, quantity, price, and service hierarchy to corresponding views in the cart layout.
  * Called By      : ViewCart, PlaceOrder fragments, or any screen displaying selected cart items.
- * Instance Vars  : ArrayList<CartItem> cartItems – List of cart items to be displayed.
+ * Instance Vars  : List<CartItem> cartItems – List of cart items to be displayed. Kept in sync with the
+ *                                            CartManager through applyChanges().
  *********************************************************************************************************/
 public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder> {
-    private ArrayList<CartItem> cartItems;
+    private final List<CartItem> cartItems;
 
     /*********************************************************************************************************
      * Constructor     : CartAdapter
      * Description     : Initializes the adapter with a list of CartItem objects.
-     * Parameters      : ArrayList<CartItem> cartItems – List of selected items in the user's cart.
+     * Parameters      : List<CartItem> cartItems – List of selected items in the user's cart. The adapter
+     *                                              takes ownership of the list.
      * Return          : None
      *********************************************************************************************************/
-    public CartAdapter(ArrayList<CartItem> cartItems) {
+    public CartAdapter(List<CartItem> cartItems) {
         this.cartItems = cartItems;
     }
 
@@ -59,10 +64,10 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
     @Override
     public void onBindViewHolder(@NonNull CartViewHolder holder, int position) {
         CartItem item = cartItems.get(position);
-        holder.itemImage.setImageResource(item.getIcon());
+        ImageLoader.getInstance(holder.itemImage.getContext()).load(item.getIcon(), holder.itemImage);
         holder.label.setText(item.getItemType());
         holder.quantity.setText("Qty: " + item.getQuantity());
-        holder.price.setText(String.format("₹ %.2f", item.getItemPrice()*item.getQuantity()));
+        holder.price.setText(item.getLineTotal().format());
         holder.service.setText(item.getMainService() + " > " + item.getSubService());
     }
 
@@ -77,6 +82,62 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
         return cartItems.size();
     }
 
+    /*********************************************************************************************************
+     * Method Name     : applyChanges
+     * Description     : Applies a batch of cart deltas to the displayed list and notifies only the affected
+     *                   rows, instead of rebuilding the adapter.
+     * Parameters      : List<CartChange> changes – Deltas emitted by CartLiveData.
+     * Return          : void
+     *********************************************************************************************************/
+    public void applyChanges(List<CartChange> changes) {
+        for (CartChange change : changes) {
+            switch (change.getType()) {
+                case ADDED: {
+                    // An upsert, so a line the list already shows is never duplicated
+                    int index = indexOfKey(change.getKey());
+                    if (index >= 0) {
+                        cartItems.set(index, change.getItem());
+                        notifyItemChanged(index);
+                    } else {
+                        cartItems.add(change.getItem());
+                        notifyItemInserted(cartItems.size() - 1);
+                    }
+                    break;
+                }
+                case QUANTITY_CHANGED: {
+                    int index = cartItems.indexOf(change.getItem());
+                    if (index >= 0) {
+                        notifyItemChanged(index);
+                    }
+                    break;
+                }
+                case REMOVED: {
+                    int index = cartItems.indexOf(change.getItem());
+                    if (index >= 0) {
+                        cartItems.remove(index);
+                        notifyItemRemoved(index);
+                    }
+                    break;
+                }
+                case CLEARED:
+                    int size = cartItems.size();
+                    cartItems.clear();
+                    notifyItemRangeRemoved(0, size);
+                    break;
+            }
+        }
+    }
+
+    private int indexOfKey(String key) {
+        for (int i = 0; i < cartItems.size(); i++) {
+            CartItem item = cartItems.get(i);
+            if (CartManager.keyOf(item.getMainService(), item.getSubService(), item.getItemType()).equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /*********************************************************************************************************
      * Inner Class     : CartViewHolder
      * Description     : Holds view references for a single cart item layout. These include image, labels,
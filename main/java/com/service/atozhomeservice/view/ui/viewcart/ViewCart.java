@@ -5,7 +5,6 @@ import android.os.Bundle;
 import androidx.fragment.app.Fragment;
 import androidx.navigation.fragment.NavHostFragment;
 import androidx.recyclerview.widget.LinearLayoutManager;
-import androidx.recyclerview.widget.RecyclerView;
 
 import android.view.LayoutInflater;
 import android.view.View;
@@ -14,8 +13,8 @@ import android.view.ViewGroup;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.service.atozhomeservice.R;
 import com.service.atozhomeservice.databinding.FragmentViewCartBinding;
-import com.service.atozhomeservice.model.CartItem;
 import com.service.atozhomeservice.model.CartManager;
+import com.service.atozhomeservice.viewmodel.CartLiveData;
 
 import java.util.ArrayList;
 
@@ -27,13 +26,13 @@ import java.util.ArrayList;
  *                  the order placement screen. Handles empty cart state gracefully.
  * Called By      : Navigation component when navigating to the cart screen.
  * Instance Vars  : FragmentViewCartBinding binding – View binding reference for accessing layout views.
- *                  double total_amount – Stores the total price of selected items in the cart.
+ *                  CartAdapter adapter – Adapter kept in sync with the cart through CartLiveData deltas.
  *********************************************************************************************************/
 public class ViewCart extends Fragment {
 
     private FragmentViewCartBinding binding;
 
-    private double total_amount;
+    private CartAdapter adapter;
 
     /*********************************************************************************************************
      * Constructor     : ViewCart
@@ -61,9 +60,9 @@ public class ViewCart extends Fragment {
 
     /*********************************************************************************************************
      * Method Name     : onCreateView
-     * Description     : Inflates the fragment layout, retrieves items from the CartManager, updates the UI
-     *                   based on cart state (empty vs filled), displays cart summary, and enables navigation
-     *                   to the order screen.
+     * Description     : Inflates the fragment layout, updates the UI based on cart state (empty vs filled),
+     *                   displays cart summary, and enables navigation to the order screen. The cart lines,
+     *                   initial ones included, are applied as deltas from CartLiveData.
      * Parameters      : LayoutInflater inflater – Inflater used to load XML layout
      *                   ViewGroup container     – Parent container for fragment UI
      *                   Bundle savedInstanceState – Previous instance state, if any
@@ -75,42 +74,38 @@ public class ViewCart extends Fragment {
 
         binding = FragmentViewCartBinding.inflate(inflater, container, false);
 
-        ArrayList<CartItem> cartList = new ArrayList<>(CartManager.getInstance().getItems());
-
-        if(cartList.isEmpty())
-        {
-            binding.emptyCartLayout.setVisibility(View.VISIBLE);
-            binding.cartRecyclerView.setVisibility(View.GONE);
-            binding.cartSummaryBar.setVisibility(View.GONE);
-        }else
-        {
-            CartAdapter adapter = new CartAdapter(cartList);
-            binding.cartRecyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
-            binding.cartRecyclerView.setAdapter(adapter);
-            total_amount = calculateTotalAmount(cartList);
-            binding.totalAmountLabel.setText(String.format("Total : ₹ %.2f", total_amount));
-            binding.placeOrderButton.setOnClickListener(v->{
-                NavHostFragment.findNavController(this).navigate(R.id.navigation_place_order);
-            });
-        }
+        // Filled by the resync batch CartLiveData emits when the view starts
+        adapter = new CartAdapter(new ArrayList<>());
+        binding.cartRecyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
+        binding.cartRecyclerView.setAdapter(adapter);
+        binding.placeOrderButton.setOnClickListener(v->{
+            NavHostFragment.findNavController(this).navigate(R.id.navigation_place_order);
+        });
+        updateCartState();
+
+        new CartLiveData().observe(getViewLifecycleOwner(), changes -> {
+            adapter.applyChanges(changes);
+            updateCartState();
+        });
 
         return binding.getRoot();
     }
     /*********************************************************************************************************
-     * Method Name     : calculateTotalAmount
-     * Description     : Calculates the total payable amount by iterating over each CartItem and summing the
-     *                   product of price and quantity.
-     * Parameters      : ArrayList<CartItem> cartList – List of items in the cart
-     * Return          : double – Total price of items in the cart
+     * Method Name     : updateCartState
+     * Description     : Toggles between the empty-cart placeholder and the cart list, and refreshes the total
+     *                   from the running amount maintained by the CartManager.
+     * Parameters      : None
+     * Return          : void
      *********************************************************************************************************/
-    private double calculateTotalAmount(ArrayList<CartItem> cartList)
+    private void updateCartState()
     {
-        double total =0;
-        for (CartItem item: cartList) {
-            total += item.getItemPrice() * item.getQuantity();
-        }
-        return total;
+        boolean empty = adapter.getItemCount() == 0;
+        binding.emptyCartLayout.setVisibility(empty ? View.VISIBLE : View.GONE);
+        binding.cartRecyclerView.setVisibility(empty ? View.GONE : View.VISIBLE);
+        binding.cartSummaryBar.setVisibility(empty ? View.GONE : View.VISIBLE);
+        binding.totalAmountLabel.setText("Total : " + CartManager.getInstance().getTotal().format());
     }
+
     /*********************************************************************************************************
      * Method Name     : onResume
      * Description     : Ensures the bottom navigation view highlights the cart tab when this fragment resumes.
@@ -7,28 +7,48 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.service.atozhomeservice.R;
 import com.service.atozhomeservice.model.Order;
 
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 
 /*********************************************************************************************************
  * Author         : Gunnampalli Parameswara Reddy
  * Class Name     : OrderAdapter
  * Description    : RecyclerView adapter responsible for displaying a list of user orders. Each order includes
  *                  status, amount, payment type, timestamp, and a nested list of ordered items displayed
- *                  through OrderItemAdapter.
+ *                  through OrderItemAdapter. Each row creates its nested layout manager and item adapter
+ *                  once; a bind only swaps the items of the row's adapter. All nested lists draw their item
+ *                  views from one shared pool, so scrolling a long history reuses views instead of
+ *                  inflating them per row.
  * Called By      : OrdersDetails fragment during order history rendering.
  * Instance Vars  : List<Order> orders – List of orders to be rendered.
  *                  Context context     – Context used for inflating views and initializing sub-adapters.
+ *                  RecycledViewPool itemsPool – Item views shared by the nested itemsRecyclers.
+ *                  SimpleDateFormat timeFormat – Order time format, used on the main thread only.
  *********************************************************************************************************/
 public class OrderAdapter extends RecyclerView.Adapter<OrderAdapter.OrderViewHolder> {
 
+    // Nested rows laid out ahead of time when an order card is prefetched; most orders hold a few items
+    private static final int ITEMS_PREFETCH_COUNT = 4;
+    private static final int ITEMS_POOL_SIZE = 24;
+
     private List<Order> orders;
     private Context context;
+    // Created once per adapter rather than per bind; SimpleDateFormat is not thread-safe, but binds only
+    // run on the main thread. java.time would need API 26 or core library desugaring.
+    private final SimpleDateFormat timeFormat = new SimpleDateFormat("dd MMM yyyy, hh:mm a", Locale.getDefault());
+    private final Date boundTime = new Date();
+    private final RecyclerView.RecycledViewPool itemsPool = new RecyclerView.RecycledViewPool();
 
     /*********************************************************************************************************
      * Constructor     : OrderAdapter
@@ -40,11 +60,60 @@ public class OrderAdapter extends RecyclerView.Adapter<OrderAdapter.OrderViewHol
     public OrderAdapter(Context context, List<Order> orders) {
         this.context = context;
         this.orders = orders;
+        itemsPool.setMaxRecycledViews(0, ITEMS_POOL_SIZE);
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : setOrders
+     * Description     : Replaces the displayed orders and dispatches only the row-level differences, matched by
+     *                   order ID. A status change of one order rebinds a single row; a newly synced page only
+     *                   inserts its range.
+     * Parameters      : List<Order> newOrders – The full list of synced orders.
+     * Return          : void
+     *********************************************************************************************************/
+    public void setOrders(List<Order> newOrders) {
+        List<Order> oldOrders = orders;
+        DiffUtil.DiffResult diff = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldOrders.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newOrders.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                return Objects.equals(oldOrders.get(oldPosition).getOrderId(), newOrders.get(newPosition).getOrderId());
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                Order oldOrder = oldOrders.get(oldPosition);
+                Order newOrder = newOrders.get(newPosition);
+                return oldOrder.getTimestamp() == newOrder.getTimestamp()
+                        && oldOrder.getTotal().equals(newOrder.getTotal())
+                        && Objects.equals(oldOrder.getStatus(), newOrder.getStatus())
+                        && Objects.equals(oldOrder.getPaymentType(), newOrder.getPaymentType())
+                        && Objects.equals(oldOrder.getLocation(), newOrder.getLocation())
+                        && sizeOf(oldOrder.getItems()) == sizeOf(newOrder.getItems());
+            }
+        }, false);
+        orders = newOrders;
+        diff.dispatchUpdatesTo(this);
+    }
+
+    private static int sizeOf(List<?> list) {
+        return list == null ? 0 : list.size();
     }
 
     /*********************************************************************************************************
      * Method Name     : onCreateViewHolder
-     * Description     : Inflates the layout for a single order card and wraps it in an OrderViewHolder.
+     * Description     : Inflates the layout for a single order card and wraps it in an OrderViewHolder. The
+     *                   nested itemsRecycler gets its layout manager, item adapter and the shared pool here,
+     *                   once per card. Its item views go back to the pool when the card is recycled.
      * Parameters      : ViewGroup parent – RecyclerView that holds the list items.
      *                   int viewType – View type (unused in this case).
      * Return          : OrderViewHolder – ViewHolder containing inflated views for an order entry.
@@ -53,14 +122,24 @@ public class OrderAdapter extends RecyclerView.Adapter<OrderAdapter.OrderViewHol
     @Override
     public OrderViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(context).inflate(R.layout.item_order, parent, false);
-        return new OrderViewHolder(view);
+        OrderViewHolder holder = new OrderViewHolder(view);
+
+        LinearLayoutManager layoutManager = new LinearLayoutManager(context);
+        layoutManager.setInitialPrefetchItemCount(ITEMS_PREFETCH_COUNT);
+        layoutManager.setRecycleChildrenOnDetach(true);
+        holder.itemsRecycler.setLayoutManager(layoutManager);
+        holder.itemsRecycler.setRecycledViewPool(itemsPool);
+        holder.itemAdapter = new OrderItemAdapter(context, Collections.emptyList());
+        holder.itemsRecycler.setAdapter(holder.itemAdapter);
+        return holder;
     }
 
 
     /*********************************************************************************************************
      * Method Name     : onBindViewHolder
      * Description     : Binds an Order object to its corresponding ViewHolder. Populates status, amount,
-     *                   payment method, formatted timestamp, and nested RecyclerView of cart items.
+     *                   payment method, formatted timestamp, and swaps the cart items into the row's
+     *                   existing nested adapter.
      * Parameters      : OrderViewHolder holder – ViewHolder instance to populate.
      *                   int position – Index of the Order in the list.
      * Return          : void
@@ -69,18 +148,15 @@ public class OrderAdapter extends RecyclerView.Adapter<OrderAdapter.OrderViewHol
     public void onBindViewHolder(@NonNull OrderViewHolder holder, int position) {
         Order order = orders.get(position);
 
-        holder.amount.setText("Total: ₹ " + order.getTotalAmount());
+        holder.amount.setText("Total: " + order.getTotal().format());
         holder.payment.setText("Payment: " + order.getPaymentType());
         holder.status.setText("Status: " + order.getStatus());
 
-        String timeFormatted = new java.text.SimpleDateFormat("dd MMM yyyy, hh:mm a",
-                java.util.Locale.getDefault()).format(new java.util.Date(order.getTimestamp()));
-        holder.time.setText(timeFormatted);
+        boundTime.setTime(order.getTimestamp());
+        holder.time.setText(timeFormat.format(boundTime));
 
         // Nested items RecyclerView
-        OrderItemAdapter itemAdapter = new OrderItemAdapter(context, order.getItems());
-        holder.itemsRecycler.setLayoutManager(new LinearLayoutManager(context));
-        holder.itemsRecycler.setAdapter(itemAdapter);
+        holder.itemAdapter.setItems(order.getItems());
     }
 
     /*********************************************************************************************************
@@ -103,6 +179,7 @@ public class OrderAdapter extends RecyclerView.Adapter<OrderAdapter.OrderViewHol
     static class OrderViewHolder extends RecyclerView.ViewHolder {
         TextView amount, payment, status, time;
         RecyclerView itemsRecycler;
+        OrderItemAdapter itemAdapter;
 
         public OrderViewHolder(@NonNull View itemView) {
             super(itemView);
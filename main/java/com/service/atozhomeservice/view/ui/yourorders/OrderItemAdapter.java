@@ -10,7 +10,10 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.service.atozhomeservice.model.CartItem;
+import com.service.atozhomeservice.model.CatalogNode;
+import com.service.atozhomeservice.repository.CatalogRepository;
 
+import java.util.Collections;
 import java.util.List;
 
 /*********************************************************************************************************
@@ -18,14 +21,19 @@ import java.util.List;
  * Class Name     : OrderItemAdapter
  * Description    : RecyclerView adapter for displaying individual items within an order. Binds CartItem
  *                  data to a simple list layout containing service name, quantity, and price per item.
+ *                  Legacy items show the label stored with the order. Items stored by catalog ID are
+ *                  labelled from the catalog, whose IDs keep their label for good, falling back to the ID
+ *                  while their category is not loaded yet.
  * Called By      : OrderAdapter for populating nested items within each order.
  * Instance Vars  : Context context – Context used to inflate views.
  *                  List<CartItem> items – List of CartItem objects representing ordered services.
+ *                  CatalogRepository catalog – Resolves catalog item IDs to their labels.
  *********************************************************************************************************/
 public class OrderItemAdapter extends RecyclerView.Adapter<OrderItemAdapter.ItemViewHolder> {
 
     private Context context;
     private List<CartItem> items;
+    private final CatalogRepository catalog;
 
     /*********************************************************************************************************
      * Constructor     : OrderItemAdapter
@@ -37,6 +45,19 @@ public class OrderItemAdapter extends RecyclerView.Adapter<OrderItemAdapter.Item
     public OrderItemAdapter(Context context, List<CartItem> items) {
         this.context = context;
         this.items = items;
+        this.catalog = CatalogRepository.getInstance(context);
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : setItems
+     * Description     : Swaps in the items of another order, so an order card that is rebound keeps its adapter
+     *                   and its nested views are rebound rather than recreated.
+     * Parameters      : List<CartItem> newItems – Items of the order now shown, may be null.
+     * Return          : void
+     *********************************************************************************************************/
+    public void setItems(List<CartItem> newItems) {
+        items = newItems != null ? newItems : Collections.emptyList();
+        notifyDataSetChanged();
     }
 
     /*********************************************************************************************************
@@ -65,8 +86,16 @@ public class OrderItemAdapter extends RecyclerView.Adapter<OrderItemAdapter.Item
     @Override
     public void onBindViewHolder(@NonNull ItemViewHolder holder, int position) {
         CartItem item = items.get(position);
-        holder.title.setText(item.getItemType()); // or "Fan Installation"
-        holder.subtitle.setText("Qty: " + item.getQuantity() + "  ₹" + item.getItemPrice());
+        holder.title.setText(labelOf(item));
+        holder.subtitle.setText("Qty: " + item.getQuantity() + "  " + item.getUnitPrice().format());
+    }
+
+    private String labelOf(CartItem item) {
+        if (item.getItemType() != null || item.getItemId() == null) {
+            return item.getItemType();
+        }
+        CatalogNode node = catalog.find(item.getItemId());
+        return node != null ? node.getLabel() : item.getItemId();
     }
 
     /*********************************************************************************************************
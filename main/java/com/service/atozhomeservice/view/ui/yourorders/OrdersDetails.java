@@ -2,9 +2,11 @@ package com.service.atozhomeservice.view.ui.yourorders;
 
 import android.os.Bundle;
 
+import androidx.annotation.NonNull;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import android.view.LayoutInflater;
 import android.view.View;
@@ -13,24 +15,38 @@ import android.view.ViewGroup;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.service.atozhomeservice.R;
 import com.service.atozhomeservice.databinding.FragmentOrdersDetailsBinding;
+import com.service.atozhomeservice.model.CartItem;
+import com.service.atozhomeservice.model.CatalogNode;
+import com.service.atozhomeservice.model.Order;
+import com.service.atozhomeservice.repository.CatalogRepository;
 import com.service.atozhomeservice.viewmodel.AuthViewModel;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 /*********************************************************************************************************
  * Author         : Gunnampalli Parameswara Reddy
  * Class Name     : OrdersDetails
  * Description    : Fragment responsible for displaying all user orders. It observes LiveData from the
- *                  ViewModel to reactively populate the order history using a RecyclerView. Displays a
+ *                  ViewModel to reactively populate the order history page by page using a RecyclerView. Displays a
  *                  fallback message if no orders exist. Ensures the navigation bar is correctly synced.
  * Called By      : Navigation component during order history flow.
  * Instance Vars  : FragmentOrdersDetailsBinding binding – View binding reference for layout views.
  *                  AuthViewModel viewModel               – ViewModel to fetch orders from Firestore.
  *                  OrderAdapter adapter                  – Adapter for rendering order items.
+ *                  Set<String> labelCategories           – Categories loaded to label catalog items.
  *********************************************************************************************************/
 public class OrdersDetails extends Fragment {
 
     private FragmentOrdersDetailsBinding binding;
     private AuthViewModel viewModel;
     private OrderAdapter adapter;
+    // Categories observed for the labels of the shown orders; reset with the view
+    private final Set<String> labelCategories = new HashSet<>();
+
+    private static final int PREFETCH_DISTANCE = 3;
 
     /*********************************************************************************************************
      * Constructor     : OrdersDetails
@@ -57,7 +73,8 @@ public class OrdersDetails extends Fragment {
     /*********************************************************************************************************
      * Method Name     : onCreateView
      * Description     : Inflates the layout, sets up the RecyclerView, observes LiveData from ViewModel to
-     *                   update UI based on order presence, and triggers Firestore fetch.
+     *                   update UI based on order presence. The first page is synced from onStart(); further
+     *                   pages are requested as the user scrolls towards the end of the list.
      * Parameters      : LayoutInflater inflater – Inflater to load the layout.
      *                   ViewGroup container     – Parent container for the fragment view.
      *                   Bundle savedInstanceState – Previously saved fragment state.
@@ -72,24 +89,91 @@ public class OrdersDetails extends Fragment {
         // Set up RecyclerView
         binding.ordersRecycler.setLayoutManager(new LinearLayoutManager(getContext()));
         binding.ordersRecycler.setHasFixedSize(true);
+        adapter = new OrderAdapter(getContext(), new ArrayList<>());
+        binding.ordersRecycler.setAdapter(adapter);
+
+        // Load the next page once the user scrolls close to the end of the loaded history
+        binding.ordersRecycler.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0) {
+                    loadMoreIfNearEnd();
+                }
+            }
+        });
 
         // Observe Firestore LiveData
+        labelCategories.clear();
         viewModel.getOrders().observe(getViewLifecycleOwner(), orders -> {
-            if (orders.isEmpty()) {
-                binding.emptyText.setVisibility(View.VISIBLE);
-            } else {
-                binding.emptyText.setVisibility(View.GONE);
-                adapter = new OrderAdapter(getContext(), orders);
-                binding.ordersRecycler.setAdapter(adapter);
-            }
+            binding.emptyText.setVisibility(orders.isEmpty() ? View.VISIBLE : View.GONE);
+            adapter.setOrders(orders);
+            loadLabelCategories(orders);
+            // A short first page may not fill the screen, so no scroll event would follow
+            binding.ordersRecycler.post(this::loadMoreIfNearEnd);
         });
 
-        // Trigger fetch
+        return binding.getRoot();
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : onStart
+     * Description     : Starts the live sync of the newest orders page. The ViewModel ignores the call while its
+     *                   listener is attached and re-attaches a listener that has failed, whatever the list
+     *                   currently shows.
+     * Parameters      : None
+     * Return          : void
+     *********************************************************************************************************/
+    @Override
+    public void onStart() {
+        super.onStart();
         viewModel.fetchOrders();
+    }
 
-        return binding.getRoot();
+
+    /*********************************************************************************************************
+     * Method Name     : loadLabelCategories
+     * Description     : Loads only the categories needed to label the catalog items of the shown orders, and
+     *                   rebinds the list once each is loaded. Legacy orders carry their labels and need no
+     *                   catalog at all, and no category is loaded twice.
+     * Parameters      : List<Order> orders – Orders now shown.
+     * Return          : void
+     *********************************************************************************************************/
+    private void loadLabelCategories(List<Order> orders) {
+        CatalogRepository catalog = CatalogRepository.getInstance(requireContext());
+        for (Order order : orders) {
+            if (order.getItems() == null) {
+                continue;
+            }
+            for (CartItem item : order.getItems()) {
+                if (item.getItemType() != null || item.getItemId() == null) {
+                    continue;
+                }
+                String categoryId = CatalogNode.categoryIdOf(item.getItemId());
+                if (labelCategories.add(categoryId)) {
+                    catalog.getCategory(categoryId).observe(getViewLifecycleOwner(),
+                            category -> adapter.notifyItemRangeChanged(0, adapter.getItemCount()));
+                }
+            }
+        }
     }
 
+    /*********************************************************************************************************
+     * Method Name     : loadMoreIfNearEnd
+     * Description     : Requests the next page of orders when the last visible row is within PREFETCH_DISTANCE
+     *                   of the end of the loaded list.
+     * Parameters      : None
+     * Return          : void
+     *********************************************************************************************************/
+    private void loadMoreIfNearEnd() {
+        if (binding == null || !viewModel.hasMoreOrders()) {
+            return;
+        }
+        LinearLayoutManager layoutManager = (LinearLayoutManager) binding.ordersRecycler.getLayoutManager();
+        if (layoutManager != null
+                && layoutManager.findLastVisibleItemPosition() >= adapter.getItemCount() - PREFETCH_DISTANCE) {
+            viewModel.loadMoreOrders();
+        }
+    }
 
     /*********************************************************************************************************
      * Method Name     : onResume
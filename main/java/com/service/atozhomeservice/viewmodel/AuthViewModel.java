@@ -8,12 +8,18 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
 import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.ListenerRegistration;
 import com.service.atozhomeservice.model.CartItem;
 import com.service.atozhomeservice.model.CustomerData;
 import com.service.atozhomeservice.model.Order;
 import com.service.atozhomeservice.repository.AuthRepository;
+import com.service.atozhomeservice.repository.OrderCache;
+import com.service.atozhomeservice.repository.OrderMapper;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -28,6 +34,7 @@ import java.util.Map;
 public class AuthViewModel extends AndroidViewModel {
 
     private AuthRepository repository;
+    private final OrderCache orderCache;
     private final MutableLiveData<Boolean> orderSuccess = new MutableLiveData<>();
     private final MutableLiveData<String> orderError = new MutableLiveData<>();
 
@@ -36,6 +43,19 @@ public class AuthViewModel extends AndroidViewModel {
 
     private final MutableLiveData<List<Order>> ordersLiveData = new MutableLiveData<>();
 
+    // Order sync state: the newest page is synced live, older pages are read once with a cursor
+    private static final int ORDERS_PAGE_SIZE = 10;
+    // Bounds the orders held in memory however far the user scrolls; older history is not paged in
+    private static final int MAX_LOADED_ORDERS = 200;
+    private final List<Order> liveOrders = new ArrayList<>();
+    private final List<Order> olderOrders = new ArrayList<>();
+    private ListenerRegistration ordersRegistration;
+    private DocumentSnapshot liveLastDocument;
+    private DocumentSnapshot olderCursor; // null until the first older page is read
+    private boolean hasMoreOrders = true;
+    private boolean awaitingOrdersSnapshot;
+    private boolean loadingOlderOrders;
+
 
     /*********************************************************************************************************
      * Author         : Gunnampalli Parameswara Reddy
@@ -49,6 +69,7 @@ public class AuthViewModel extends AndroidViewModel {
     public AuthViewModel(@NonNull Application application) {
         super(application);
         repository = new AuthRepository(application);
+        orderCache = OrderCache.getInstance(application);
     }
 
     /*********************************************************************************************************
@@ -162,26 +183,192 @@ public class AuthViewModel extends AndroidViewModel {
 
     /*********************************************************************************************************
      * Method Name     : fetchOrders
-     * Description     : Initiates fetching of order history from the repository for the current user.
-     *                   Updates the LiveData list or falls back to an empty list if retrieval fails.
+     * Description     : Starts real-time sync of the newest page of orders for the current user. A single
+     *                   snapshot listener, owned by this ViewModel, keeps that page current: new orders and
+     *                   status changes arrive as DocumentChange deltas and are applied in place, so a status
+     *                   update reaches the UI as one row change. Older pages are added by loadMoreOrders().
+     *                   Cached orders from the OrderCache are shown until the first snapshot arrives, and every
+     *                   update of the live page is written through to the cache. Keeps the cached list if the listener fails,
+     *                   and falls back to an empty list only if nothing is available at all.
+     *                   Safe to call on every start of the orders screen: it does nothing while the listener is
+     *                   attached, and re-attaches one that has failed whatever the list currently holds.
      * Parameters      : None
      * Return          : void
      *********************************************************************************************************/
     public void fetchOrders() {
+        if (ordersRegistration != null) {
+            return;
+        }
         String userId = FirebaseAuth.getInstance().getCurrentUser().getUid();
-        repository.fetchOrders(userId, new AuthRepository.OrderListCallback() {
+        if (ordersLiveData.getValue() == null) {
+            // Local read path: render cached orders until the first live snapshot arrives
+            orderCache.read(userId, cached -> {
+                if (awaitingOrdersSnapshot && !cached.isEmpty()) {
+                    ordersLiveData.setValue(Collections.unmodifiableList(cached));
+                }
+            });
+        }
+        attachOrdersListener(userId);
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : loadMoreOrders
+     * Description     : Reads the next older page once with a startAfter cursor, so each document of the
+     *                   history is read a single time however far the user scrolls. Orders on these pages are
+     *                   not synced live; only the newest page is. Ignored until the live page has arrived,
+     *                   while a page is loading, and once the end of the history or MAX_LOADED_ORDERS has been
+     *                   reached. Older pages are not written to the OrderCache, which keeps the newest orders.
+     * Parameters      : None
+     * Return          : void
+     *********************************************************************************************************/
+    public void loadMoreOrders() {
+        DocumentSnapshot cursor = olderCursor != null ? olderCursor : liveLastDocument;
+        if (awaitingOrdersSnapshot || loadingOlderOrders || !hasMoreOrders() || cursor == null) {
+            return;
+        }
+        loadingOlderOrders = true;
+        String userId = FirebaseAuth.getInstance().getCurrentUser().getUid();
+        repository.fetchOrdersPage(userId, ORDERS_PAGE_SIZE, cursor, new AuthRepository.OrderPageCallback() {
             @Override
-            public void onSuccess(List<Order> orders) {
-                ordersLiveData.setValue(orders);
+            public void onSuccess(List<Order> orders, DocumentSnapshot lastDocument, boolean hasMore) {
+                loadingOlderOrders = false;
+                olderOrders.addAll(orders);
+                olderCursor = lastDocument;
+                hasMoreOrders = hasMore;
+                publishOrders();
             }
 
             @Override
-            public void onFailure(String error) {
-                ordersLiveData.setValue(new ArrayList<>());
+            public void onFailure(String errorMessage) {
+                loadingOlderOrders = false; // The next scroll retries
             }
         });
     }
 
+    /*********************************************************************************************************
+     * Method Name     : hasMoreOrders
+     * Description     : Indicates whether further pages of the order history may be loaded.
+     * Parameters      : None
+     * Return          : boolean – False once the whole history or MAX_LOADED_ORDERS orders have been loaded.
+     *********************************************************************************************************/
+    public boolean hasMoreOrders() {
+        return hasMoreOrders && liveOrders.size() + olderOrders.size() < MAX_LOADED_ORDERS;
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : attachOrdersListener
+     * Description     : Attaches the listener on the newest page. Its first snapshot reports every document as
+     *                   ADDED, so the live page is rebuilt from it; later snapshots only carry deltas.
+     * Parameters      : String userId – ID of the signed-in user.
+     * Return          : void
+     *********************************************************************************************************/
+    private void attachOrdersListener(String userId) {
+        awaitingOrdersSnapshot = true;
+        AuthRepository.OrderChangeListener listener = new AuthRepository.OrderChangeListener() {
+            @Override
+            public void onOrderChanges(List<DocumentChange> changes, int resultSize, DocumentSnapshot lastDocument) {
+                if (awaitingOrdersSnapshot) {
+                    awaitingOrdersSnapshot = false;
+                    liveOrders.clear();
+                }
+                applyOrderChanges(changes, resultSize == ORDERS_PAGE_SIZE);
+                liveLastDocument = lastDocument;
+                if (olderCursor == null) {
+                    hasMoreOrders = resultSize == ORDERS_PAGE_SIZE;
+                }
+                publishOrders();
+                // Only the live page is written through; the cache merges it with the older orders it holds
+                orderCache.write(userId, new ArrayList<>(liveOrders));
+            }
 
-}
+            @Override
+            public void onFailure(String error) {
+                awaitingOrdersSnapshot = false;
+                // A failed listener is dead; fetchOrders() re-attaches it when the orders screen next starts
+                ordersRegistration = null;
+                if (ordersLiveData.getValue() == null) {
+                    ordersLiveData.setValue(new ArrayList<>());
+                }
+            }
+        };
+        ordersRegistration = repository.listenToOrders(userId, ORDERS_PAGE_SIZE, listener);
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : applyOrderChanges
+     * Description     : Applies Firestore DocumentChange deltas to the live page using the old/new indices
+     *                   reported by Firestore, so no re-sorting or full rebuild is needed. A removal from a full
+     *                   page only means the order was pushed out when the same snapshot adds a newer order at
+     *                   the top; that order then moves to the head of the older pages once those have been
+     *                   read, since the older pages start right after it. Any other removal is a deletion and
+     *                   is dropped. An order added to the live page is taken out of the older pages, so the
+     *                   order Firestore pulls up to refill the page after a deletion is not shown twice.
+     * Parameters      : List<DocumentChange> changes – Deltas of one query snapshot, in order.
+     *                   boolean pageFull – Whether the page still holds ORDERS_PAGE_SIZE orders.
+     * Return          : void
+     *********************************************************************************************************/
+    private void applyOrderChanges(List<DocumentChange> changes, boolean pageFull) {
+        boolean newerOrderAdded = false;
+        for (DocumentChange change : changes) {
+            if (change.getType() == DocumentChange.Type.ADDED && change.getNewIndex() == 0) {
+                newerOrderAdded = true;
+            }
+        }
+        for (DocumentChange change : changes) {
+            switch (change.getType()) {
+                case ADDED:
+                    Order added = OrderMapper.fromDocument(change.getDocument());
+                    liveOrders.add(change.getNewIndex(), added);
+                    removeOlderOrder(added.getOrderId());
+                    break;
+                case MODIFIED:
+                    Order order = OrderMapper.fromDocument(change.getDocument());
+                    if (change.getOldIndex() == change.getNewIndex()) {
+                        liveOrders.set(change.getNewIndex(), order);
+                    } else {
+                        liveOrders.remove(change.getOldIndex());
+                        liveOrders.add(change.getNewIndex(), order);
+                    }
+                    break;
+                case REMOVED:
+                    Order removed = liveOrders.remove(change.getOldIndex());
+                    if (pageFull && newerOrderAdded && olderCursor != null) {
+                        olderOrders.add(0, removed);
+                    }
+                    break;
+            }
+        }
+    }
+
+    private void removeOlderOrder(String orderId) {
+        for (int i = 0; i < olderOrders.size(); i++) {
+            if (olderOrders.get(i).getOrderId().equals(orderId)) {
+                olderOrders.remove(i);
+                return;
+            }
+        }
+    }
+
+    private void publishOrders() {
+        List<Order> orders = new ArrayList<>(liveOrders.size() + olderOrders.size());
+        orders.addAll(liveOrders);
+        orders.addAll(olderOrders);
+        ordersLiveData.setValue(Collections.unmodifiableList(orders));
+    }
 
+    /*********************************************************************************************************
+     * Method Name     : onCleared
+     * Description     : Detaches the orders snapshot listener together with the ViewModel.
+     * Parameters      : None
+     * Return          : void
+     *********************************************************************************************************/
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        if (ordersRegistration != null) {
+            ordersRegistration.remove();
+            ordersRegistration = null;
+        }
+    }
+
+}
@@ -0,0 +1,134 @@
+package com.service.atozhomeservice.viewmodel;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.lifecycle.LiveData;
+
+import com.service.atozhomeservice.model.CartChange;
+import com.service.atozhomeservice.model.CartItem;
+import com.service.atozhomeservice.model.CartManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*************************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : CartLiveData
+ * Description    : Lifecycle-aware stream of cart deltas. Subscribes to CartManager while it has active
+ *                  observers and emits batches of CartChange objects on the main thread. Changes arriving
+ *                  within COALESCE_WINDOW_MS of each other are merged into one batch (consecutive quantity
+ *                  changes of the same line collapse into one), so a burst of taps becomes one UI update.
+ *                  Every activation, the first included, starts with a resync batch (CLEARED followed by
+ *                  ADDED for every current line), so observers never miss a change made before they became
+ *                  active, such as CartStore's restore at cold start.
+ * Usage Scope    : Create one instance per view (e.g. in onCreateView) and observe it with the view
+ *                  lifecycle owner. Observers start empty and build their state only from the emitted
+ *                  batches.
+ *************************************************************************************************************/
+public class CartLiveData extends LiveData<List<CartChange>> implements CartChange.Listener {
+
+    private static final long COALESCE_WINDOW_MS = 120;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable flushRunnable = this::flush;
+
+    // Guarded by "this"
+    private List<CartChange> pending = new ArrayList<>();
+    private final Map<String, Integer> lastIndexByKey = new HashMap<>();
+    private boolean flushScheduled;
+
+    /*********************************************************************************************************
+     * Method Name     : onActive
+     * Description     : Starts listening to the CartManager and emits a resync batch, since changes made while
+     *                   inactive were not tracked.
+     * Parameters      : None
+     * Return          : void
+     *********************************************************************************************************/
+    @Override
+    protected void onActive() {
+        CartManager manager = CartManager.getInstance();
+        manager.addListener(this);
+        synchronized (this) {
+            // Dropped before the snapshot is taken: a change racing with it lands in both, and replaying
+            // it on top of the snapshot is harmless since ADDED is applied as an upsert
+            pending = new ArrayList<>();
+            lastIndexByKey.clear();
+        }
+        List<CartChange> resync = new ArrayList<>();
+        resync.add(CartChange.cleared());
+        for (CartItem item : manager.getItems()) {
+            resync.add(CartChange.added(
+                    CartManager.keyOf(item.getMainService(), item.getSubService(), item.getItemType()), item));
+        }
+        setValue(resync);
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : onInactive
+     * Description     : Stops listening to the CartManager and drops any batch that has not been flushed yet.
+     * Parameters      : None
+     * Return          : void
+     *********************************************************************************************************/
+    @Override
+    protected void onInactive() {
+        CartManager.getInstance().removeListener(this);
+        mainHandler.removeCallbacks(flushRunnable);
+        synchronized (this) {
+            flushScheduled = false;
+        }
+    }
+
+    /*********************************************************************************************************
+     * Method Name     : onCartChanged
+     * Description     : Buffers a cart delta, merging it with a pending change to the same line when possible,
+     *                   and schedules a flush at the end of the coalescing window. May be called from any thread.
+     * Parameters      : CartChange change – Delta published by the CartManager.
+     * Return          : void
+     *********************************************************************************************************/
+    @Override
+    public void onCartChanged(CartChange change) {
+        synchronized (this) {
+            if (change.getType() == CartChange.Type.CLEARED) {
+                pending.clear();
+                lastIndexByKey.clear();
+                pending.add(change);
+            } else {
+                Integer last = lastIndexByKey.get(change.getKey());
+                CartChange previous = last == null ? null : pending.get(last);
+                if (previous != null
+                        && change.getType() == CartChange.Type.QUANTITY_CHANGED
+                        && previous.getType() != CartChange.Type.REMOVED) {
+                    // Keep ADDED as ADDED, only refresh the quantity snapshot
+                    pending.set(last, previous.getType() == CartChange.Type.ADDED
+                            ? CartChange.added(change.getKey(), change.getItem())
+                            : change);
+                } else {
+                    lastIndexByKey.put(change.getKey(), pending.size());
+                    pending.add(change);
+                }
+            }
+            if (flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+        }
+        mainHandler.postDelayed(flushRunnable, COALESCE_WINDOW_MS);
+    }
+
+    private void flush() {
+        List<CartChange> batch;
+        synchronized (this) {
+            flushScheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new ArrayList<>();
+            lastIndexByKey.clear();
+        }
+        setValue(batch);
+    }
+}
@@ -0,0 +1,128 @@
+#!/usr/bin/env python3
+"""Checks the bitmap drawables of the app against a per-file asset budget.
+
+Every PNG, JPEG, WebP and GIF under main/res/drawable* must stay within MAX_BYTES on disk and within
+MAX_EDGE_PX on its longer side. Oversized files cost APK size and decode time on every bind, so the
+check is meant to run before a drawable is committed and in CI. It exits with status 1 and lists each
+file over budget, and needs nothing beyond the Python 3 standard library.
+
+Usage: scripts/check_drawable_budget.py [--res main/res] [--max-bytes N] [--max-edge N]
+"""
+
+import argparse
+import os
+import struct
+import sys
+
+MAX_BYTES = 150 * 1024
+MAX_EDGE_PX = 1080
+
+BITMAP_EXTENSIONS = (".png", ".jpg", ".jpeg", ".webp", ".gif")
+
+
+def png_size(data):
+    # IHDR is always the first chunk: width and height follow the 8-byte signature and chunk header
+    if data[:8] != b"\x89PNG\r\n\x1a\n":
+        return None
+    return struct.unpack(">II", data[16:24])
+
+
+def jpeg_size(data):
+    if data[:2] != b"\xff\xd8":
+        return None
+    offset = 2
+    while offset + 9 < len(data):
+        if data[offset] != 0xFF:
+            offset += 1
+            continue
+        marker = data[offset + 1]
+        if marker in (0xD8, 0x01) or 0xD0 <= marker <= 0xD7:
+            offset += 2
+            continue
+        length = struct.unpack(">H", data[offset + 2:offset + 4])[0]
+        # SOF0..SOF15 carry the frame size; C4, C8 and CC are other tables
+        if 0xC0 <= marker <= 0xCF and marker not in (0xC4, 0xC8, 0xCC):
+            height, width = struct.unpack(">HH", data[offset + 5:offset + 9])
+            return width, height
+        offset += 2 + length
+    return None
+
+
+def webp_size(data):
+    if data[:4] != b"RIFF" or data[8:12] != b"WEBP":
+        return None
+    chunk = data[12:16]
+    if chunk == b"VP8 ":
+        width, height = struct.unpack("<HH", data[26:30])
+        return width & 0x3FFF, height & 0x3FFF
+    if chunk == b"VP8L":
+        bits = struct.unpack("<I", data[21:25])[0]
+        return (bits & 0x3FFF) + 1, ((bits >> 14) & 0x3FFF) + 1
+    if chunk == b"VP8X":
+        width = int.from_bytes(data[24:27], "little") + 1
+        height = int.from_bytes(data[27:30], "little") + 1
+        return width, height
+    return None
+
+
+def gif_size(data):
+    if data[:6] not in (b"GIF87a", b"GIF89a"):
+        return None
+    return struct.unpack("<HH", data[6:10])
+
+
+def image_size(path):
+    with open(path, "rb") as stream:
+        data = stream.read()
+    for reader in (png_size, jpeg_size, webp_size, gif_size):
+        size = reader(data)
+        if size is not None:
+            return size
+    return None
+
+
+def drawable_files(res_dir):
+    for entry in sorted(os.listdir(res_dir)):
+        folder = os.path.join(res_dir, entry)
+        if not entry.startswith("drawable") or not os.path.isdir(folder):
+            continue
+        for name in sorted(os.listdir(folder)):
+            # Nine-patches keep their stretch borders; they are checked like any other bitmap
+            if name.lower().endswith(BITMAP_EXTENSIONS):
+                yield os.path.join(folder, name)
+
+
+def main():
+    default_res = os.path.join(os.path.dirname(os.path.abspath(__file__)), os.pardir, "main", "res")
+    parser = argparse.ArgumentParser(description="Fails when a drawable is over the asset budget.")
+    parser.add_argument("--res", default=os.path.normpath(default_res), help="resource directory to scan")
+    parser.add_argument("--max-bytes", type=int, default=MAX_BYTES, help="largest file size allowed")
+    parser.add_argument("--max-edge", type=int, default=MAX_EDGE_PX, help="longest side allowed, in pixels")
+    args = parser.parse_args()
+
+    violations = []
+    checked = 0
+    for path in drawable_files(args.res):
+        checked += 1
+        name = os.path.relpath(path, args.res)
+        size_bytes = os.path.getsize(path)
+        dimensions = image_size(path)
+        if dimensions is None:
+            violations.append("%s: unreadable image header" % name)
+            continue
+        width, height = dimensions
+        if size_bytes > args.max_bytes:
+            violations.append("%s: %d KB (%dx%d), over the %d KB budget"
+                              % (name, size_bytes // 1024, width, height, args.max_bytes // 1024))
+        if max(width, height) > args.max_edge:
+            violations.append("%s: %dx%d, longer side over the %d px budget"
+                              % (name, width, height, args.max_edge))
+
+    for violation in violations:
+        print(violation)
+    print("%d drawables checked, %d over budget" % (checked, len(violations)))
+    return 1 if violations else 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
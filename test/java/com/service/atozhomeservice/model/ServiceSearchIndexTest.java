@@ -0,0 +1,132 @@
+package com.service.atozhomeservice.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : ServiceSearchIndexTest
+ * Description    : JVM tests of the service search over a small catalog: exact, prefix and fuzzy word
+ *                  matches, the requirement that every query word matches, the popularity and label length
+ *                  tie-breaks, blank queries, and the tokenizer and trigram helpers the index is built on.
+ *********************************************************************************************************/
+public class ServiceSearchIndexTest {
+
+    private static final int LIMIT = 10;
+    private static final Map<String, Integer> NO_POPULARITY = Collections.emptyMap();
+
+    private ServiceSearchIndex index;
+
+    @Before
+    public void setUp() {
+        index = ServiceSearchIndex.build(Arrays.asList(
+                category("carpenter", "Carpenter",
+                        node("carpenter.cupboard", "Cupboard Repair"),
+                        node("carpenter.door", "Door Fixing"),
+                        node("carpenter.wardrobe", "Wardrobe Assembly")),
+                category("cleaning", "Cleaning",
+                        node("cleaning.kitchen", "Kitchen Cleaning"),
+                        node("cleaning.bathroom", "Bathroom Cleaning")),
+                category("electrician", "Electrician",
+                        node("electrician.doorbells", "Doorbells"))));
+    }
+
+    @Test
+    public void indexesEveryCategoryAndEveryNodeBelowIt() {
+        assertEquals(9, index.size());
+    }
+
+    @Test
+    public void ranksAnExactWordAboveALongerWordItPrefixes() {
+        // "Doorbells" is the shorter label, but only matches "door" as a prefix
+        assertEquals(Arrays.asList("carpenter.door", "electrician.doorbells"),
+                idsOf(index.search("door", LIMIT, NO_POPULARITY)));
+    }
+
+    @Test
+    public void matchesTheStartOfAWordWhileTheUserTypes() {
+        assertEquals(Collections.singletonList("carpenter.wardrobe"),
+                idsOf(index.search("Wardr", LIMIT, NO_POPULARITY)));
+    }
+
+    @Test
+    public void matchesAMisspelledWordThroughSharedTrigrams() {
+        assertEquals(Collections.singletonList("carpenter.cupboard"),
+                idsOf(index.search("cuboard", LIMIT, NO_POPULARITY)));
+    }
+
+    @Test
+    public void requiresEveryQueryWordToMatch() {
+        assertEquals(Collections.singletonList("cleaning.kitchen"),
+                idsOf(index.search("kitchen cleaning", LIMIT, NO_POPULARITY)));
+        assertTrue(index.search("kitchen door", LIMIT, NO_POPULARITY).isEmpty());
+    }
+
+    @Test
+    public void breaksEqualMatchesByShorterLabel() {
+        assertEquals(Arrays.asList("cleaning", "cleaning.kitchen", "cleaning.bathroom"),
+                idsOf(index.search("cleaning", LIMIT, NO_POPULARITY)));
+    }
+
+    @Test
+    public void breaksEqualMatchesByPopularityBeforeLabelLength() {
+        Map<String, Integer> popularity = new HashMap<>();
+        popularity.put("cleaning.bathroom", 12);
+
+        assertEquals(Arrays.asList("cleaning.bathroom", "cleaning", "cleaning.kitchen"),
+                idsOf(index.search("cleaning", LIMIT, popularity)));
+    }
+
+    @Test
+    public void keepsOnlyTheBestResultsUpToTheLimit() {
+        assertEquals(Collections.singletonList("cleaning"), idsOf(index.search("cleaning", 1, NO_POPULARITY)));
+        assertTrue(index.search("cleaning", 0, NO_POPULARITY).isEmpty());
+    }
+
+    @Test
+    public void returnsNothingForABlankQuery() {
+        assertTrue(index.search("", LIMIT, NO_POPULARITY).isEmpty());
+        assertTrue(index.search("   ", LIMIT, NO_POPULARITY).isEmpty());
+        assertTrue(index.search(" & ", LIMIT, NO_POPULARITY).isEmpty());
+        assertTrue(index.search(null, LIMIT, NO_POPULARITY).isEmpty());
+    }
+
+    @Test
+    public void tokenizesLabelsIntoLowercaseWords() {
+        assertEquals(Arrays.asList("tile", "flooring"), ServiceSearchIndex.tokenize("Tile & Flooring"));
+        assertEquals(Arrays.asList("ac", "2", "ton"), ServiceSearchIndex.tokenize("AC (2 Ton)"));
+        assertTrue(ServiceSearchIndex.tokenize(null).isEmpty());
+    }
+
+    @Test
+    public void padsTrigramsWithWordBoundaries() {
+        assertEquals(Arrays.asList("$ta", "tap", "ap$"), ServiceSearchIndex.trigramsOf("tap"));
+        assertEquals(Arrays.asList("$a$"), ServiceSearchIndex.trigramsOf("a"));
+    }
+
+    private static CatalogNode category(String id, String label, CatalogNode... children) {
+        return new CatalogNode(id, label, 0, Money.ZERO, 0, Arrays.asList(children));
+    }
+
+    private static CatalogNode node(String id, String label) {
+        return new CatalogNode(id, label, 0, Money.ofPaise(49_900), 0, new ArrayList<>());
+    }
+
+    private static List<String> idsOf(List<ServiceTile> tiles) {
+        List<String> ids = new ArrayList<>(tiles.size());
+        for (ServiceTile tile : tiles) {
+            ids.add(tile.getId());
+        }
+        return ids;
+    }
+}
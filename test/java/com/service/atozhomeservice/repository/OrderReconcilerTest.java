@@ -0,0 +1,213 @@
+package com.service.atozhomeservice.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.service.atozhomeservice.model.Order;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*********************************************************************************************************
+ * Author         : Gunnampalli Parameswara Reddy
+ * Class Name     : OrderReconcilerTest
+ * Description    : JVM tests of the order cache reconciliation against a fake order source and an in-memory
+ *                  store: since-timestamp paging with the source cursor, merging into the cached list and
+ *                  the cap on cached orders. Both executors run tasks inline.
+ *********************************************************************************************************/
+public class OrderReconcilerTest {
+
+    private static final String USER = "user-1";
+    private static final int PAGE_SIZE = 20;
+    private static final int MAX_ORDERS = 100;
+
+    private FakeSource source;
+    private MemoryStore store;
+    private RecordingCallback callback;
+    private OrderReconciler<Integer> reconciler;
+
+    @Before
+    public void setUp() {
+        source = new FakeSource();
+        store = new MemoryStore();
+        callback = new RecordingCallback();
+        reconciler = new OrderReconciler<>(source, store, Runnable::run, Runnable::run, PAGE_SIZE, MAX_ORDERS);
+    }
+
+    @Test
+    public void pullsEveryPageWithTheCursorOfThePreviousOne() {
+        source.addOrders(1, 45);
+
+        reconciler.reconcile(USER, callback);
+
+        assertEquals(3, source.requests.size());
+        assertNull(source.requests.get(0).startAfter);
+        assertEquals(Integer.valueOf(19), source.requests.get(1).startAfter);
+        assertEquals(Integer.valueOf(39), source.requests.get(2).startAfter);
+        OrderReconciler.Snapshot stored = store.load(USER);
+        assertEquals(45, stored.orders.size());
+        assertEquals(45, stored.orders.get(0).getTimestamp());
+        assertEquals(1, stored.orders.get(44).getTimestamp());
+        assertEquals(45, stored.lastSyncedTimestamp);
+        assertEquals(1, callback.reconciled);
+    }
+
+    @Test
+    public void readsOnlyOrdersNewerThanTheLastSyncedTimestamp() {
+        List<Order> cached = new ArrayList<>();
+        for (int timestamp = 30; timestamp >= 1; timestamp--) {
+            cached.add(order(timestamp));
+        }
+        store.store(USER, new OrderReconciler.Snapshot(30, cached));
+        source.addOrders(1, 35);
+
+        reconciler.reconcile(USER, callback);
+
+        assertEquals(1, source.requests.size());
+        assertEquals(30, source.requests.get(0).since);
+        assertEquals(5, source.served);
+        OrderReconciler.Snapshot stored = store.load(USER);
+        assertEquals(35, stored.orders.size());
+        for (int i = 0; i < stored.orders.size(); i++) {
+            assertEquals(35 - i, stored.orders.get(i).getTimestamp());
+        }
+        assertEquals(35, stored.lastSyncedTimestamp);
+    }
+
+    @Test
+    public void keepsOnlyTheNewestOrdersUpToTheCap() {
+        source.addOrders(1, 130);
+
+        reconciler.reconcile(USER, callback);
+
+        OrderReconciler.Snapshot stored = store.load(USER);
+        assertEquals(MAX_ORDERS, stored.orders.size());
+        assertEquals(130, stored.orders.get(0).getTimestamp());
+        assertEquals(31, stored.orders.get(MAX_ORDERS - 1).getTimestamp());
+        assertEquals(130, stored.lastSyncedTimestamp);
+    }
+
+    @Test
+    public void replacesACachedOrderWithItsNewerCopy() {
+        Order cachedCopy = order(10);
+        List<Order> cached = new ArrayList<>();
+        cached.add(cachedCopy);
+        store.store(USER, new OrderReconciler.Snapshot(5, cached));
+        source.addOrders(10, 10);
+
+        reconciler.reconcile(USER, callback);
+
+        OrderReconciler.Snapshot stored = store.load(USER);
+        assertEquals(1, stored.orders.size());
+        assertTrue(stored.orders.get(0) != cachedCopy);
+    }
+
+    @Test
+    public void stopsAndReportsWhenAPageFails() {
+        source.addOrders(1, 45);
+        source.failAtRequest = 1;
+
+        reconciler.reconcile(USER, callback);
+
+        assertEquals(0, callback.reconciled);
+        assertEquals("offline", callback.failure);
+        assertEquals(PAGE_SIZE, store.load(USER).orders.size());
+        assertEquals(PAGE_SIZE, store.load(USER).lastSyncedTimestamp);
+    }
+
+    @Test
+    public void leavesTheCacheUntouchedWhenNothingIsNewer() {
+        reconciler.reconcile(USER, callback);
+
+        assertSame(OrderReconciler.Snapshot.EMPTY, store.load(USER));
+        assertEquals(1, callback.reconciled);
+    }
+
+    private static Order order(long timestamp) {
+        Order order = new Order();
+        order.setOrderId("order-" + timestamp);
+        order.setTimestamp(timestamp);
+        return order;
+    }
+
+    // Serves server orders oldest first; the cursor is the index of the last order served
+    private static final class FakeSource implements OrderReconciler.Source<Integer> {
+        final List<Order> serverOrders = new ArrayList<>();
+        final List<Request> requests = new ArrayList<>();
+        int served;
+        int failAtRequest = -1;
+
+        void addOrders(long fromTimestamp, long toTimestamp) {
+            for (long timestamp = fromTimestamp; timestamp <= toTimestamp; timestamp++) {
+                serverOrders.add(order(timestamp));
+            }
+        }
+
+        @Override
+        public void fetchOrdersSince(String userId, long sinceTimestamp, int pageSize, Integer startAfter,
+                                     OrderReconciler.PageCallback<Integer> callback) {
+            requests.add(new Request(sinceTimestamp, startAfter));
+            if (requests.size() - 1 == failAtRequest) {
+                callback.onFailure("offline");
+                return;
+            }
+            List<Order> page = new ArrayList<>();
+            int last = startAfter == null ? -1 : startAfter;
+            for (int i = last + 1; i < serverOrders.size() && page.size() < pageSize; i++) {
+                if (serverOrders.get(i).getTimestamp() > sinceTimestamp) {
+                    page.add(serverOrders.get(i));
+                    last = i;
+                }
+            }
+            served += page.size();
+            callback.onPage(page, last, page.size() == pageSize);
+        }
+    }
+
+    private static final class Request {
+        final long since;
+        final Integer startAfter;
+
+        Request(long since, Integer startAfter) {
+            this.since = since;
+            this.startAfter = startAfter;
+        }
+    }
+
+    private static final class MemoryStore implements OrderReconciler.Store {
+        final Map<String, OrderReconciler.Snapshot> snapshots = new HashMap<>();
+
+        @Override
+        public OrderReconciler.Snapshot load(String userId) {
+            OrderReconciler.Snapshot snapshot = snapshots.get(userId);
+            return snapshot != null ? snapshot : OrderReconciler.Snapshot.EMPTY;
+        }
+
+        @Override
+        public void store(String userId, OrderReconciler.Snapshot snapshot) {
+            snapshots.put(userId, snapshot);
+        }
+    }
+
+    private static final class RecordingCallback implements OrderReconciler.Callback {
+        int reconciled;
+        String failure;
+
+        @Override
+        public void onReconciled() {
+            reconciled++;
+        }
+
+        @Override
+        public void onFailure(String errorMessage) {
+            failure = errorMessage;
+        }
+    }
+}